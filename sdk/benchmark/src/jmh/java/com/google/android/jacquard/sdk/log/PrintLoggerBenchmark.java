@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.log;
+
+import static com.google.android.jacquard.sdk.log.LogLevel.ASSERT;
+import static com.google.android.jacquard.sdk.log.LogLevel.DEBUG;
+import static com.google.android.jacquard.sdk.log.LogLevel.ERROR;
+import static com.google.android.jacquard.sdk.log.LogLevel.INFO;
+import static com.google.android.jacquard.sdk.log.LogLevel.WARNING;
+
+import android.content.Context;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures a debug message on the bluetooth data path with the default log levels, which do not
+ * print debug messages. The concatenating call formats the message anyway, the format and guarded
+ * calls should neither take time nor allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PrintLoggerBenchmark {
+
+  private static final String TAG = "PrintLoggerBenchmark";
+
+  private final UUID uuid = UUID.randomUUID();
+  private final byte[] data = new byte[20];
+
+  @Setup
+  public void setUp() throws IOException {
+    File filesDir = Files.createTempDirectory("logs").toFile();
+    PrintLogger.initialize(ImmutableList.of(INFO, WARNING, ERROR, ASSERT), new Context() {
+      @Override
+      public File getFilesDir() {
+        return filesDir;
+      }
+    });
+  }
+
+  @Benchmark
+  public void concatenated() {
+    PrintLogger.d(TAG, "Data Received on raw chars # " + data.length + Arrays.toString(data));
+  }
+
+  @Benchmark
+  public void formatted() {
+    PrintLogger.d(TAG, "characteristicUpdated # %s", uuid);
+  }
+
+  @Benchmark
+  public void guarded() {
+    if (PrintLogger.isLoggable(DEBUG, TAG)) {
+      PrintLogger.d(TAG, "Data Received on raw chars # " + data.length + Arrays.toString(data));
+    }
+  }
+}
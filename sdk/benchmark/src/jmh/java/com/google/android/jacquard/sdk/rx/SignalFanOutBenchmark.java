@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures the cost of a single {@link Signal#next(Object)} delivered to N observers. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SignalFanOutBenchmark {
+
+  private static final Integer VALUE = 42;
+
+  @Param({"0", "1", "2", "8"})
+  public int observers;
+
+  private Signal<Integer> source;
+  private Signal.Subscription[] subscriptions;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    source = Signal.create();
+    subscriptions = new Signal.Subscription[observers];
+    for (int i = 0; i < observers; i++) {
+      subscriptions[i] = source.onNext(blackhole::consume);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (Signal.Subscription subscription : subscriptions) {
+      subscription.unsubscribe();
+    }
+  }
+
+  @Benchmark
+  public void next() {
+    source.next(VALUE);
+  }
+}
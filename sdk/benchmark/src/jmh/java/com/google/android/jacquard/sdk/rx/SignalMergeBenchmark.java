@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures a single emission through {@link Signal#merge(Iterable)} of N sources, from the first
+ * and from the last source.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SignalMergeBenchmark {
+
+  private static final Integer VALUE = 42;
+
+  @Param({"2", "4", "12"})
+  public int sources;
+
+  private Signal<Integer> first;
+  private Signal<Integer> last;
+  private Signal.Subscription subscription;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    List<Signal<Integer>> signals = new ArrayList<>();
+    for (int i = 0; i < sources; i++) {
+      signals.add(Signal.create());
+    }
+    first = signals.get(0);
+    last = signals.get(sources - 1);
+    subscription = Signal.merge(signals).onNext(blackhole::consume);
+  }
+
+  @TearDown
+  public void tearDown() {
+    subscription.unsubscribe();
+  }
+
+  @Benchmark
+  public void nextFirst() {
+    first.next(VALUE);
+  }
+
+  @Benchmark
+  public void nextLast() {
+    last.next(VALUE);
+  }
+}
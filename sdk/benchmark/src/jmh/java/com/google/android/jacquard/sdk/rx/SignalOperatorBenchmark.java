@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures one emission through the operator chains the sdk builds on top of {@link Signal}.
+ *
+ * <p>Every benchmark pushes a single value into the head of an already subscribed chain, so the
+ * gc profiler's gc.alloc.rate.norm is the number of bytes allocated per emission. Values stay in
+ * the Integer cache to keep boxing out of the numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SignalOperatorBenchmark {
+
+  private static final Integer VALUE = 42;
+
+  private Signal<Integer> plain;
+  private Signal<Integer> map;
+  private Signal<Integer> filter;
+  private Signal<Integer> flatMap;
+  private Signal<Integer> switchMap;
+  private Signal<Integer> scan;
+  private Signal<Integer> shared;
+  private Signal<Integer> sticky;
+  private Signal<Integer> mapFilterShared;
+  private Signal<Integer> statelessChain;
+  private Signal<Integer> observeOnDirect;
+  private Signal.Subscription subscriptions;
+
+  @Setup(Level.Trial)
+  public void setUp(Blackhole blackhole) {
+    Consumer<Integer> sink = blackhole::consume;
+    plain = Signal.create();
+    map = Signal.create();
+    filter = Signal.create();
+    flatMap = Signal.create();
+    switchMap = Signal.create();
+    scan = Signal.create();
+    shared = Signal.create();
+    sticky = Signal.create();
+    mapFilterShared = Signal.create();
+    statelessChain = Signal.create();
+    observeOnDirect = Signal.create();
+
+    Signal<Integer> sharedDownstream = shared.shared();
+    Signal<Integer> chainDownstream = mapFilterShared
+        .map(i -> i ^ 1)
+        .filter(i -> (i & 1) == 1)
+        .shared();
+    subscriptions = new CompositeSubscription(
+        plain.onNext(sink),
+        map.map(i -> i ^ 1).onNext(sink),
+        filter.filter(i -> (i & 1) == 0).onNext(sink),
+        flatMap.flatMap(Signal::just).onNext(sink),
+        switchMap.switchMap(Signal::just).onNext(sink),
+        scan.scan(0, (acc, i) -> acc ^ i).onNext(sink),
+        sharedDownstream.onNext(sink),
+        sharedDownstream.onNext(sink),
+        sticky.sticky().onNext(sink),
+        chainDownstream.onNext(sink),
+        chainDownstream.onNext(sink),
+        statelessChain
+            .map(i -> i ^ 1)
+            .filter(i -> (i & 1) == 1)
+            .tap(blackhole::consume)
+            .map(i -> i ^ 1)
+            .onNext(sink),
+        observeOnDirect.observeOn(Executors.directExecutor()).onNext(sink));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    subscriptions.unsubscribe();
+  }
+
+  @Benchmark
+  public void baseline() {
+    plain.next(VALUE);
+  }
+
+  @Benchmark
+  public void map() {
+    map.next(VALUE);
+  }
+
+  @Benchmark
+  public void filter() {
+    filter.next(VALUE);
+  }
+
+  @Benchmark
+  public void flatMap() {
+    flatMap.next(VALUE);
+  }
+
+  @Benchmark
+  public void switchMap() {
+    switchMap.next(VALUE);
+  }
+
+  @Benchmark
+  public void scan() {
+    scan.next(VALUE);
+  }
+
+  @Benchmark
+  public void shared() {
+    shared.next(VALUE);
+  }
+
+  @Benchmark
+  public void sticky() {
+    sticky.next(VALUE);
+  }
+
+  /** The shape of ConnectedJacquardTagImpl#subscribe: map, filter, shared by two observers. */
+  @Benchmark
+  public void mapFilterShared() {
+    mapFilterShared.next(VALUE);
+  }
+
+  /** Four consecutive stateless operators: map, filter, tap, map. */
+  @Benchmark
+  public void statelessChain() {
+    statelessChain.next(VALUE);
+  }
+
+  @Benchmark
+  public void observeOnDirectExecutor() {
+    observeOnDirect.next(VALUE);
+  }
+
+  private static final class CompositeSubscription extends Signal.Subscription {
+
+    private final Signal.Subscription[] subscriptions;
+
+    CompositeSubscription(Signal.Subscription... subscriptions) {
+      this.subscriptions = subscriptions;
+    }
+
+    @Override
+    protected void onUnsubscribe() {
+      for (Signal.Subscription subscription : subscriptions) {
+        subscription.unsubscribe();
+      }
+    }
+  }
+}
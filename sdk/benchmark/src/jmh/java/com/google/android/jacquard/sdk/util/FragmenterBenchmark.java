@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.util;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures fragmenting and reassembling one message with the 64 byte mtu of
+ * {@code ProtocolSpec.VERSION_2}. The list and byte array methods are what the gatt write path
+ * uses, the buffer methods reuse one fragment buffer and read the message in place.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class FragmenterBenchmark {
+
+  private static final int MTU = 64;
+
+  @Param({"20", "200", "1000"})
+  public int messageLength;
+
+  private Fragmenter fragmenter;
+  private byte[] message;
+  private byte[][] fragments;
+  private ByteBuffer fragmentBuffer;
+
+  @Setup
+  public void setUp() {
+    fragmenter = new Fragmenter("benchmark", MTU);
+    message = new byte[messageLength];
+    new Random(messageLength).nextBytes(message);
+    List<byte[]> list = fragmenter.fragmentData(message);
+    fragments = list.toArray(new byte[0][]);
+    fragmentBuffer = ByteBuffer.allocate(MTU);
+  }
+
+  @Benchmark
+  public void fragmentData(Blackhole blackhole) {
+    blackhole.consume(fragmenter.fragmentData(message));
+  }
+
+  @Benchmark
+  public void encodeFragmentReusedBuffer(Blackhole blackhole) {
+    int count = fragmenter.fragmentCount(message.length);
+    for (int i = 0; i < count; i++) {
+      fragmentBuffer.clear();
+      blackhole.consume(fragmenter.encodeFragment(message, 0, message.length, i, fragmentBuffer));
+    }
+  }
+
+  @Benchmark
+  public void decodeFragmentBytes(Blackhole blackhole) {
+    for (byte[] fragment : fragments) {
+      blackhole.consume(fragmenter.decodeFragment(fragment));
+    }
+  }
+
+  @Benchmark
+  public void decodeFragmentView(Blackhole blackhole) {
+    for (byte[] fragment : fragments) {
+      blackhole.consume(fragmenter.decodeFragment(fragment, 0, fragment.length));
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.os;
+
+/** JVM stand-in for android.os.CountDownTimer, ticking on the main looper. */
+public abstract class CountDownTimer {
+
+  private final long millisInFuture;
+  private final long countdownInterval;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable tick = this::tick;
+  private long stopTimeInFuture;
+  private volatile boolean cancelled;
+
+  public CountDownTimer(long millisInFuture, long countDownInterval) {
+    this.millisInFuture = millisInFuture;
+    this.countdownInterval = countDownInterval;
+  }
+
+  public abstract void onTick(long millisUntilFinished);
+
+  public abstract void onFinish();
+
+  public final synchronized CountDownTimer start() {
+    cancelled = false;
+    if (millisInFuture <= 0) {
+      onFinish();
+      return this;
+    }
+    stopTimeInFuture = SystemClock.elapsedRealtime() + millisInFuture;
+    handler.post(tick);
+    return this;
+  }
+
+  public final synchronized void cancel() {
+    cancelled = true;
+    handler.removeCallbacks(tick);
+  }
+
+  private void tick() {
+    if (cancelled) {
+      return;
+    }
+    long millisLeft = stopTimeInFuture - SystemClock.elapsedRealtime();
+    if (millisLeft <= 0) {
+      onFinish();
+      return;
+    }
+    onTick(millisLeft);
+    handler.postDelayed(tick, Math.min(millisLeft, countdownInterval));
+  }
+}
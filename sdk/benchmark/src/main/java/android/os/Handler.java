@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.os;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/** JVM stand-in for android.os.Handler. Runnables are executed on the looper thread. */
+public class Handler {
+
+  private final Looper looper;
+  private final Map<Runnable, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+  public Handler() {
+    this(Looper.getMainLooper());
+  }
+
+  public Handler(Looper looper) {
+    this.looper = looper;
+  }
+
+  public final Looper getLooper() {
+    return looper;
+  }
+
+  public final boolean post(Runnable r) {
+    return postDelayed(r, 0);
+  }
+
+  public final boolean postDelayed(Runnable r, long delayMillis) {
+    Runnable task = () -> {
+      pending.remove(r);
+      r.run();
+    };
+    pending.put(r, looper.executor().schedule(task, delayMillis, TimeUnit.MILLISECONDS));
+    return true;
+  }
+
+  public final void removeCallbacks(Runnable r) {
+    ScheduledFuture<?> future = pending.remove(r);
+    if (future != null) {
+      future.cancel(false);
+    }
+  }
+
+  public final void removeCallbacksAndMessages(Object token) {
+    Iterator<ScheduledFuture<?>> it = pending.values().iterator();
+    while (it.hasNext()) {
+      it.next().cancel(false);
+      it.remove();
+    }
+  }
+}
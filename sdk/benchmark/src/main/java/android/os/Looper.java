@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.os;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * JVM stand-in for the android.os.Looper used by the sdk sources under benchmark. The main looper
+ * is a single daemon thread.
+ */
+public final class Looper {
+
+  private static final Looper MAIN = new Looper("main");
+
+  private final ScheduledThreadPoolExecutor executor;
+  private final Thread thread;
+
+  private Looper(String name) {
+    Thread[] created = new Thread[1];
+    executor = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread t = new Thread(r, name);
+      t.setDaemon(true);
+      created[0] = t;
+      return t;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    executor.prestartAllCoreThreads();
+    thread = created[0];
+  }
+
+  public static Looper getMainLooper() {
+    return MAIN;
+  }
+
+  public static Looper myLooper() {
+    return Thread.currentThread() == MAIN.thread ? MAIN : null;
+  }
+
+  public Thread getThread() {
+    return thread;
+  }
+
+  ScheduledExecutorService executor() {
+    return executor;
+  }
+}
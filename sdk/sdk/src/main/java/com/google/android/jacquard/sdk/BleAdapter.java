@@ -56,6 +56,7 @@ import com.google.android.jacquard.sdk.util.BluetoothSig;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 
 /** Wrapper around {@link BluetoothAdapter}. */
@@ -169,14 +170,25 @@ class BleAdapter {
    */
   public Signal<ConnectState> connect(Context activityContext, BluetoothDevice bluetoothDevice,
       Fn<IntentSender, Signal<Boolean>> senderHandler) {
+    return connect(activityContext, bluetoothDevice, senderHandler,
+        Executors.newSerialIoExecutor());
+  }
+
+  /**
+   * Connects to the provided Bluetooth device and emits its events on
+   * <code>connectionExecutor</code>, which must be serial.
+   */
+  public Signal<ConnectState> connect(Context activityContext, BluetoothDevice bluetoothDevice,
+      Fn<IntentSender, Signal<Boolean>> senderHandler, Executor connectionExecutor) {
     // We need to bond the device before calling connectGatt.
     // Else it will show Pair Request dialog twice.
-    List<Subscription> subscriptions = new ArrayList<>();
     return Signal.create(signal -> {
+      // Per observer, so unsubscribing one observer does not tear down the others.
+      List<Subscription> subscriptions = new ArrayList<>();
       subscriptions.add(associateAndPair(activityContext, bluetoothDevice, senderHandler)
           .filter(isBonded -> isBonded)
           .onNext(isBonded -> subscriptions
-              .add(createConnectSignal(bluetoothDevice).forward(signal))));
+              .add(createConnectSignal(bluetoothDevice, connectionExecutor).forward(signal))));
       return new Subscription() {
         @Override
         protected void onUnsubscribe() {
@@ -263,7 +275,10 @@ class BleAdapter {
     return receiver;
   }
 
-  private Signal<ConnectState> createConnectSignal(BluetoothDevice bluetoothDevice) {
+  private Signal<ConnectState> createConnectSignal(BluetoothDevice bluetoothDevice,
+      Executor connectionExecutor) {
+    // Events of a connection are handled in order on its own I/O thread, which keeps fragment
+    // reassembly and protobuf decoding off the main thread.
     return Signal.<ConnectState>create(signal -> {
 
       // Queue for synchronising BLE operations.
@@ -295,7 +310,7 @@ class BleAdapter {
           bleSubscription.unsubscribe();
         }
       };
-    }).observeOn(Executors.mainThreadExecutor());
+    }).observeOn(connectionExecutor);
   }
 
   private Signal<Boolean> registerBondStateChangeReceiver(BluetoothDevice device) {
@@ -57,7 +57,7 @@ class BleGattCallback extends BluetoothGattCallback {
   public void onCharacteristicRead(BluetoothGatt gatt,
       BluetoothGattCharacteristic characteristic, int status) {
     PrintLogger
-        .d(TAG, "onCharacteristicRead for: " + characteristic.getUuid() + " # status # " + status);
+        .d(TAG, "onCharacteristicRead for: %s # status # %d", characteristic.getUuid(), status);
     signal.next(ConnectState
         .ofCharacteristicUpdated(
             CharacteristicUpdate
@@ -68,9 +68,9 @@ class BleGattCallback extends BluetoothGattCallback {
   @Override
   public void onCharacteristicWrite(BluetoothGatt gatt,
       BluetoothGattCharacteristic characteristic, int status) {
-    PrintLogger.d(TAG, "onCharacteristicWrite # status # " + status);
+    PrintLogger.d(TAG, "onCharacteristicWrite # status # %d", status);
     if (isDevicePaired(status)) {
-      PrintLogger.d(TAG, "onCharacteristicWrite success for: " + characteristic.getUuid());
+      PrintLogger.d(TAG, "onCharacteristicWrite success for: %s", characteristic.getUuid());
 
       signal.next(ConnectState
           .ofValueWritten(
@@ -96,7 +96,7 @@ class BleGattCallback extends BluetoothGattCallback {
   @Override
   public void onCharacteristicChanged(BluetoothGatt gatt,
       BluetoothGattCharacteristic characteristic) {
-    PrintLogger.d(TAG, "onCharacteristicChanged for " + characteristic.getUuid());
+    PrintLogger.d(TAG, "onCharacteristicChanged for %s", characteristic.getUuid());
     signal.next(ConnectState
         .ofCharacteristicUpdated(
             CharacteristicUpdate
@@ -133,6 +133,16 @@ class BleGattCallback extends BluetoothGattCallback {
     if (status == BluetoothGatt.GATT_SUCCESS) {
       signal.next(ConnectState.ofValueRssi(new Peripheral(gatt, bleQueue), rssi));
     }
+    bleQueue.completedCommand(Command.Type.READ_RSSI);
+  }
+
+  @Override
+  public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
+    PrintLogger.d(TAG, "onMtuChanged # mtu # " + mtu + " # status # " + status);
+    if (status == BluetoothGatt.GATT_SUCCESS) {
+      signal.next(ConnectState.ofMtuChanged(new Peripheral(gatt, bleQueue), mtu));
+    }
+    bleQueue.completedCommand(Command.Type.REQUEST_MTU);
   }
 
   private boolean isDevicePaired(int status) {
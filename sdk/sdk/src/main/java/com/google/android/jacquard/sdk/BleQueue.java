@@ -17,6 +17,11 @@ package com.google.android.jacquard.sdk;
 
 import androidx.annotation.NonNull;
 import com.google.android.jacquard.sdk.log.PrintLogger;
+import com.google.android.jacquard.sdk.rx.Pred;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -25,6 +30,8 @@ public class BleQueue {
 
   private static final String TAG = BleQueue.class.getSimpleName();
   private final Queue<Command> commandQueue = new ConcurrentLinkedQueue<>();
+  /** Commands that run only while commandQueue is empty. */
+  private final Queue<Command> backgroundQueue = new ArrayDeque<>();
   private boolean commandQueueBusy;
 
   /**
@@ -33,7 +40,7 @@ public class BleQueue {
    * @return {@code true} if the command was appended to the queue
    */
   public synchronized boolean enqueue(Command command) {
-    PrintLogger.d(TAG, "enqueue: " + command);
+    PrintLogger.d(TAG, "enqueue: %s", command);
     boolean result = commandQueue.add(command);
 
     if (result) {
@@ -44,6 +51,48 @@ public class BleQueue {
     return result;
   }
 
+  /**
+   * Enqueues a {@link Command} that runs only while no other command is waiting, for periodic
+   * reads that must not delay data traffic. A waiting command of the same type makes it redundant,
+   * in which case it is dropped.
+   * @param command the command to execute
+   * @return {@code true} if the command or one of its type is waiting in the queue
+   */
+  public synchronized boolean enqueueBackground(Command command) {
+    for (Command waiting : backgroundQueue) {
+      if (waiting.type == command.type) {
+        PrintLogger.d(TAG, "enqueueBackground: %s is already waiting", command);
+        return true;
+      }
+    }
+    PrintLogger.d(TAG, "enqueueBackground: %s", command);
+    backgroundQueue.add(command);
+    nextCommand();
+    return true;
+  }
+
+  /**
+   * Removes the commands matching <code>pred</code> that wait for execution. A command that is
+   * already running is not removed.
+   * @param pred selects the commands to remove
+   * @return the removed commands, in queue order
+   */
+  public synchronized List<Command> removeWaiting(Pred<Command> pred) {
+    List<Command> removed = new ArrayList<>();
+    Iterator<Command> iterator = commandQueue.iterator();
+    if (commandQueueBusy && iterator.hasNext()) {
+      iterator.next();
+    }
+    while (iterator.hasNext()) {
+      Command command = iterator.next();
+      if (pred.apply(command)) {
+        iterator.remove();
+        removed.add(command);
+      }
+    }
+    return removed;
+  }
+
   /** If no command is in flight the next command is dequeue and executed. */
   private void nextCommand() {
     PrintLogger.d(TAG, "nextCommand");
@@ -53,13 +102,16 @@ public class BleQueue {
     }
 
     if (commandQueue.isEmpty()) {
-      PrintLogger.d(TAG, "command queue is empty");
-      return;
+      if (backgroundQueue.isEmpty()) {
+        PrintLogger.d(TAG, "command queue is empty");
+        return;
+      }
+      commandQueue.add(backgroundQueue.poll());
     }
     Command command = commandQueue.element();
     commandQueueBusy = true;
     try {
-      PrintLogger.d(TAG, "nextCommand run: " + command);
+      PrintLogger.d(TAG, "nextCommand run: %s", command);
       command.run();
     } catch (Exception ex) {
       PrintLogger.e(TAG, "Command exception: " + command, ex);
@@ -105,7 +157,8 @@ public class BleQueue {
     /** The type of BLE command requested. This is used to make sure the requests/responses are in
      * sync. */
     public enum Type {
-      READ_CHARACTERISTIC, WRITE_CHARACTERISTIC, WRITE_DESCRIPTOR, DISCOVER_SERVICES
+      READ_CHARACTERISTIC, WRITE_CHARACTERISTIC, WRITE_DESCRIPTOR, DISCOVER_SERVICES, REQUEST_MTU,
+      READ_RSSI
     }
   }
 
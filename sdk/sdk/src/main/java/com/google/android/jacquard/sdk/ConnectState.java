@@ -19,6 +19,7 @@ import android.bluetooth.BluetoothGattService;
 import com.google.android.jacquard.sdk.model.CharacteristicUpdate;
 import com.google.android.jacquard.sdk.model.FailedToConnect;
 import com.google.android.jacquard.sdk.model.JacquardError;
+import com.google.android.jacquard.sdk.model.MtuUpdate;
 import com.google.android.jacquard.sdk.model.Peripheral;
 import com.google.android.jacquard.sdk.model.RssiUpdate;
 import com.google.android.jacquard.sdk.model.ServicesDiscovered;
@@ -99,6 +100,16 @@ public abstract class ConnectState {
     return AutoOneOf_ConnectState.valueRssi(RssiUpdate.of(peripheral, value));
   }
 
+  /**
+   * Created a new ConnectState mtuChanged instance
+   * @param peripheral the peripheral the mtu was negotiated with.
+   * @param mtu the negotiated mtu.
+   * @return a ConnectState object.
+   */
+  static ConnectState ofMtuChanged(Peripheral peripheral, int mtu) {
+    return AutoOneOf_ConnectState.mtuChanged(MtuUpdate.of(peripheral, mtu));
+  }
+
   public boolean isType(Type type) {
     return getType() == type;
   }
@@ -127,7 +138,11 @@ public abstract class ConnectState {
   /** Returns a {@link RssiUpdate}. */
   public abstract RssiUpdate valueRssi();
 
+  /** Returns a {@link MtuUpdate}. */
+  public abstract MtuUpdate mtuChanged();
+
   public enum Type {
-    CONNECTED, FAILED_TO_CONNECT, DISCONNECTED, SERVICES_DISCOVERED, CHARACTERISTIC_UPDATED, VALUE_WRITTEN, VALUE_RSSI
+    CONNECTED, FAILED_TO_CONNECT, DISCONNECTED, SERVICES_DISCOVERED, CHARACTERISTIC_UPDATED, VALUE_WRITTEN, VALUE_RSSI,
+    MTU_CHANGED
   }
 }
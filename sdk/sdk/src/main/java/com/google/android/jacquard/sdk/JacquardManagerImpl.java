@@ -35,6 +35,7 @@ import com.google.android.jacquard.sdk.model.SdkConfig;
 import com.google.android.jacquard.sdk.model.VidPidMid;
 import com.google.android.jacquard.sdk.remote.RemoteFactory;
 import com.google.android.jacquard.sdk.remote.RemoteFunction;
+import com.google.android.jacquard.sdk.rx.Executors;
 import com.google.android.jacquard.sdk.rx.Fn;
 import com.google.android.jacquard.sdk.rx.Signal;
 import com.google.android.jacquard.sdk.rx.Signal.Subscription;
@@ -45,6 +46,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Concrete implementation of {@link JacquardManager}.
@@ -143,6 +145,7 @@ class JacquardManagerImpl implements JacquardManager {
         address,
         connect(activityContext, bluetoothDevice, senderHandler)
             .tap(state -> PrintLogger.d(TAG, "createBond: " + state))
+            .observeOn(Executors.mainThreadImmediateExecutor())
             .forward(connectionStateSignal));
     return connectionStateSignal;
   }
@@ -283,12 +286,15 @@ class JacquardManagerImpl implements JacquardManager {
               destroyStateMachine(device.getAddress());
               unsubscribeStateMachine(device.getAddress());
 
+              Executor connectionExecutor = Executors.newSerialIoExecutor();
               TagConnectionStateMachine stateMachine =
                   new TagConnectionStateMachine(
                       device,
                       badFirmwareVersions,
-                      bluetoothDevice ->
-                          doConnect(activityContext, bluetoothDevice, senderHandler), targetUjtFirmwareVidPid);
+                      bluetoothDevice -> doConnect(activityContext, bluetoothDevice,
+                          senderHandler, connectionExecutor),
+                      targetUjtFirmwareVidPid,
+                      connectionExecutor);
 
               stateMachines.put(device.getAddress(), stateMachine);
 
@@ -331,12 +337,14 @@ class JacquardManagerImpl implements JacquardManager {
    * State machines are looked up by bluetooth address.
    *
    * @param device the {@link BluetoothDevice} to connect to
+   * @param connectionExecutor the serial executor the state machine of the device runs on
    */
   private void doConnect(Context activityContext, BluetoothDevice device,
-      Fn<IntentSender, Signal<Boolean>> senderHandler) {
+      Fn<IntentSender, Signal<Boolean>> senderHandler, Executor connectionExecutor) {
     PrintLogger.d(TAG, "doConnect #");
     unsubscribeStateMachine(device.getAddress());
-    Subscription subscription = bleAdapter.connect(activityContext, device, senderHandler)
+    Subscription subscription = bleAdapter
+        .connect(activityContext, device, senderHandler, connectionExecutor)
         .onNext(connectState -> {
           PrintLogger
               .d(TAG, "ConnectState: " + connectState + " deviceAddress: " + device.getAddress());
@@ -18,6 +18,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.model.GearState;
 import com.google.android.jacquard.sdk.util.JQUtils;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /**
  * Use to subscribe to gear attach/detach notification.
@@ -34,4 +36,15 @@ public class AttachedNotificationSubscription implements NotificationSubscriptio
   public GearState extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public GearState extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
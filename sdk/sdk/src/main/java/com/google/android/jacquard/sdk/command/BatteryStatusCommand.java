@@ -15,7 +15,6 @@
  */
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
 import com.google.atap.jacquard.protocol.JacquardProtocol.BatteryStatusRequest;
@@ -25,7 +24,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for request the current battery status.
@@ -41,15 +39,14 @@ public class BatteryStatusCommand extends ProtoCommandRequest<BatteryStatus> {
   }
 
   @Override
-  public Result<BatteryStatus> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      BatteryStatusResponse batteryStatusResponse = response.getExtension(getExtension());
-      return Result.ofSuccess(BatteryStatus.of(batteryStatusResponse));
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<BatteryStatus> parseResponse(Response response) {
+    BatteryStatusResponse batteryStatusResponse = response.getExtension(getExtension());
+    return Result.ofSuccess(BatteryStatus.of(batteryStatusResponse));
+  }
+
+  @Override
+  public String coalesceKey() {
+    return "BATTERY_STATUS";
   }
 
   @Override
@@ -17,6 +17,8 @@ package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.util.JQUtils;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /**
  * Use to subscribe to battery status notifications.
@@ -35,4 +37,15 @@ public class BatteryStatusNotificationSubscription implements
   public BatteryStatus extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public BatteryStatus extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
@@ -18,6 +18,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.model.TouchData;
 import com.google.android.jacquard.sdk.util.JQUtils;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /**
  * Use to subscribe to continuous touch data from the tag.
@@ -36,4 +38,15 @@ public class ContinuousTouchNotificationSubscription
   public TouchData extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public TouchData extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
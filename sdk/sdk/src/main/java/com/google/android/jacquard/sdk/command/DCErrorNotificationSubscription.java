@@ -19,6 +19,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.util.JQUtils;
 import com.google.atap.jacquard.protocol.JacquardProtocol.DataCollectionStatus;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /** Error notification subscription. */
 public class DCErrorNotificationSubscription
@@ -32,4 +34,15 @@ public class DCErrorNotificationSubscription
   public DataCollectionStatus extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public DataCollectionStatus extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
@@ -28,7 +27,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /** Ujt command get current data collection status. */
 public class DataCollectionStatusCommand extends ProtoCommandRequest<DataCollectionStatus> {
@@ -41,15 +39,14 @@ public class DataCollectionStatusCommand extends ProtoCommandRequest<DataCollect
   }
 
   @Override
-  public Result<DataCollectionStatus> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      DataCollectionStatusResponse dcResponse = response.getExtension(getExtension());
-      return Result.ofSuccess(dcResponse.getDcStatus());
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<DataCollectionStatus> parseResponse(Response response) {
+    DataCollectionStatusResponse dcResponse = response.getExtension(getExtension());
+    return Result.ofSuccess(dcResponse.getDcStatus());
+  }
+
+  @Override
+  public String coalesceKey() {
+    return "DATA_COLLECTION_STATUS";
   }
 
   @Override
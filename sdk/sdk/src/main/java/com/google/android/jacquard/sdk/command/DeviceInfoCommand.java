@@ -15,7 +15,6 @@
  */
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.Component;
@@ -27,7 +26,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for getting device information.
@@ -53,19 +51,18 @@ public class DeviceInfoCommand extends ProtoCommandRequest<DeviceInfo> {
   }
 
   @Override
-  public Result<DeviceInfo> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      PrintLogger.d(TAG, "response = " + response);
-      DeviceInfoResponse deviceInfoResponse = response.getExtension(getExtension());
-      return Result.ofSuccess(
-          componentId == Component.TAG_ID
-              ? DeviceInfo.ofTag(deviceInfoResponse)
-              : DeviceInfo.ofGear(deviceInfoResponse));
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<DeviceInfo> parseResponse(Response response) {
+    PrintLogger.d(TAG, "response = %s", response);
+    DeviceInfoResponse deviceInfoResponse = response.getExtension(getExtension());
+    return Result.ofSuccess(
+        componentId == Component.TAG_ID
+            ? DeviceInfo.ofTag(deviceInfoResponse)
+            : DeviceInfo.ofGear(deviceInfoResponse));
+  }
+
+  @Override
+  public String coalesceKey() {
+    return "DEVICEINFO:" + componentId;
   }
 
   @Override
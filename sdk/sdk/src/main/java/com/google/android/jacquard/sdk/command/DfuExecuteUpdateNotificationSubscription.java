@@ -18,6 +18,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.util.JQUtils;
 import com.google.atap.jacquard.protocol.JacquardProtocol.DFUExecuteUpdateNotification;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /**
  * Use to subscribe for dfu execute update notifications from the gear.
@@ -37,4 +39,15 @@ public class DfuExecuteUpdateNotificationSubscription
   public DFUExecuteUpdateNotification extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public DFUExecuteUpdateNotification extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
@@ -18,7 +18,6 @@ package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.NonNull;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.imu.exception.InvalidStateDCException;
 import com.google.android.jacquard.sdk.imu.model.ImuSessionInfo;
@@ -29,7 +28,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.DataCollectionEraseTri
 import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Ujt command to erase specific or all IMU Sessions.
@@ -52,20 +50,13 @@ public class EraseImuSessionCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-              JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
-        JacquardProtocol.DataCollectionEraseTrialDataResponse dcResponse = response.getExtension(
-                JacquardProtocol.DataCollectionEraseTrialDataResponse.eraseTrialData);
-        return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
-      }
-      return Result.ofSuccess(true);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<Boolean> parseResponse(JacquardProtocol.Response response) {
+    if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
+      JacquardProtocol.DataCollectionEraseTrialDataResponse dcResponse = response.getExtension(
+              JacquardProtocol.DataCollectionEraseTrialDataResponse.eraseTrialData);
+      return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
     }
+    return Result.ofSuccess(true);
   }
 
   @Override
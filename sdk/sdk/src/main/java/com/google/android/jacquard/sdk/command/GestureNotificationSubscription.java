@@ -18,6 +18,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.model.Gesture;
 import com.google.android.jacquard.sdk.util.JQUtils;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /**
  * Use to subscribe to gesture notifications from the tag.
@@ -36,4 +38,15 @@ public class GestureNotificationSubscription
   public Gesture extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public Gesture extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
@@ -18,7 +18,6 @@ package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.NonNull;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
 import com.google.atap.jacquard.protocol.JacquardProtocol.ConfigElement;
@@ -29,7 +28,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /** Reads {@link ConfigElement} from tag. */
 public class GetConfigCommand extends ProtoCommandRequest<Object> {
@@ -56,15 +54,14 @@ public class GetConfigCommand extends ProtoCommandRequest<Object> {
    * @return a Result with either the parsed data or an error.
    */
   @Override
-  public Result<Object> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      ConfigGetResponse configGetResponse = response.getExtension(getExtension());
-      return Result.ofSuccess(fetchConfigFromResponse(configGetResponse));
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<Object> parseResponse(Response response) {
+    ConfigGetResponse configGetResponse = response.getExtension(getExtension());
+    return Result.ofSuccess(fetchConfigFromResponse(configGetResponse));
+  }
+
+  @Override
+  public String coalesceKey() {
+    return "CONFIG_GET:" + vid + ":" + pid + ":" + key;
   }
 
   /** Returns the request to be sent to the tag. */
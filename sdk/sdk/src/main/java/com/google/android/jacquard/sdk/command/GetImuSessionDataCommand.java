@@ -18,7 +18,6 @@ package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.NonNull;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.imu.exception.InvalidStateDCException;
 import com.google.android.jacquard.sdk.imu.model.ImuSessionInfo;
@@ -33,7 +32,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Ujt command to request for imu session data. Once this command is executed, start observing
@@ -58,19 +56,12 @@ public class GetImuSessionDataCommand extends ProtoCommandRequest<DataCollection
   }
 
   @Override
-  public Result<DataCollectionTrialDataResponse> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      DataCollectionTrialDataResponse dcResponse = response.getExtension(getExtension());
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
-        return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
-      }
-      return Result.ofSuccess(dcResponse);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<DataCollectionTrialDataResponse> parseResponse(Response response) {
+    DataCollectionTrialDataResponse dcResponse = response.getExtension(getExtension());
+    if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
+      return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
     }
+    return Result.ofSuccess(dcResponse);
   }
 
   @Override
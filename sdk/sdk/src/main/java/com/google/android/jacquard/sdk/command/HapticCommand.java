@@ -24,6 +24,7 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.HapticSymbol;
 import com.google.atap.jacquard.protocol.JacquardProtocol.HapticSymbolType;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.auto.value.AutoValue;
 
 /**
@@ -128,10 +129,15 @@ public class HapticCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
+  public Result<Boolean> parseResponse(Response response) {
     return Result.ofSuccess(true);
   }
 
+  @Override
+  public Priority priority() {
+    return Priority.INTERACTIVE;
+  }
+
   @Override
   public Request getRequest() {
     HapticRequest.Builder patternBuilder = HapticRequest.newBuilder();
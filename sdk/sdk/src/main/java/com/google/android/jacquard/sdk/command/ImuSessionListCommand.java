@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.imu.exception.InvalidStateDCException;
 import com.google.android.jacquard.sdk.imu.model.ImuSessionInfo;
@@ -27,7 +26,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.DataCollectionTrialLis
 import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Ujt command to fetch IMU session list. Once this command is executed, ujt will send {@link
@@ -36,20 +34,13 @@ import com.google.protobuf.InvalidProtocolBufferException;
 public class ImuSessionListCommand extends ProtoCommandRequest<Boolean> {
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-              JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      DataCollectionTrialListResponse dcResponse = response.getExtension(
-              DataCollectionTrialListResponse.trialList);
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
-        return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
-      }
-      return Result.ofSuccess(true);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<Boolean> parseResponse(JacquardProtocol.Response response) {
+    DataCollectionTrialListResponse dcResponse = response.getExtension(
+            DataCollectionTrialListResponse.trialList);
+    if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
+      return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
     }
+    return Result.ofSuccess(true);
   }
 
   @Override
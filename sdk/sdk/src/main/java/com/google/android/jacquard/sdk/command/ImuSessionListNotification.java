@@ -19,6 +19,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.util.JQUtils;
 import com.google.atap.jacquard.protocol.JacquardProtocol.DataCollectionTrialListNotification;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /**
  * Ujt will send this notification per IMU session when {@link ImuSessionListCommand} is submitted.
@@ -34,4 +36,15 @@ public class ImuSessionListNotification
   public DataCollectionTrialListNotification extract(byte[] packet) {
     return notificationSubscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public DataCollectionTrialListNotification extract(Notification notification) {
+    return notificationSubscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return notificationSubscription.getExtensionType();
+  }
 }
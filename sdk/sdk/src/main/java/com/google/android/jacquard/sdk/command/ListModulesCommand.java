@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.android.jacquard.sdk.model.Module;
@@ -28,9 +27,9 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -45,19 +44,19 @@ public class ListModulesCommand extends ProtoCommandRequest<List<Module>> {
   }
 
   @Override
-  public Result<List<Module>> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      ListModuleResponse listModuleResponse = response.getExtension(getExtension());
-      List<Module> modules = new ArrayList<>();
-      for (ModuleDescriptor descriptor : listModuleResponse.getModulesList()) {
-        modules.add(Module.create(descriptor));
-      }
-      return Result.ofSuccess(modules);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<List<Module>> parseResponse(Response response) {
+    ListModuleResponse listModuleResponse = response.getExtension(getExtension());
+    List<Module> modules = new ArrayList<>();
+    for (ModuleDescriptor descriptor : listModuleResponse.getModulesList()) {
+      modules.add(Module.create(descriptor));
     }
+    // The list may be shared by callers that coalesced the request.
+    return Result.ofSuccess(Collections.unmodifiableList(modules));
+  }
+
+  @Override
+  public String coalesceKey() {
+    return "LIST_MODULES";
   }
 
   @Override
@@ -56,7 +56,7 @@ public class LoadModuleCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] protoResponse) {
+  public Result<Boolean> parseResponse(JacquardProtocol.Response response) {
     return Result.ofSuccess(true);
   }
 }
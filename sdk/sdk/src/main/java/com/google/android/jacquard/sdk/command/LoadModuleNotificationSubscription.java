@@ -19,6 +19,8 @@ package com.google.android.jacquard.sdk.command;
 import androidx.annotation.Nullable;
 import com.google.android.jacquard.sdk.model.Module;
 import com.google.android.jacquard.sdk.util.JQUtils;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /** This subscription class gives you a ability to get subscribed to load module notifications. */
 public class LoadModuleNotificationSubscription
@@ -31,4 +33,15 @@ public class LoadModuleNotificationSubscription
   public Module extract(byte[] packet) {
     return subscription.extract(JQUtils.getNotification(packet));
   }
+
+  @Nullable
+  @Override
+  public Module extract(Notification notification) {
+    return subscription.extract(notification);
+  }
+
+  @Override
+  public GeneratedExtension<Notification, ?> extensionType() {
+    return subscription.getExtensionType();
+  }
 }
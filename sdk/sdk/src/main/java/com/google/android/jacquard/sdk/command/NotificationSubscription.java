@@ -16,6 +16,8 @@
 package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.Nullable;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /** Interface for subscribing to notifications from the tag. */
 public interface NotificationSubscription<Type> {
@@ -26,4 +28,24 @@ public interface NotificationSubscription<Type> {
    */
   @Nullable
   Type extract(byte[] packet);
+
+  /**
+   * Extracts the payload from a notification the transport already decoded. Returns null if the
+   * notification is not the expected notification. Defaults to {@link #extract(byte[])} of the
+   * encoded notification, override it to skip encoding and parsing it again.
+   */
+  @Nullable
+  default Type extract(Notification notification) {
+    return extract(notification.toByteArray());
+  }
+
+  /**
+   * Returns the extension the expected notification carries. Only notifications with this
+   * extension are passed to {@link #extract(Notification)}. Defaults to null, which passes every
+   * notification.
+   */
+  @Nullable
+  default GeneratedExtension<Notification, ?> extensionType() {
+    return null;
+  }
 }
@@ -65,10 +65,15 @@ public class PlayLedPatternCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
+  public Result<Boolean> parseResponse(JacquardProtocol.Response response) {
     return Result.ofSuccess(true);
   }
 
+  @Override
+  public Priority priority() {
+    return Priority.INTERACTIVE;
+  }
+
   @Override
   public Request getRequest() {
     LedPatternRequest.Builder patternBuilder = LedPatternRequest.newBuilder();
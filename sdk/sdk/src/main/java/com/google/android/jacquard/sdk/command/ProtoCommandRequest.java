@@ -16,7 +16,9 @@
 package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
 import com.google.protobuf.GeneratedMessageLite;
@@ -46,12 +48,37 @@ public abstract class ProtoCommandRequest<T> {
   }
 
   /**
-   * Parses the raw response received from the tag into a {@link Result} object.
+   * Converts the response received from the tag into a {@link Result} object. The response is
+   * already parsed with its extensions, so implementations only read the fields they need.
+   * <p>
+   * Implementations override either this method or {@link #parseResponse(byte[])}, each delegates
+   * to the other by default. The default encodes the response again for implementations that
+   * still override {@link #parseResponse(byte[])}.
    *
    * @param response the response received from the tag
    * @return a Result with either the parsed data or an error.
    */
-  public abstract Result<T> parseResponse(byte[] response);
+  public Result<T> parseResponse(JacquardProtocol.Response response) {
+    return parseResponse(response.toByteArray());
+  }
+
+  /**
+   * Parses the raw response received from the tag into a {@link Result} object.
+   *
+   * @param response the encoded response received from the tag
+   * @return a Result with either the parsed data or an error.
+   * @deprecated Override {@link #parseResponse(JacquardProtocol.Response)} instead, it receives the
+   *     response already parsed.
+   */
+  @Deprecated
+  public Result<T> parseResponse(byte[] response) {
+    try {
+      return parseResponse(
+          JacquardProtocol.Response.parseFrom(response, JqExtensionRegistry.instance));
+    } catch (InvalidProtocolBufferException e) {
+      return Result.ofFailure(e);
+    }
+  }
 
   /** Returns the request to be sent to the tag. */
   public abstract <ProtoRequest extends GeneratedMessageLite.ExtendableMessage<?, ?>> ProtoRequest getRequest();
@@ -66,40 +93,65 @@ public abstract class ProtoCommandRequest<T> {
     return respId;
   }
 
-  /**
-   * Sets the response id from the tag.
-   * Should be called by the ProtoCommandRequest if excludeResponseErrorChecks returns true.
-   */
+  /** Sets the response id from the tag. */
   public void setResponseId(int id) {
     respId = id;
   }
 
   /**
-   * Excludes response status check for the implementation.
-   * Need to call setResponseId(id) from parseResponse(byte[]) if returned true.
+   * Returns a key that is equal for requests reading the same state from the tag, or {@code null}
+   * if the request may change state on the tag. Identical reads that are enqueued at the same time
+   * share one round trip, and enqueuing a request without a key invalidates cached reads.
+   */
+  @Nullable
+  public String coalesceKey() {
+    return null; // Default
+  }
+
+  /**
+   * Returns the lane the request waits in before it is written. Requests a user waits on should be
+   * {@link Priority#INTERACTIVE}, long transfers {@link Priority#BULK}.
+   */
+  @NonNull
+  public Priority priority() {
+    return Priority.NORMAL; // Default
+  }
+
+  /**
+   * Excludes response status check for the implementation, parseResponse then receives responses
+   * with a failure status as well.
    */
   public boolean excludeResponseErrorChecks() {
     return false; // Default
   }
 
-  public Result<T> responseErrorCheck(byte[] response) {
-    return !excludeResponseErrorChecks()
-        ? checkIfError(response)
-        : parseResponse(response);
+  /**
+   * Returns the error for a response with a failure status, or {@code null} if the status is ok
+   * or the implementation checks it in {@link #parseResponse(JacquardProtocol.Response)}.
+   */
+  @Nullable
+  public Exception statusError(JacquardProtocol.Status status) {
+    if (excludeResponseErrorChecks() || status == JacquardProtocol.Status.STATUS_OK) {
+      return null;
+    }
+    return new Exception("Command Failure: " + status.name());
+  }
+
+  /** Checks the status of the response and converts it with parseResponse. */
+  public Result<T> responseErrorCheck(JacquardProtocol.Response response) {
+    setResponseId(response.getId());
+    Exception error = statusError(response.getStatus());
+    return error != null ? Result.ofFailure(error) : parseResponse(response);
   }
 
-  private Result<T> checkIfError(byte[] respBytes) {
+  /** Parses the raw response, then checks and converts it like the overload above. */
+  public Result<T> responseErrorCheck(byte[] response) {
     try {
-      JacquardProtocol.Response response = JacquardProtocol.Response.parseFrom(respBytes);
-      setResponseId(response.getId());
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
-        return Result.ofFailure(
-            new Exception("Command Failure: " + response.getStatus().name()));
-      }
+      return responseErrorCheck(
+          JacquardProtocol.Response.parseFrom(response, JqExtensionRegistry.instance));
     } catch (InvalidProtocolBufferException e) {
       return Result.ofFailure(e);
     }
-    return parseResponse(respBytes);
   }
 
   @NonNull
@@ -109,4 +161,14 @@ public abstract class ProtoCommandRequest<T> {
         "request=" + getRequest() +
         '}';
   }
+
+  /** Order in which queued requests are written to the tag. */
+  public enum Priority {
+    /** Feedback for a user action, such as haptics or led patterns. */
+    INTERACTIVE,
+    /** Everything else. */
+    NORMAL,
+    /** Long running transfers that may wait, such as firmware writes. */
+    BULK
+  }
 }
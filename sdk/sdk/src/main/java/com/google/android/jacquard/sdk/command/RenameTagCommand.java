@@ -15,7 +15,6 @@
  */
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
@@ -24,7 +23,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Status;
 import com.google.atap.jacquard.protocol.JacquardProtocol.UJTConfigResponse;
 import com.google.atap.jacquard.protocol.JacquardProtocol.UJTConfigWriteRequest;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for renaming the Jacquard tag.
@@ -67,28 +65,21 @@ public final class RenameTagCommand extends ProtoCommandRequest<String> {
   }
 
   @Override
-  public Result<String> parseResponse(byte[] res) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(res, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      if (response.getStatus() != Status.STATUS_OK) {
-        Throwable error =
-            new Exception("RenameCommand Failure: " + response.getStatus().toString());
-        if (response.getStatus().getNumber()
-            == Status.ERROR_BADPARAM.getNumber()) {
-          return Result.ofFailure(new IllegalArgumentException("Invalid input.", error));
-        }
-        return Result.ofFailure(error);
+  public Result<String> parseResponse(JacquardProtocol.Response response) {
+    if (response.getStatus() != Status.STATUS_OK) {
+      Throwable error =
+          new Exception("RenameCommand Failure: " + response.getStatus().toString());
+      if (response.getStatus().getNumber()
+          == Status.ERROR_BADPARAM.getNumber()) {
+        return Result.ofFailure(new IllegalArgumentException("Invalid input.", error));
       }
-      if (!response.hasExtension(UJTConfigResponse.configResponse)) {
-        return Result.ofFailure(
-            new IllegalStateException("Response does not contain rename config information"));
-      }
-      UJTConfigResponse ujtConfigResponse = response.getExtension(UJTConfigResponse.configResponse);
-      return Result.ofSuccess(ujtConfigResponse.getBleConfig().getCustomAdvName());
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+      return Result.ofFailure(error);
+    }
+    if (!response.hasExtension(UJTConfigResponse.configResponse)) {
+      return Result.ofFailure(
+          new IllegalStateException("Response does not contain rename config information"));
     }
+    UJTConfigResponse ujtConfigResponse = response.getExtension(UJTConfigResponse.configResponse);
+    return Result.ofSuccess(ujtConfigResponse.getBleConfig().getCustomAdvName());
   }
 }
@@ -28,6 +28,7 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -48,7 +49,7 @@ public class SetConfigCommand extends ProtoCommandRequest<Boolean> {
    * @return a Result with either the parsed data or an error.
    */
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
+  public Result<Boolean> parseResponse(Response response) {
     return Result.ofSuccess(true);
   }
 
@@ -15,7 +15,6 @@
  */
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.android.jacquard.sdk.model.TouchMode;
@@ -26,7 +25,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for setting the {@link TouchMode} for a component.
@@ -51,14 +49,8 @@ public class SetTouchModeCommand extends ProtoCommandRequest<Response> {
   }
 
   @Override
-  public Result<Response> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      return Result.ofSuccess(response);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<Response> parseResponse(Response response) {
+    return Result.ofSuccess(response);
   }
 
   @Override
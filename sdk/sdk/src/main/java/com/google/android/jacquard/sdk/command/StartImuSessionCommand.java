@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.imu.Sensors;
 import com.google.android.jacquard.sdk.imu.exception.InvalidStateDCException;
@@ -30,7 +29,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.DataCollectionStatus;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /** UJT command to start IMU session. It will return session id if successful. */
 public class StartImuSessionCommand extends ProtoCommandRequest<String> {
@@ -43,27 +41,20 @@ public class StartImuSessionCommand extends ProtoCommandRequest<String> {
   }
 
   @Override
-  public Result<String> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      if (!response.hasExtension(DataCollectionStartResponse.start)) {
-        return Result.ofFailure(
-                new IllegalStateException(
-                        "Response does not contain DataCollectionStartResponse.start."));
-      }
-      DataCollectionStartResponse dcResponse =
-              response.getExtension(DataCollectionStartResponse.start);
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK
-              || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_BATTERY)
-              || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_STORAGE)) {
-        return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
-      }
-      return Result.ofSuccess(sessionId);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<String> parseResponse(JacquardProtocol.Response response) {
+    if (!response.hasExtension(DataCollectionStartResponse.start)) {
+      return Result.ofFailure(
+              new IllegalStateException(
+                      "Response does not contain DataCollectionStartResponse.start."));
     }
+    DataCollectionStartResponse dcResponse =
+            response.getExtension(DataCollectionStartResponse.start);
+    if (response.getStatus() != JacquardProtocol.Status.STATUS_OK
+            || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_BATTERY)
+            || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_STORAGE)) {
+      return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
+    }
+    return Result.ofSuccess(sessionId);
   }
 
   @Override
@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.imu.exception.InvalidStateDCException;
 import com.google.android.jacquard.sdk.model.Component;
@@ -29,7 +28,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.DataCollectionStatus;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * UJT command to start Imu samples streaming. </br> Observe {@link
@@ -46,27 +44,20 @@ public class StartImuStreamingCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      if (!response.hasExtension(DataCollectionStartResponse.start)) {
-        return Result.ofFailure(
-                new IllegalStateException(
-                        "Response does not contain DataCollectionStartResponse.start."));
-      }
-      DataCollectionStartResponse dcResponse =
-              response.getExtension(DataCollectionStartResponse.start);
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK
-              || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_BATTERY)
-              || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_STORAGE)) {
-        return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
-      }
-      return Result.ofSuccess(true);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<Boolean> parseResponse(JacquardProtocol.Response response) {
+    if (!response.hasExtension(DataCollectionStartResponse.start)) {
+      return Result.ofFailure(
+              new IllegalStateException(
+                      "Response does not contain DataCollectionStartResponse.start."));
     }
+    DataCollectionStartResponse dcResponse =
+            response.getExtension(DataCollectionStartResponse.start);
+    if (response.getStatus() != JacquardProtocol.Status.STATUS_OK
+            || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_BATTERY)
+            || dcResponse.getDcStatus().equals(DataCollectionStatus.DATA_COLLECTION_LOW_STORAGE)) {
+      return Result.ofFailure(new InvalidStateDCException(dcResponse.getDcStatus()));
+    }
+    return Result.ofSuccess(true);
   }
 
   @Override
@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.imu.exception.InvalidStateDCException;
 import com.google.android.jacquard.sdk.model.Component;
@@ -28,7 +27,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Ujt command to stop IMU Session.
@@ -42,21 +40,14 @@ public class StopImuSessionCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-              JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      setResponseId(response.getId());
-      DataCollectionStopResponse stopResponse =
-              response.getExtension(DataCollectionStopResponse.stop);
-      if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
-        return Result.ofFailure(new InvalidStateDCException(stopResponse.getDcStatus()));
-      }
-      return Result.ofSuccess(stopResponse.getDcStatus().equals(
-              JacquardProtocol.DataCollectionStatus.DATA_COLLECTION_IDLE));
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
+  public Result<Boolean> parseResponse(Response response) {
+    DataCollectionStopResponse stopResponse =
+            response.getExtension(DataCollectionStopResponse.stop);
+    if (response.getStatus() != JacquardProtocol.Status.STATUS_OK) {
+      return Result.ofFailure(new InvalidStateDCException(stopResponse.getDcStatus()));
     }
+    return Result.ofSuccess(stopResponse.getDcStatus().equals(
+            JacquardProtocol.DataCollectionStatus.DATA_COLLECTION_IDLE));
   }
 
   @Override
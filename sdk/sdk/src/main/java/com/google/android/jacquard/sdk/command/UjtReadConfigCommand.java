@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
@@ -28,7 +27,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.atap.jacquard.protocol.JacquardProtocol.UJTConfigReadRequest;
 import com.google.atap.jacquard.protocol.JacquardProtocol.UJTConfigResponse;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command to read {@link BleConfiguration} from {@link com.google.android.jacquard.sdk.tag.ConnectedJacquardTag}.
@@ -42,15 +40,14 @@ public class UjtReadConfigCommand extends ProtoCommandRequest<UJTConfigResponse>
   }
 
   @Override
-  public Result<UJTConfigResponse> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      UJTConfigResponse ujtConfigResponse = response.getExtension(getExtension());
-      return Result.ofSuccess(ujtConfigResponse);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<UJTConfigResponse> parseResponse(Response response) {
+    UJTConfigResponse ujtConfigResponse = response.getExtension(getExtension());
+    return Result.ofSuccess(ujtConfigResponse);
+  }
+
+  @Override
+  public String coalesceKey() {
+    return "CONFIG_READ";
   }
 
   @Override
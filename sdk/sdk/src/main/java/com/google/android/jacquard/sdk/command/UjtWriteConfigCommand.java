@@ -17,7 +17,6 @@ package com.google.android.jacquard.sdk.command;
 
 import androidx.annotation.Nullable;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.Component;
@@ -29,7 +28,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.atap.jacquard.protocol.JacquardProtocol.UJTConfigWriteRequest;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for writing {@link BleConfiguration} to the tag.
@@ -71,14 +69,8 @@ public class UjtWriteConfigCommand extends ProtoCommandRequest<Response> {
 
   @SuppressWarnings("unchecked")
   @Override
-  public Result<Response> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      return Result.ofSuccess(response);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<Response> parseResponse(Response response) {
+    return Result.ofSuccess(response);
   }
 
   @Override
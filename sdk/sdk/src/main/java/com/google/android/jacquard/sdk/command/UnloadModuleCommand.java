@@ -26,6 +26,7 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.ModuleDescriptor;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.atap.jacquard.protocol.JacquardProtocol.UnloadModuleRequest;
 
 /**
@@ -45,7 +46,7 @@ public class UnloadModuleCommand extends ProtoCommandRequest<Boolean> {
   }
 
   @Override
-  public Result<Boolean> parseResponse(byte[] respByte) {
+  public Result<Boolean> parseResponse(Response response) {
     return Result.ofSuccess(true);
   }
 
@@ -47,6 +47,7 @@ import com.google.android.jacquard.sdk.model.Revision;
 import com.google.android.jacquard.sdk.model.VidPidMid;
 import com.google.android.jacquard.sdk.pairing.TagPairingState;
 import com.google.android.jacquard.sdk.pairing.TagPairingStateMachine;
+import com.google.android.jacquard.sdk.rx.Executors;
 import com.google.android.jacquard.sdk.rx.Signal;
 import com.google.android.jacquard.sdk.rx.Signal.ObservesNext;
 import com.google.android.jacquard.sdk.rx.Signal.Subscription;
@@ -57,6 +58,7 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.BleConfiguration;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -87,6 +89,7 @@ public class TagConnectionStateMachine implements StateMachine<ConnectionState,
   private final Function<BluetoothDevice> connectMethod;
   private final List<Revision> badFirmwareVersions;
   private final boolean shouldReconnect = true;
+  private final Executor connectionExecutor;
   private final AtomicBoolean isUserInitiated = new AtomicBoolean();
   private ConnectionState state = ofPreparingToConnect();
   private ConnectedJacquardTag tagWhileFirmwareUpdate;
@@ -105,7 +108,25 @@ public class TagConnectionStateMachine implements StateMachine<ConnectionState,
       List<Revision> badFirmwareVersions,
       Function<BluetoothDevice> connectMethod,
       @Nullable VidPidMid targetUjtFirmwareVidPid) {
+    this(device, badFirmwareVersions, connectMethod, targetUjtFirmwareVidPid,
+        Executors.newSerialIoExecutor());
+  }
+
+  /**
+   * Creates a new instance of TagConnectionStateMachine.
+   *
+   * @param device the device to connect to.
+   * @param connectMethod a reference to BleAdapter.connect()
+   * @param connectionExecutor the serial executor connection events are delivered on
+   */
+  public TagConnectionStateMachine(
+      BluetoothDevice device,
+      List<Revision> badFirmwareVersions,
+      Function<BluetoothDevice> connectMethod,
+      @Nullable VidPidMid targetUjtFirmwareVidPid,
+      Executor connectionExecutor) {
     this.device = device;
+    this.connectionExecutor = connectionExecutor;
     this.connectMethod = connectMethod;
     this.badFirmwareVersions = badFirmwareVersions;
     this.targetUjtFirmwareVidPid = targetUjtFirmwareVidPid;
@@ -337,7 +358,7 @@ public class TagConnectionStateMachine implements StateMachine<ConnectionState,
 
     updateState(ofInitializing());
     ProtocolInitializationStateMachine protocolInitializationStateMachine = new ProtocolInitializationStateMachine(
-        event.tagPaired().first, event.tagPaired().second);
+        event.tagPaired().first, event.tagPaired().second, connectionExecutor);
     initializeConnection(protocolInitializationStateMachine);
   }
 
@@ -48,6 +48,8 @@ import retrofit2.converter.moshi.MoshiConverterFactory;
 class DFUChecker {
 
   private static final String TAG = DFUChecker.class.getSimpleName();
+  /** Components are checked, and their firmware downloaded, this many at a time. */
+  private static final int MAX_CONCURRENT_CHECKS = 3;
 
   CloudManager cloudManager;
   DownloadManager downloadManager;
@@ -79,33 +81,23 @@ class DFUChecker {
   Signal<List<DFUInfo>> checkUpdate(List<CheckUpdateParams> checkUpdateParamsList,
       boolean forceUpdate) {
     return Signal.create(signal -> {
-      checkUpdate(checkUpdateParamsList, 0, signal, new ArrayList<>(), forceUpdate);
-      return new Subscription();
-    });
-  }
-
-  /**
-   * Call checkUpdate(CheckUpdateParams checkUpdateParams) method recursively and notify the update
-   * on provided signal.
-   */
-  private void checkUpdate(List<CheckUpdateParams> checkUpdateParamsList, int indexPos,
-      Signal<List<DFUInfo>> signal,
-      List<DFUInfo> dfuInfos, boolean forceUpdate) {
-    checkUpdate(checkUpdateParamsList.get(indexPos), forceUpdate).tapError(signal::error)
-        .onNext(dfuInfo -> {
-          if (!dfuInfo
-              .version()
-              .toZeroString()
-              .equals(checkUpdateParamsList.get(indexPos).componentVersion())) {
-            dfuInfos.add(dfuInfo);
-          }
-          if (indexPos + 1 == checkUpdateParamsList.size()) {
+      List<DFUInfo> dfuInfos = new ArrayList<>();
+      return Signal.from(checkUpdateParamsList)
+          .flatMapConcurrentOrdered(MAX_CONCURRENT_CHECKS,
+              params -> checkUpdate(params, forceUpdate)
+                  .filter(dfuInfo -> !dfuInfo
+                      .version()
+                      .toZeroString()
+                      .equals(params.componentVersion())))
+          .observe(dfuInfos::add, error -> {
+            if (error != null) {
+              signal.error(error);
+              return;
+            }
             signal.next(dfuInfos);
             signal.complete();
-          } else {
-            checkUpdate(checkUpdateParamsList, indexPos + 1, signal, dfuInfos, forceUpdate);
-          }
-        });
+          });
+    });
   }
 
   /** Check firmware update from cloud and download the firmware if available. */
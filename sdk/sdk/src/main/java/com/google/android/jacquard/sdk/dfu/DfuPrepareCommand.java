@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.dfu;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.util.StringUtils;
@@ -26,7 +25,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for dfu prepare to device.
@@ -50,14 +48,8 @@ final class DfuPrepareCommand extends ProtoCommandRequest<Response> {
   }
 
   @Override
-  public Result<Response> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      return Result.ofSuccess(response);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<Response> parseResponse(Response response) {
+    return Result.ofSuccess(response);
   }
 
   @Override
@@ -16,7 +16,6 @@
 
 package com.google.android.jacquard.sdk.dfu;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.log.PrintLogger;
@@ -29,7 +28,6 @@ import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.GeneratedMessageLite;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /**
  * Command for sending firmware binary to device.
@@ -58,15 +56,14 @@ final class DfuWriteCommand extends ProtoCommandRequest<DFUWriteResponse> {
   }
 
   @Override
-  public Result<DFUWriteResponse> parseResponse(byte[] respByte) {
-    try {
-      JacquardProtocol.Response response =
-          JacquardProtocol.Response.parseFrom(respByte, JqExtensionRegistry.instance);
-      PrintLogger.d(TAG, "response = " + response);
-      return Result.ofSuccess(response.getExtension(getExtension()));
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<DFUWriteResponse> parseResponse(Response response) {
+    PrintLogger.d(TAG, "response = %s", response);
+    return Result.ofSuccess(response.getExtension(getExtension()));
+  }
+
+  @Override
+  public Priority priority() {
+    return Priority.BULK;
   }
 
   @Override
@@ -16,6 +16,7 @@
 package com.google.android.jacquard.sdk.imu;
 
 import static com.google.android.jacquard.sdk.connection.ConnectionState.Type.CONNECTED;
+import static com.google.android.jacquard.sdk.log.LogLevel.DEBUG;
 import static com.google.atap.jacquard.protocol.JacquardProtocol.ImuFilterMode.IMU_FILTER_NORMAL;
 
 import android.bluetooth.BluetoothGatt;
@@ -56,7 +57,9 @@ import com.google.android.jacquard.sdk.lm.LoadableModule;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.DeviceConfigElement;
 import com.google.android.jacquard.sdk.model.Module;
+import com.google.android.jacquard.sdk.rx.Executors;
 import com.google.android.jacquard.sdk.rx.Signal;
+import com.google.android.jacquard.sdk.rx.Signal.OverflowPolicy;
 import com.google.android.jacquard.sdk.rx.Signal.Subscription;
 import com.google.android.jacquard.sdk.tag.ConnectedJacquardTag;
 import com.google.android.jacquard.sdk.util.FileLogger;
@@ -76,6 +79,7 @@ import com.google.protos.atap.jacquard.core.Jacquard.ImuSample;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -103,6 +107,11 @@ public class ImuModule extends LoadableModule {
    * Erasing imu session(s) may take longer time.
    */
   private static final long ERASE_TIMEOUT_DURATION = 60 * 1000; // 60 seconds
+  /**
+   * Imu samples buffered for a busy main thread before the oldest are dropped, about 5 seconds of
+   * streaming.
+   */
+  private static final int IMU_STREAM_BUFFER_SIZE = 1024;
   private static final String CURRENT_SESSION_TS = "current_imu_session_ts";
   private static final String DC_MODE = "current_dc_mode";
   private Subscription dataTransportSubscription = null;
@@ -165,6 +174,9 @@ public class ImuModule extends LoadableModule {
   /**
    * Starts collecting Imu samples.
    *
+   * <p>Samples are delivered on the main thread. If it falls behind, the oldest buffered samples
+   * are dropped.
+   *
    * @return Stream of {@link ImuStream}
    */
   public Signal<ImuStream> startImuStreaming() {
@@ -174,6 +186,9 @@ public class ImuModule extends LoadableModule {
   /**
    * Starts collecting Imu samples with provided {@link DataCollectionMetadata}
    *
+   * <p>Samples are delivered on the main thread. If it falls behind, the oldest buffered samples
+   * are dropped.
+   *
    * @return Stream of {@link ImuStream}
    */
   public Signal<ImuStream> startImuStreaming(@NonNull DataCollectionMetadata metadata,
@@ -186,7 +201,7 @@ public class ImuModule extends LoadableModule {
                     signal.error(new IllegalStateException("Tag disconnected."));
                     disconnectedSubscription.unsubscribe();
                   });
-          subscriptions.add(disconnectedSubscription);
+          addSubscription(disconnectedSubscription);
 
           String userId = String.format(Locale.US, "u-%d", System.currentTimeMillis());
           // Trigger
@@ -255,9 +270,8 @@ public class ImuModule extends LoadableModule {
       Subscription subscription = getMyJacquardTag()
           .flatMap(jacquardTag -> jacquardTag.subscribe(new ImuSessionListNotification()))
           .onNext(notification -> {
-            PrintLogger.d(TAG,
-                "Total Sessions # " + notification.getTrialIndex() + " / " + notification
-                    .getTotalTrials());
+            PrintLogger.d(TAG, "Total Sessions # %d / %d", notification.getTrialIndex(),
+                notification.getTotalTrials());
             if (notification.getTotalTrials() != 0) {
               sessionList.add(ImuSessionInfo.of(notification));
             }
@@ -348,7 +362,7 @@ public class ImuModule extends LoadableModule {
           progress.error(new IllegalStateException("Tag disconnected."));
           disconnectedSubscription.unsubscribe();
         });
-    subscriptions.add(disconnectedSubscription);
+    addSubscription(disconnectedSubscription);
     // Trigger
     checkIfActiveSession().flatMap(activeSessionFound -> {
       if (activeSessionFound) {
@@ -357,9 +371,9 @@ public class ImuModule extends LoadableModule {
       return Signal.from(false);
     }).flatMap(ignore ->
         getMyJacquardTag().flatMap(tag -> {
-          dataTransportSubscription = tag.getDataTransport().forward(transporter);
+          dataTransportSubscription = tag.getDataTransportOnIoThread().forward(transporter);
           tag.requestConnectionPriority(BluetoothGatt.CONNECTION_PRIORITY_HIGH);
-          subscriptions.add(dataTransportSubscription);
+          addSubscription(dataTransportSubscription);
           // Given some extra time to dc lm to finish the process if running.
           return Signal.from(1).delay(3000).flatMap(_ignore -> tag.enqueue(
               new GetImuSessionDataCommand(info, (int) dataFile.getFile().length())));
@@ -374,8 +388,10 @@ public class ImuModule extends LoadableModule {
             rawImuBytes -> {
               dataFile.log(rawImuBytes.second);
               received.addAndGet(rawImuBytes.second.length);
-              PrintLogger
-                  .d(TAG, "Data Received till now # " + received.get() + " / " + expectedBytes);
+              if (PrintLogger.isLoggable(DEBUG, TAG)) {
+                PrintLogger
+                    .d(TAG, "Data Received till now # " + received.get() + " / " + expectedBytes);
+              }
               progress
                   .next(Pair.create(received.get() * 100 / expectedBytes, dataFile.getFile()));
               if (received.get() == expectedBytes) {
@@ -386,27 +402,32 @@ public class ImuModule extends LoadableModule {
                 setConnectionPriority(BluetoothGatt.CONNECTION_PRIORITY_BALANCED);
               }
             });
-    return progress;
+    // One emission per packet would repeat the same percentage hundreds of times. Packets are
+    // written to the file on the connection's I/O thread, only the progress hops to main.
+    return progress.distinctUntilChanged().observeOn(Executors.mainThreadImmediateExecutor());
   }
 
   /**
-   * Parses raw imu samples file.
+   * Parses raw imu samples file. The file is read and parsed on the computation executor and the
+   * result is emitted on that thread.
    */
   public static Signal<ImuSessionData> parseImuData(@NonNull final String path) {
     PrintLogger.d(TAG, "Parsing # " + path);
-    return Signal.create(signal -> {
+    return Signal.<ImuSessionData>create(signal -> {
       JQImuParser reader = new JQImuParser(new ImuParserImpl());
       try {
         ImuSessionData trialData = reader.parseImuData(path);
         String id = trialData.getImuSessionId();
         PrintLogger.d(TAG, "Parsed Trial id # " + id);
         List<ImuSampleCollection> samples = trialData.getImuSampleCollections();
-        PrintLogger.d(TAG, "Parsed ImuSampleCollections # " + samples.size());
-        for (ImuSampleCollection g : samples) {
-          List<ImuSample> imuSamples = g.getImuSamples();
-          PrintLogger.d(TAG, "Parsed Imu Samples # " + imuSamples.size());
-          for (ImuSample s : imuSamples) {
-            PrintLogger.d(TAG, "Imu # " + s);
+        if (PrintLogger.isLoggable(DEBUG, TAG)) {
+          PrintLogger.d(TAG, "Parsed ImuSampleCollections # " + samples.size());
+          for (ImuSampleCollection g : samples) {
+            List<ImuSample> imuSamples = g.getImuSamples();
+            PrintLogger.d(TAG, "Parsed Imu Samples # " + imuSamples.size());
+            for (ImuSample s : imuSamples) {
+              PrintLogger.d(TAG, "Imu # " + s);
+            }
           }
         }
         signal.next(trialData);
@@ -415,7 +436,7 @@ public class ImuModule extends LoadableModule {
         signal.error(e);
       }
       return new Subscription();
-    });
+    }).subscribeOn(Executors.computationExecutor());
   }
 
   /**
@@ -530,6 +551,18 @@ public class ImuModule extends LoadableModule {
     subscriptions.clear();
   }
 
+  /** Keeps <code>subscription</code> for {@link #destroy()}, dropping the finished ones. */
+  private void addSubscription(Subscription subscription) {
+    Iterator<Subscription> iterator = subscriptions.iterator();
+    while (iterator.hasNext()) {
+      Subscription s = iterator.next();
+      if (s == null || s.isUnsubscribed()) {
+        iterator.remove();
+      }
+    }
+    subscriptions.add(subscription);
+  }
+
   @Override
   public Module getVidPidMid() {
      return IMU_MODULE;
@@ -564,8 +597,9 @@ public class ImuModule extends LoadableModule {
   }
 
   private Signal<ImuStream> getImuStream(DataCollectionMetadata metadata, String userId) {
-    return Signal.create(
+    return Signal.<ImuStream>create(
         signal -> {
+          // Samples are parsed on the connection's I/O thread, only the results hop to main.
           ImuParser parser = new ImuParserImpl();
           AtomicReference<ImuConfiguration> imuConfig = new AtomicReference<>();
           Subscription outer =
@@ -575,7 +609,7 @@ public class ImuModule extends LoadableModule {
                         imuConfig.set(imuConfiguration);
                         return getMyJacquardTag();
                       })
-                  .flatMap(ConnectedJacquardTag::getRawData)
+                  .flatMap(ConnectedJacquardTag::getRawDataOnIoThread)
                   .onNext(
                       data -> {
                         byte[] raw = new byte[data.length - 2];
@@ -596,7 +630,8 @@ public class ImuModule extends LoadableModule {
               outer.unsubscribe();
             }
           };
-        });
+        }).onBackpressureBuffer(IMU_STREAM_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST,
+            Executors.mainThreadImmediateExecutor());
   }
 
   private Signal<Boolean> setConfig(String key, String config) {
@@ -18,6 +18,8 @@ package com.google.android.jacquard.sdk.initialization;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
 import com.google.android.jacquard.sdk.model.Peripheral.WriteType;
 import com.google.android.jacquard.sdk.rx.Signal;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.protobuf.GeneratedMessageLite;
 
 /** A request in flight. */
@@ -28,13 +30,21 @@ class PendingRequest<ProtoRequest extends ProtoCommandRequest, ProtoResponse ext
   /** The Write type for the request. */
   final WriteType writeType;
   /** A Signal to emitting the response. */
-  final Signal< byte[]> response;
+  final Signal<byte[]> response;
   /** The number of retries if the request fails. */
   int retries;
   /**
    * Timeout duration of this request in milliseconds.
    */
   long timeout;
+  /** Cancels the timeout of the current attempt once a response arrives. */
+  Subscription timeoutSubscription;
+  /** When the request was added to its lane, in scheduler time. */
+  long enqueuedAt;
+  /** When the current attempt was written, in scheduler time. */
+  long sentAt;
+  /** Opcode of the written request, kept for the round trip metrics. */
+  Opcode opcode;
 
   /**
    * Creates a pending request used by {@link Transport}.
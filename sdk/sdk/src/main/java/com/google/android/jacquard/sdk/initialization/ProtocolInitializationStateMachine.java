@@ -20,9 +20,10 @@ import static com.google.android.jacquard.sdk.initialization.InitializationState
 
 import com.google.android.jacquard.sdk.ConnectState;
 import com.google.android.jacquard.sdk.JacquardManager;
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.StateMachine;
 import com.google.android.jacquard.sdk.command.DeviceInfo;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
+import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.initialization.command.BeginCommand;
 import com.google.android.jacquard.sdk.initialization.command.DeviceInfoCommand;
 import com.google.android.jacquard.sdk.initialization.command.HelloCommand;
@@ -37,22 +38,35 @@ import com.google.android.jacquard.sdk.tag.ConnectedJacquardTagImpl;
 import com.google.atap.jacquard.protocol.JacquardProtocol.DeviceInfoResponse;
 import com.google.atap.jacquard.protocol.JacquardProtocol.HelloResponse;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
-import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.concurrent.Executor;
 
-/** State machine for handling the protocol initialization phase. */
+/**
+ * State machine for handling the protocol initialization phase.
+ *
+ * <p>All events are handled on the serial executor the connection events are delivered on, so the
+ * state is never touched from two threads.
+ */
 public class ProtocolInitializationStateMachine implements
     StateMachine<InitializationState, ConnectState> {
 
   private static final int HELLO_PROTOCOL_VERSION = 2;
+  /** Largest ATT MTU Android can negotiate, the tag answers with what it supports. */
+  private static final int REQUESTED_MTU = 517;
   private static final String TAG = ProtocolInitializationStateMachine.class.getSimpleName();
 
   private final Signal<InitializationState> stateSignal = Signal.create();
   private final StateMachineContext stateMachineContext;
+  private final Executor connectionExecutor;
   private InitializationState state = InitializationState.ofPaired();
 
-  /** Creates a new instance of ProtocolInitializationStateMachine. */
+  /**
+   * Creates a new instance of ProtocolInitializationStateMachine.
+   *
+   * @param connectionExecutor the serial executor {@link #onStateEvent(ConnectState)} is called on
+   */
   public ProtocolInitializationStateMachine(Peripheral peripheral,
-      RequiredCharacteristics requiredCharacteristics) {
+      RequiredCharacteristics requiredCharacteristics, Executor connectionExecutor) {
+    this.connectionExecutor = connectionExecutor;
     stateMachineContext = new StateMachineContext(peripheral, requiredCharacteristics);
     updateState(InitializationState.ofPaired());
   }
@@ -69,16 +83,22 @@ public class ProtocolInitializationStateMachine implements
       case CHARACTERISTIC_UPDATED:
         stateMachineContext.transport.characteristicUpdated(state.characteristicUpdated());
         break;
+      case VALUE_WRITTEN:
+        stateMachineContext.transport.valueWritten(state.valueWritten());
+        break;
       case VALUE_RSSI:
         stateMachineContext.transport.onRSSIValueUpdated(state.valueRssi().value());
         break;
+      case MTU_CHANGED:
+        stateMachineContext.transport.onMtuChanged(state.mtuChanged().mtu());
+        break;
     }
   }
 
   /** Starts negotiation with the tag. */
   public void startNegotiation() {
     PrintLogger.d(TAG, "startNegotiation");
-    handleEvent(InitializationEvent.ofStartNegotiation());
+    connectionExecutor.execute(() -> handleEvent(InitializationEvent.ofStartNegotiation()));
   }
 
   /** Call to reacts to events. */
@@ -182,17 +202,11 @@ public class ProtocolInitializationStateMachine implements
   /** Sends the begin request. */
   private void sendBegin() {
     PrintLogger.d(TAG, "sendBegin");
-    stateMachineContext.transport.enqueue(new BeginCommand(), WriteType.WITH_RESPONSE, /*retries=*/2)
+    ProtoCommandRequest<Response> command = new BeginCommand();
+    stateMachineContext.transport.enqueue(command, WriteType.WITH_RESPONSE, /*retries=*/2)
+        .observeOn(connectionExecutor)
         .tapError(error -> handleEvent(InitializationEvent.ofReceivedResponseWithError(error)))
-        .onNext(respByte -> {
-          try {
-            Response response =
-                Response.parseFrom(respByte, JqExtensionRegistry.instance);
-            ProtocolInitializationStateMachine.this.handleEvent(InitializationEvent.ofReceivedResponse(response));
-          } catch (InvalidProtocolBufferException e) {
-            PrintLogger.e(TAG, "begin command failed : " + e);
-          }
-        });
+        .onNext(packet -> handleResponse(command, packet));
   }
 
   /** Called when response with an error has been received. */
@@ -207,9 +221,11 @@ public class ProtocolInitializationStateMachine implements
     if (!state.isType(PAIRED)) {
       return;
     }
+    // The ble queue is serial, so the mtu exchange completes before hello is written.
+    stateMachineContext.transport.requestMtu(REQUESTED_MTU);
     // put in an artificial 1 second delay before starting protocol negotiation
     // seems to alleviate negotiation timeout issues.
-    Signal.from(1).delay(1000).onNext(ignore -> {
+    Signal.from(1).delay(1000).observeOn(connectionExecutor).onNext(ignore -> {
       try {
         sendHello();
         updateState(InitializationState.ofHelloSent());
@@ -222,17 +238,11 @@ public class ProtocolInitializationStateMachine implements
   /** Sends the hello request. */
   private void sendHello() {
     PrintLogger.d(TAG, "sendHello");
-    stateMachineContext.transport.enqueue(new HelloCommand(), WriteType.WITH_RESPONSE, /*retries=*/2)
+    ProtoCommandRequest<Response> command = new HelloCommand();
+    stateMachineContext.transport.enqueue(command, WriteType.WITH_RESPONSE, /*retries=*/2)
+        .observeOn(connectionExecutor)
         .tapError(error -> handleEvent(InitializationEvent.ofReceivedResponseWithError(error)))
-        .onNext(respByte -> {
-          try {
-            Response response =
-                Response.parseFrom(respByte, JqExtensionRegistry.instance);
-            ProtocolInitializationStateMachine.this.handleEvent(InitializationEvent.ofReceivedResponse(response));
-          } catch (InvalidProtocolBufferException e) {
-            PrintLogger.e(TAG, "Hello command failed : " + e);
-          }
-        });
+        .onNext(packet -> handleResponse(command, packet));
   }
 
   /** Get the device info of tag from JacquardManager if available or send the request. */
@@ -254,20 +264,24 @@ public class ProtocolInitializationStateMachine implements
   private void sendDeviceInfo() {
     PrintLogger.d(TAG, "sendDeviceInfo");
     updateState(InitializationState.ofComponentInfoSent());
+    ProtoCommandRequest<Response> command = new DeviceInfoCommand();
     stateMachineContext
         .transport
-        .enqueue(new DeviceInfoCommand(), WriteType.WITH_RESPONSE, /*retries=*/ 2)
+        .enqueue(command, WriteType.WITH_RESPONSE, /*retries=*/ 2)
+        .observeOn(connectionExecutor)
         .tapError(error -> handleEvent(InitializationEvent.ofReceivedResponseWithError(error)))
-        .onNext(
-            respByte -> {
-              try {
-                Response response = Response.parseFrom(respByte, JqExtensionRegistry.instance);
-                ProtocolInitializationStateMachine.this.handleEvent(
-                    InitializationEvent.ofReceivedResponse(response));
-              } catch (InvalidProtocolBufferException e) {
-                PrintLogger.e(TAG, "DeviceInfo command failed : " + e);
-              }
-            });
+        .onNext(packet -> handleResponse(command, packet));
+  }
+
+  /** Decodes the response of an initialization command and hands it to the state machine. */
+  private void handleResponse(ProtoCommandRequest<Response> command, byte[] packet) {
+    Result<Response> result = command.responseErrorCheck(packet);
+    if (result.getType() == Result.Type.FAILURE) {
+      PrintLogger.e(TAG, "Parsing response failed : " + result.failure());
+      handleEvent(InitializationEvent.ofReceivedResponseWithError(result.failure()));
+      return;
+    }
+    handleEvent(InitializationEvent.ofReceivedResponse(result.success()));
   }
 
   /** Updates the internal state and emits the update to observers. */
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
+import com.google.android.jacquard.sdk.rx.Pred;
+import com.google.android.jacquard.sdk.rx.Scheduler;
+import java.util.ArrayDeque;
+
+/**
+ * Queue of requests waiting to be written, with one FIFO lane per {@link Priority}.
+ *
+ * <p>The head of the highest priority lane is taken first. A request gains one priority level for
+ * every {@link #AGING_MS} it waits, so bulk transfers keep moving while interactive requests are
+ * being sent.
+ */
+class RequestLanes {
+
+  /** Wait after which a request competes with the next priority level. */
+  static final long AGING_MS = 500;
+
+  private static final Priority[] PRIORITIES = Priority.values();
+
+  private final Scheduler clock;
+  private final Lane[] lanes = new Lane[PRIORITIES.length];
+
+  RequestLanes(Scheduler clock) {
+    this.clock = clock;
+    for (int i = 0; i < lanes.length; i++) {
+      lanes[i] = new Lane();
+    }
+  }
+
+  synchronized void add(PendingRequest<?, ?> request) {
+    Lane lane = lanes[request.request.priority().ordinal()];
+    request.enqueuedAt = clock.now();
+    lane.requests.add(request);
+    lane.maxDepth = Math.max(lane.maxDepth, lane.requests.size());
+  }
+
+  /** Returns the request that should be written next without removing it. */
+  synchronized PendingRequest<?, ?> peek() {
+    Lane lane = next();
+    return lane == null ? null : lane.requests.peek();
+  }
+
+  /** Removes and returns the request that should be written next. */
+  synchronized PendingRequest<?, ?> poll() {
+    Lane lane = next();
+    if (lane == null) {
+      return null;
+    }
+    lane.dequeued++;
+    return lane.requests.poll();
+  }
+
+  /**
+   * Removes and returns the request that should be written next if <code>pred</code> accepts it,
+   * otherwise returns null and leaves the lanes unchanged. The request is chosen once, so the one
+   * checked is the one removed.
+   */
+  synchronized PendingRequest<?, ?> pollIf(Pred<PendingRequest<?, ?>> pred) {
+    Lane lane = next();
+    if (lane == null || !pred.apply(lane.requests.peek())) {
+      return null;
+    }
+    lane.dequeued++;
+    return lane.requests.poll();
+  }
+
+  synchronized boolean isEmpty() {
+    return size() == 0;
+  }
+
+  synchronized int size() {
+    int size = 0;
+    for (Lane lane : lanes) {
+      size += lane.requests.size();
+    }
+    return size;
+  }
+
+  /** Number of requests waiting in the lane of <code>priority</code>. */
+  synchronized int depth(Priority priority) {
+    return lanes[priority.ordinal()].requests.size();
+  }
+
+  /** Largest number of requests that waited in the lane of <code>priority</code> at once. */
+  synchronized int maxDepth(Priority priority) {
+    return lanes[priority.ordinal()].maxDepth;
+  }
+
+  /** Number of requests taken from the lane of <code>priority</code>. */
+  synchronized long dequeued(Priority priority) {
+    return lanes[priority.ordinal()].dequeued;
+  }
+
+  private Lane next() {
+    long now = clock.now();
+    Lane best = null;
+    long bestRank = Long.MAX_VALUE;
+    for (int i = 0; i < lanes.length; i++) {
+      PendingRequest<?, ?> head = lanes[i].requests.peek();
+      if (head == null) {
+        continue;
+      }
+      long rank = i - (now - head.enqueuedAt) / AGING_MS;
+      // Lanes are visited from high to low priority, so ties go to the higher priority.
+      if (rank < bestRank) {
+        best = lanes[i];
+        bestRank = rank;
+      }
+    }
+    return best;
+  }
+
+  private static final class Lane {
+
+    final ArrayDeque<PendingRequest<?, ?>> requests = new ArrayDeque<>();
+    int maxDepth;
+    long dequeued;
+  }
+}
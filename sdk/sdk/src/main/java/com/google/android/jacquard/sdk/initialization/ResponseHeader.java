@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import androidx.annotation.Nullable;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Status;
+
+/**
+ * Id and status of an encoded {@link Response}, read straight from the wire format so a response
+ * can be matched with its request without decoding the message and its extensions.
+ */
+final class ResponseHeader {
+
+  private static final int WIRETYPE_VARINT = 0;
+  private static final int WIRETYPE_FIXED64 = 1;
+  private static final int WIRETYPE_LENGTH_DELIMITED = 2;
+  private static final int WIRETYPE_FIXED32 = 5;
+
+  final int id;
+  final Status status;
+
+  private ResponseHeader(int id, Status status) {
+    this.id = id;
+    this.status = status;
+  }
+
+  /**
+   * Reads the header of <code>packet</code>, or returns null if the packet misses one of the
+   * required id and status fields or is not a valid encoding.
+   */
+  @Nullable
+  static ResponseHeader peek(byte[] packet) {
+    Reader reader = new Reader(packet);
+    boolean hasId = false;
+    int id = 0;
+    boolean hasStatus = false;
+    int status = 0;
+    // Fields are written in field number order, so the scan normally stops after two tags.
+    while (reader.pos < packet.length && !(hasId && hasStatus)) {
+      long tag = reader.readVarint();
+      if (tag < 0) {
+        return null;
+      }
+      int fieldNumber = (int) (tag >>> 3);
+      int wireType = (int) (tag & 7);
+      if (wireType == WIRETYPE_VARINT
+          && (fieldNumber == Response.ID_FIELD_NUMBER
+          || fieldNumber == Response.STATUS_FIELD_NUMBER)) {
+        long value = reader.readVarint();
+        if (value < 0) {
+          return null;
+        }
+        if (fieldNumber == Response.ID_FIELD_NUMBER) {
+          id = (int) value;
+          hasId = true;
+        } else {
+          status = (int) value;
+          hasStatus = true;
+        }
+      } else if (!reader.skip(wireType)) {
+        return null;
+      }
+    }
+    if (!hasId || !hasStatus) {
+      return null;
+    }
+    Status parsedStatus = Status.forNumber(status);
+    return new ResponseHeader(id, parsedStatus != null ? parsedStatus : Status.ERROR_UNKNOWN);
+  }
+
+  /** Minimal cursor over the protobuf wire format. Reads return -1 on malformed input. */
+  private static final class Reader {
+
+    private final byte[] buffer;
+    private int pos;
+
+    Reader(byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    long readVarint() {
+      long result = 0;
+      for (int shift = 0; shift < 64 && pos < buffer.length; shift += 7) {
+        byte b = buffer[pos++];
+        result |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          // Negative int32 values are sign extended to ten bytes, keep the low 32 bits.
+          return result & 0xFFFFFFFFL;
+        }
+      }
+      return -1;
+    }
+
+    boolean skip(int wireType) {
+      switch (wireType) {
+        case WIRETYPE_VARINT:
+          return readVarint() >= 0;
+        case WIRETYPE_FIXED64:
+          return advance(8);
+        case WIRETYPE_LENGTH_DELIMITED:
+          long length = readVarint();
+          return length >= 0 && advance(length);
+        case WIRETYPE_FIXED32:
+          return advance(4);
+        default:
+          // Groups are not used by the protocol.
+          return false;
+      }
+    }
+
+    private boolean advance(long count) {
+      if (count > buffer.length - pos) {
+        return false;
+      }
+      pos += (int) count;
+      return true;
+    }
+  }
+}
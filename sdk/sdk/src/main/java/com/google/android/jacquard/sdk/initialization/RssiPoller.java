@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import com.google.android.jacquard.sdk.rx.Scheduler;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+
+/**
+ * Polls the rssi of a connection on a shared {@link Scheduler}, so connected tags do not need a
+ * thread each.
+ *
+ * <p>The interval doubles while readings stay within {@link #STABLE_DBM} of the previous one, up
+ * to {@link #MAX_INTERVAL_MS}, and halves when they move further, down to
+ * {@link #MIN_INTERVAL_MS}.
+ */
+class RssiPoller {
+
+  static final long MIN_INTERVAL_MS = 1000;
+  static final long MAX_INTERVAL_MS = 8000;
+  static final int STABLE_DBM = 3;
+
+  private final Scheduler scheduler;
+  private final Runnable read;
+  private long intervalMs = MIN_INTERVAL_MS;
+  private boolean hasRssi;
+  private int lastRssi;
+  /** Identifies the current run, polls scheduled by an earlier run are ignored. */
+  private long generation;
+  private Subscription nextPoll;
+
+  /**
+   * @param scheduler runs the polls, must not be blocked by <code>read</code>
+   * @param read starts an rssi read, the result is reported to {@link #onRssi(int)}
+   */
+  RssiPoller(Scheduler scheduler, Runnable read) {
+    this.scheduler = scheduler;
+    this.read = read;
+  }
+
+  /** Starts polling at the shortest interval, does nothing if already polling. */
+  synchronized void start() {
+    if (nextPoll != null) {
+      return;
+    }
+    generation++;
+    intervalMs = MIN_INTERVAL_MS;
+    hasRssi = false;
+    schedule();
+  }
+
+  synchronized void stop() {
+    if (nextPoll == null) {
+      return;
+    }
+    generation++;
+    nextPoll.unsubscribe();
+    nextPoll = null;
+  }
+
+  synchronized boolean isPolling() {
+    return nextPoll != null;
+  }
+
+  /** Adapts the interval of the following polls to the change since the previous reading. */
+  synchronized void onRssi(int rssi) {
+    if (hasRssi) {
+      intervalMs = Math.abs(rssi - lastRssi) <= STABLE_DBM
+          ? Math.min(MAX_INTERVAL_MS, intervalMs * 2)
+          : Math.max(MIN_INTERVAL_MS, intervalMs / 2);
+    }
+    hasRssi = true;
+    lastRssi = rssi;
+  }
+
+  synchronized long getIntervalMs() {
+    return intervalMs;
+  }
+
+  private void schedule() {
+    long scheduled = generation;
+    nextPoll = scheduler.schedule(() -> poll(scheduled), intervalMs);
+  }
+
+  private void poll(long scheduled) {
+    synchronized (this) {
+      if (scheduled != generation) {
+        return;
+      }
+      schedule();
+    }
+    read.run();
+  }
+}
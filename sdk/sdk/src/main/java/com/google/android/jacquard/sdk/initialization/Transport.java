@@ -18,9 +18,12 @@ package com.google.android.jacquard.sdk.initialization;
 import android.bluetooth.BluetoothGatt;
 import androidx.core.util.Pair;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
 import com.google.android.jacquard.sdk.model.CharacteristicUpdate;
 import com.google.android.jacquard.sdk.model.Peripheral.WriteType;
 import com.google.android.jacquard.sdk.rx.Signal;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 
 /** Class for managing request and notification flowing in and out of the tag. */
 public interface Transport {
@@ -30,6 +33,9 @@ public interface Transport {
    */
   int DEFAULT_TIMEOUT = 8000; // 8 seconds
 
+  /** Default number of requests waiting for a response at the same time. */
+  int DEFAULT_WINDOW_SIZE = 1;
+
   /** Returns the identifier for the peripheral. */
   String getPeripheralIdentifier();
 
@@ -37,7 +43,13 @@ public interface Transport {
   String getDefaultDisplayName();
 
   /** Returns a Signal emitting notification from the peripheral. */
-  Signal<byte[]> getNotificationSignal();
+  Signal<Notification> getNotificationSignal();
+
+  /**
+   * Returns a Signal emitting the notifications from the peripheral that carry
+   * <code>extension</code>. Other notifications cost its observers nothing.
+   */
+  Signal<Notification> getNotificationSignal(GeneratedExtension<Notification, ?> extension);
 
   /** Signal emitting when values are written to the peripheral. */
   Signal<CharacteristicUpdate> getValueWrittenSignal();
@@ -59,9 +71,37 @@ public interface Transport {
    */
   void characteristicUpdated(CharacteristicUpdate characteristicUpdate);
 
-  /** Returns pending requests count. */
+  /** Returns pending requests count, including the requests waiting for a response. */
   int getPendingRequestSize();
 
+  /** Returns the number of requests waiting to be written in the lane of <code>priority</code>. */
+  int getQueueDepth(Priority priority);
+
+  /** Returns the largest number of requests that waited in the lane of <code>priority</code>. */
+  int getMaxQueueDepth(Priority priority);
+
+  /**
+   * Writes fragments on the raw data channel without waiting for a response from the tag. At most
+   * a few fragments are handed to the stack before it confirms them, and writes go back to write
+   * with response for a while when the stack reports congestion. Off by default.
+   *
+   * @param enabled true to write raw data without response.
+   */
+  void setRawWriteWithoutResponse(boolean enabled);
+
+  /** Returns the counters and latency histograms of this connection. */
+  TransportMetrics getMetrics();
+
+  /**
+   * Sets how many requests may wait for a response at the same time. Responses are matched to
+   * requests by id, so they may arrive in any order. Defaults to {@link #DEFAULT_WINDOW_SIZE},
+   * which sends one request per round trip.
+   *
+   * @param windowSize the number of outstanding requests, at least 1.
+   * @throws IllegalArgumentException if <code>windowSize</code> is less than 1.
+   */
+  void setWindowSize(int windowSize);
+
   /**
    * This function will send a connection parameter update request to the remote device.
    *
@@ -72,6 +112,20 @@ public interface Transport {
    */
   void requestConnectionPriority(int priority);
 
+  /**
+   * Asks the peripheral for a larger ATT MTU. The outcome is reported through
+   * {@link #onMtuChanged(int)}.
+   *
+   * @param mtu the mtu to request.
+   */
+  void requestMtu(int mtu);
+
+  /**
+   * Notify the negotiated ATT MTU so that outgoing fragments use the larger size.
+   * @param mtu the mtu agreed on by the phone and the ujt.
+   */
+  void onMtuChanged(int mtu);
+
   /**
    * Notify the requested rssi value for the ujt.
    * @param rssiValue the signal strength from the ujt.
@@ -91,7 +145,7 @@ public interface Transport {
    *
    * @param request the request to send to the peripheral
    * @param writeType the {@link WriteType}.
-   * @return a Signal emitting a single response
+   * @return a Signal emitting the encoded response, or an error if its status is a failure
    */
   <ProtoRequest extends ProtoCommandRequest<?>>
       Signal<byte[]> enqueue(ProtoRequest request, WriteType writeType, int retries);
@@ -102,7 +156,7 @@ public interface Transport {
    * @param request the request to send to the peripheral
    * @param writeType the {@link WriteType}.
    * @param timeout duration in milliseconds
-   * @return a Signal emitting a single response
+   * @return a Signal emitting the encoded response, or an error if its status is a failure
    */
   <ProtoRequest extends ProtoCommandRequest<?>> Signal<byte[]> enqueue(
       ProtoRequest request, WriteType writeType, int retries, long timeout);
@@ -15,50 +15,83 @@
  */
 package com.google.android.jacquard.sdk.initialization;
 
+import static com.google.android.jacquard.sdk.log.LogLevel.DEBUG;
+
+import androidx.annotation.VisibleForTesting;
 import androidx.core.util.Pair;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
-import com.google.android.jacquard.sdk.connection.Result;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics.Channel;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.CharacteristicUpdate;
 import com.google.android.jacquard.sdk.model.Peripheral;
 import com.google.android.jacquard.sdk.model.Peripheral.WriteType;
+import com.google.android.jacquard.sdk.model.ProtocolSpec;
 import com.google.android.jacquard.sdk.pairing.RequiredCharacteristics;
+import com.google.android.jacquard.sdk.rx.Scheduler;
+import com.google.android.jacquard.sdk.rx.Schedulers;
 import com.google.android.jacquard.sdk.rx.Signal;
 import com.google.android.jacquard.sdk.rx.Signal.Subscription;
 import com.google.android.jacquard.sdk.util.BluetoothSig;
 import com.google.android.jacquard.sdk.util.JQUtils;
 import com.google.atap.jacquard.protocol.JacquardProtocol.AttachedNotification;
-import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Queue;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeoutException;
 
 /** Concrete implementation of {@link Transport}. */
 class TransportImpl implements Transport {
 
-  private static final int RSSI_DURATION_MS = 1000;
-  private static final int RSSI_DELAY_MS = 1000;
+  /** Late rssi observers get a reading from the last two polls instead of waiting for the next. */
+  private static final long RSSI_REPLAY_WINDOW_MS = 2 * RssiPoller.MAX_INTERVAL_MS;
+  /** Raw fragments written without response that the stack has not confirmed yet. */
+  private static final int RAW_WRITE_CREDITS = 8;
+  /** How long raw writes wait for a response after the stack rejected a write. */
+  private static final long RAW_CONGESTION_BACKOFF_MS = 1000;
   private final String TAG;
   private final Signal<CharacteristicUpdate> valueWrittenSignal = Signal.create();
   private final Peripheral peripheral;
   private final RequiredCharacteristics characteristics;
   private final TransportState transportState;
-  private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
-  private final Signal<byte[]> commandResponses = Signal.create();
+  private final Scheduler timeoutScheduler;
+  private final RequestLanes pendingRequests;
+  private final TransportMetrics metrics;
+  /** Requests waiting for a response, keyed by request id. Guarded by {@code this}. */
+  private final Map<Integer, PendingRequest<?, ?>> inFlight = new LinkedHashMap<>();
   private final Signal<Byte> ackSignal = Signal.create();
-  private byte[] pendingAttachNotification;
-  private boolean shouldCacheAttachNotification = true;
-  final Signal<byte[]> notificationSignal = Signal.create();
+  private volatile Notification pendingAttachNotification;
+  private volatile boolean shouldCacheAttachNotification = true;
+  private final Signal<Notification> notificationSignal = Signal.create();
+  /**
+   * One signal per extension that was subscribed to, so that a notification only reaches the
+   * observers of the extensions it carries. Copied on write, it is read for every notification.
+   */
+  private volatile ExtensionSignal[] extensionSignals = new ExtensionSignal[0];
   final Signal<Pair<Integer, byte[]>> dataTransport = Signal.create();
   final Signal<byte[]> rawData = Signal.create();
   private Signal<Integer> valueRssiSignal;
-  private Timer rssiTimer;
-  private ProtoCommandRequest inFlight;
+  private Signal<Integer> replayedRssiSignal;
+  private final RssiPoller rssiPoller;
+  private volatile int windowSize = DEFAULT_WINDOW_SIZE;
+  /** Raw fragments waiting to be written, in order. Guards the raw write fields below. */
+  private final ArrayDeque<byte[]> rawBacklog = new ArrayDeque<>();
+  private boolean rawWithoutResponse;
+  private boolean rawDraining;
+  /** Raw writes handed to the peripheral that were not confirmed yet, in the order written. */
+  private final ArrayDeque<RawWrite> rawOutstanding = new ArrayDeque<>();
+  /** Outstanding raw writes without response, each holds one of the credits. */
+  private int rawUnconfirmed;
+  private long rawCongestedUntil;
+  private Subscription rejectedWritesSubscription;
 
   /**
    * Constructs a new TransportImpl class.
@@ -69,9 +102,24 @@ class TransportImpl implements Transport {
    */
   public TransportImpl(Peripheral peripheral, RequiredCharacteristics characteristics,
       TransportState transportState) {
+    this(peripheral, characteristics, transportState, Schedulers.timer());
+  }
+
+  /**
+   * Constructs a new TransportImpl class that runs request timeouts and rssi polls on the provided
+   * scheduler.
+   */
+  @VisibleForTesting
+  TransportImpl(Peripheral peripheral, RequiredCharacteristics characteristics,
+      TransportState transportState, Scheduler timeoutScheduler) {
     this.peripheral = peripheral;
     this.characteristics = characteristics;
     this.transportState = transportState;
+    this.timeoutScheduler = timeoutScheduler;
+    pendingRequests = new RequestLanes(timeoutScheduler);
+    rssiPoller = new RssiPoller(timeoutScheduler, peripheral::requestRssi);
+    metrics = new TransportMetrics(timeoutScheduler, transportState.commandFragmenter,
+        transportState.notificationFragmenter, transportState.dataFragmenter);
     TAG = TransportImpl.class.getSimpleName() + "[" + peripheral.getDefaultDisplayName() + "]";
   }
 
@@ -86,24 +134,36 @@ class TransportImpl implements Transport {
   }
 
   @Override
-  public Signal<byte[]> getNotificationSignal() {
+  public Signal<Notification> getNotificationSignal() {
     return Signal.create(signal -> {
       sendPendingNotification(signal);
       return notificationSignal.forward(signal);
     });
   }
 
+  @Override
+  public Signal<Notification> getNotificationSignal(
+      GeneratedExtension<Notification, ?> extension) {
+    Signal<Notification> extensionSignal = getExtensionSignal(extension);
+    return Signal.create(signal -> {
+      if (AttachedNotification.attached.equals(extension)) {
+        sendPendingNotification(signal);
+      }
+      return extensionSignal.forward(signal);
+    });
+  }
+
   @Override
   public <ProtoRequest extends ProtoCommandRequest<?>> Signal<byte[]> enqueue(
       ProtoRequest request, WriteType writeType, int retries) {
-    PrintLogger.d(TAG, "enqueue: " + request);
+    PrintLogger.d(TAG, "enqueue: %s", request);
     return enqueue(request, writeType, retries, DEFAULT_TIMEOUT);
   }
 
   @Override
   public <ProtoRequest extends ProtoCommandRequest<?>> Signal<byte[]> enqueue(
       ProtoRequest request, WriteType writeType, int retries, long timeout) {
-    PrintLogger.d(TAG, "enqueue: " + request);
+    PrintLogger.d(TAG, "enqueue: %s", request);
     return Signal.create(
         signal -> {
           pendingRequests.add(new PendingRequest<>(request, writeType, retries, signal, timeout));
@@ -116,33 +176,84 @@ class TransportImpl implements Transport {
   public void characteristicUpdated(CharacteristicUpdate characteristicUpdate) {
     UUID uuid = characteristicUpdate.characteristic().getUuid();
     byte[] data = characteristicUpdate.characteristic().getValue();
-    PrintLogger.d(TAG, "characteristicUpdated # " + uuid);
+    PrintLogger.d(TAG, "characteristicUpdated # %s", uuid);
     data = data == null ? new byte[0] : data; // Data may be null
     if (BluetoothSig.RESPONSE_UUID.equals(uuid)) {
+      metrics.recordIn(Channel.RESPONSE, data.length);
       onResponseUpdate(data);
       return;
     }
     if (BluetoothSig.NOTIFY_UUID.equals(uuid)) {
+      metrics.recordIn(Channel.NOTIFICATION, data.length);
       onNotifyUpdate(data);
       return;
     }
     if(BluetoothSig.RAW_UUID.equals(uuid)) {
       PrintLogger.d(TAG, "Received data on raw chars");
+      metrics.recordIn(Channel.RAW, data.length);
       onDataReceived(data);
       return;
     }
-    PrintLogger.d(TAG, "Got unexpected notification:" + uuid);
+    PrintLogger.d(TAG, "Got unexpected notification:%s", uuid);
   }
 
   @Override
   public void valueWritten(CharacteristicUpdate characteristicUpdate) {
-    PrintLogger.d(TAG, "valueWritten for " + characteristicUpdate.characteristic().getUuid());
+    UUID uuid = characteristicUpdate.characteristic().getUuid();
+    PrintLogger.d(TAG, "valueWritten for %s", uuid);
+    if (BluetoothSig.RAW_UUID.equals(uuid)) {
+      synchronized (rawBacklog) {
+        // The ble queue runs one write at a time, so writes are confirmed in the order written.
+        RawWrite write = rawOutstanding.poll();
+        if (write != null && write.withoutResponse) {
+          rawUnconfirmed--;
+        }
+      }
+      drainRawBacklog();
+    }
     valueWrittenSignal.next(characteristicUpdate);
   }
 
   @Override
-  public int getPendingRequestSize() {
-    return pendingRequests.size();
+  public void setRawWriteWithoutResponse(boolean enabled) {
+    PrintLogger.d(TAG, "setRawWriteWithoutResponse: " + enabled);
+    synchronized (rawBacklog) {
+      rawWithoutResponse = enabled;
+      if (enabled && rejectedWritesSubscription == null) {
+        rejectedWritesSubscription = peripheral.getRejectedWrites().onNext(this::onRawWriteRejected);
+      }
+    }
+    drainRawBacklog();
+  }
+
+  @Override
+  public TransportMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public synchronized int getPendingRequestSize() {
+    return pendingRequests.size() + inFlight.size();
+  }
+
+  @Override
+  public int getQueueDepth(Priority priority) {
+    return pendingRequests.depth(priority);
+  }
+
+  @Override
+  public int getMaxQueueDepth(Priority priority) {
+    return pendingRequests.maxDepth(priority);
+  }
+
+  @Override
+  public void setWindowSize(int windowSize) {
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be at least 1: " + windowSize);
+    }
+    PrintLogger.d(TAG, "setWindowSize: " + windowSize);
+    this.windowSize = windowSize;
+    sendNextRequest();
   }
 
   @Override
@@ -155,12 +266,29 @@ class TransportImpl implements Transport {
     peripheral.requestConnectionPriority(priority);
   }
 
+  @Override
+  public void requestMtu(int mtu) {
+    peripheral.requestMtu(mtu);
+  }
+
+  @Override
+  public void onMtuChanged(int mtu) {
+    // Fragments were sized for the protocol default, never shrink below it.
+    if (mtu <= ProtocolSpec.VERSION_2.getMtuSize()) {
+      PrintLogger.d(TAG, "Keeping default mtu, negotiated mtu is " + mtu);
+      return;
+    }
+    PrintLogger.d(TAG, "Using negotiated mtu " + mtu);
+    transportState.setMtu(mtu);
+  }
+
   @Override
   public void onRSSIValueUpdated(int rssiValue) {
     if (valueRssiSignal.hasObservers()) {
+      rssiPoller.onRssi(rssiValue);
       valueRssiSignal.next(rssiValue);
     } else {
-      stopRSSITimer();
+      rssiPoller.stop();
     }
   }
 
@@ -168,9 +296,10 @@ class TransportImpl implements Transport {
   public Signal<Integer> fetchRSSIValue() {
     if (valueRssiSignal == null || valueRssiSignal.isComplete()) {
       valueRssiSignal = Signal.create();
+      replayedRssiSignal = valueRssiSignal.replay(1, RSSI_REPLAY_WINDOW_MS, timeoutScheduler);
     }
-    requestRssi();
-    return valueRssiSignal;
+    rssiPoller.start();
+    return replayedRssiSignal;
   }
 
   @Override
@@ -178,7 +307,7 @@ class TransportImpl implements Transport {
     if (valueRssiSignal != null) {
       valueRssiSignal.complete();
     }
-    stopRSSITimer();
+    rssiPoller.stop();
   }
 
   @Override
@@ -207,38 +336,95 @@ class TransportImpl implements Transport {
     if (partials == null) {
       return Signal.from(false);
     }
-    for (byte[] fragment : partials) {
-      peripheral.writeCharacteristic(characteristics.rawCharacteristic,
-              WriteType.WITH_RESPONSE, fragment);
-    }
+    writeRaw(partials);
     return Signal.from(true);
   }
 
-  private void stopRSSITimer() {
-    PrintLogger.d(TAG, "stopRSSITimer");
-    if (rssiTimer != null) {
-      PrintLogger.d(TAG, "Canceled RSSI timer.");
-      rssiTimer.cancel();
-      rssiTimer = null;
+  /** Queues fragments for the raw characteristic, they are written in order. */
+  private void writeRaw(List<byte[]> fragments) {
+    synchronized (rawBacklog) {
+      rawBacklog.addAll(fragments);
+    }
+    drainRawBacklog();
+  }
+
+  /**
+   * Writes queued raw fragments. Without response only while credits are left and the stack is
+   * not congested, with response otherwise. Only one thread drains at a time so that fragments keep
+   * their order, and no lock is held while writing since the ble queue may call back into
+   * {@link #onRawWriteRejected}.
+   */
+  private void drainRawBacklog() {
+    synchronized (rawBacklog) {
+      if (rawDraining) {
+        return;
+      }
+      rawDraining = true;
+    }
+    while (true) {
+      byte[] fragment;
+      WriteType writeType = WriteType.WITH_RESPONSE;
+      synchronized (rawBacklog) {
+        boolean withoutResponse =
+            rawWithoutResponse && timeoutScheduler.now() >= rawCongestedUntil;
+        if (rawBacklog.isEmpty() || (withoutResponse && rawUnconfirmed >= RAW_WRITE_CREDITS)) {
+          rawDraining = false;
+          return;
+        }
+        fragment = rawBacklog.poll();
+        rawOutstanding.add(new RawWrite(fragment, withoutResponse));
+        if (withoutResponse) {
+          writeType = WriteType.WITHOUT_RESPONSE;
+          rawUnconfirmed++;
+        }
+      }
+      peripheral.writeCharacteristic(characteristics.rawCharacteristic, writeType, fragment);
+      metrics.recordOut(Channel.RAW, fragment.length);
     }
   }
 
-  private void requestRssi() {
-    if (rssiTimer != null) {
-      PrintLogger.d(TAG, "Rssi timer is already running.");
+  /**
+   * The stack is congested, fall back to write with response. Called before the ble queue moves on
+   * from the rejected write, so the writes queued behind it are taken back and written again after
+   * it, with response, to keep the fragments in order.
+   */
+  private void onRawWriteRejected(Pair<UUID, byte[]> rejected) {
+    if (!BluetoothSig.RAW_UUID.equals(rejected.first)) {
       return;
     }
-    rssiTimer = new Timer();
-    rssiTimer.scheduleAtFixedRate(new TimerTask() {
-      @Override
-      public void run() {
-        peripheral.requestRssi();
+    PrintLogger.d(TAG, "Raw write rejected, writing with response for "
+        + RAW_CONGESTION_BACKOFF_MS + "ms");
+    List<byte[]> rewrites = new ArrayList<>();
+    rewrites.add(rejected.second);
+    rewrites.addAll(peripheral.cancelWrites(BluetoothSig.RAW_UUID));
+    synchronized (rawBacklog) {
+      rawCongestedUntil = timeoutScheduler.now() + RAW_CONGESTION_BACKOFF_MS;
+      for (RawWrite write : rawOutstanding) {
+        if (write.withoutResponse && containsFragment(rewrites, write.fragment)) {
+          write.withoutResponse = false;
+          rawUnconfirmed--;
+        }
+      }
+    }
+    for (byte[] fragment : rewrites) {
+      peripheral.writeCharacteristic(characteristics.rawCharacteristic, WriteType.WITH_RESPONSE,
+          fragment);
+      metrics.recordOut(Channel.RAW, fragment.length);
+    }
+    drainRawBacklog();
+  }
+
+  private static boolean containsFragment(List<byte[]> fragments, byte[] fragment) {
+    for (byte[] candidate : fragments) {
+      if (candidate == fragment) {
+        return true;
       }
-    }, RSSI_DELAY_MS, RSSI_DURATION_MS);
+    }
+    return false;
   }
 
   /** Emits the pending notification on signal. */
-  private void sendPendingNotification(Signal<byte[]> signal) {
+  private void sendPendingNotification(Signal<Notification> signal) {
     if (pendingAttachNotification == null) {
       return;
     }
@@ -248,110 +434,169 @@ class TransportImpl implements Transport {
     pendingAttachNotification = null;
   }
 
-  private synchronized void sendNextRequest() {
-    if (inFlight != null || pendingRequests.isEmpty()) {
-      return;
-    }
-    PendingRequest<?,?> pendingRequest = pendingRequests.element();
-    inFlight = pendingRequest.request;
-    sendRequest(pendingRequest).onError(error -> {
-      if (pendingRequests.isEmpty()) {
-        PrintLogger.d(TAG, "pendingRequests is empty");
-        return;
-      }
-      PendingRequest<?,?> request = pendingRequests.peek();
-      if (request.retries > 0) {
-        PrintLogger.d(TAG, "Retrying sending request");
-        request.retries--;
-        inFlight = null;
-        sendNextRequest();
-      } else {
-        PrintLogger.d(TAG, "Skipping request since we're not able to send it");
-        request.response.error(error);
-        iterateNextRequest();
+  private void sendNextRequest() {
+    List<PendingRequest<?, ?>> failed = new ArrayList<>();
+    List<Exception> errors = new ArrayList<>();
+    synchronized (this) {
+      while (inFlight.size() < windowSize) {
+        // Wait for the response that uses the same id, otherwise it can not be told apart.
+        PendingRequest<?, ?> pendingRequest =
+            pendingRequests.pollIf(request -> !inFlight.containsKey(request.request.getId()));
+        if (pendingRequest == null) {
+          break;
+        }
+        metrics.recordQueueWait(pendingRequest.request.priority(),
+            timeoutScheduler.now() - pendingRequest.enqueuedAt);
+        Exception error = sendRequest(pendingRequest);
+        if (error != null) {
+          failed.add(pendingRequest);
+          errors.add(error);
+        }
       }
-    });
+    }
+    for (int i = 0; i < failed.size(); i++) {
+      failed.get(i).response.error(errors.get(i));
+    }
   }
 
-  private Signal<byte[]> sendRequest(PendingRequest<?,?> pendingRequest) {
-    AtomicReference<Result> response = new AtomicReference<>();
-    return Signal.create(signal -> {
+  /**
+   * Starts the timeout of the request and writes it. Returns the error once all retries failed to
+   * write, {@code null} otherwise.
+   */
+  private Exception sendRequest(PendingRequest<?, ?> pendingRequest) {
+    int id = pendingRequest.request.getId();
+    while (true) {
+      boolean registered = false;
       try {
-        PrintLogger.d(TAG, "Sending Proto request: " + inFlight);
-        byte[] packet = inFlight.getRequest().toByteArray();
+        PrintLogger.d(TAG, "Sending Proto request: %s", pendingRequest.request);
+        Request request = (Request) pendingRequest.request.getRequest();
+        byte[] packet = request.toByteArray();
         List<byte[]> fragments = transportState.commandFragmenter.fragmentData(packet);
+        pendingRequest.opcode = request.getOpcode();
+        pendingRequest.sentAt = timeoutScheduler.now();
+        // Registered before writing, the response may be delivered while the fragments are written.
+        inFlight.put(id, pendingRequest);
+        pendingRequest.timeoutSubscription = timeoutScheduler
+            .schedule(() -> onRequestTimeout(pendingRequest), pendingRequest.timeout);
+        registered = true;
         for (byte[] fragment : fragments) {
           peripheral.writeCharacteristic(characteristics.commandCharacteristic,
               pendingRequest.writeType, fragment);
+          metrics.recordOut(Channel.COMMAND, fragment.length);
         }
-        signal.next(1);
-        signal.complete();
+        return null;
       } catch (Exception e) {
         PrintLogger.e(TAG, "Sending request failed", e);
-        if (pendingRequest.retries > 0) {
-          PrintLogger.d(TAG, "Retrying sending request");
-          pendingRequest.retries--;
-          inFlight = null;
-          sendNextRequest();
-        } else {
+        if (registered) {
+          if (inFlight.get(id) != pendingRequest) {
+            PrintLogger.d(TAG, "Request " + id + " already answered");
+            return null;
+          }
+          inFlight.remove(id);
+          pendingRequest.timeoutSubscription.unsubscribe();
+        }
+        if (pendingRequest.retries <= 0) {
           PrintLogger.d(TAG, "Skipping request since we're not able to send it");
-          signal.error(e);
+          return e;
         }
+        PrintLogger.d(TAG, "Retrying sending request");
+        metrics.recordRetry();
+        pendingRequest.retries--;
       }
-      return new Subscription();
-    }).flatMap(ignore -> commandResponses.filter(respPacket -> {
-      // this is needed here as responseErrorCheck() sets respId in pendingRequest.request
-      Result result = inFlight.responseErrorCheck(respPacket);
-      response.set(result);
-      if (inFlight != null) {
-        // This is a rare condition where data from ujt can not be parsed.
-        // The request will fail as the pendingRequest.request.responseId() is not found.
-        if (result.getType() == Result.Type.FAILURE
-            && result.failure() instanceof InvalidProtocolBufferException) {
-          PrintLogger
-              .d(TAG, "Response id not found due to parsing error.");
-        }
-        PrintLogger
-            .d(TAG, "response id: " + pendingRequest.request.responseId() + " inFlight id: " + inFlight.getId());
-        return pendingRequest.request.responseId() == inFlight.getId();
+    }
+  }
+
+  // Timeouts are delivered on the timer thread, so this races with responses arriving.
+  private void onRequestTimeout(PendingRequest<?, ?> pendingRequest) {
+    Exception error = null;
+    synchronized (this) {
+      int id = pendingRequest.request.getId();
+      if (inFlight.get(id) != pendingRequest) {
+        PrintLogger.d(TAG, "Request " + id + " already answered");
+        return;
+      }
+      inFlight.remove(id);
+      metrics.recordTimeout();
+      if (pendingRequest.retries > 0) {
+        PrintLogger.d(TAG, "Retrying sending request " + id);
+        metrics.recordRetry();
+        pendingRequest.retries--;
+        error = sendRequest(pendingRequest);
       } else {
-        PrintLogger.d(TAG, "inFlight object is null.");
-        return false;
+        PrintLogger.d(TAG, "Skipping request " + id + " since the tag did not respond");
+        error = new TimeoutException(
+            String.format("Timeout after %dms for request %d", pendingRequest.timeout, id));
       }
-    }).first().tap(respPacket -> {
-        PrintLogger.d(TAG, "response: " + response.get());
-        if (response.get().getType() == Result.Type.FAILURE) {
-          pendingRequest.response.error(response.get().failure());
-        } else {
-          pendingRequest.response.next(respPacket);
-        }
-      iterateNextRequest();
-    }).timeout(pendingRequest.timeout)) // Send the time out if ujt not responded back with in 8 seconds.
-    .tapError(Throwable::printStackTrace);
+    }
+    if (error != null) {
+      pendingRequest.response.error(error);
+    }
+    sendNextRequest();
   }
 
+  /**
+   * Hands the response to the request waiting for its id. Only the id and status are read here,
+   * the requester decodes the response.
+   */
   private void deliverPacket(byte[] packet) {
     PrintLogger.d(TAG, "deliverPacket");
-    if (inFlight != null) {
-      commandResponses.next(packet);
+    ResponseHeader header = ResponseHeader.peek(packet);
+    if (header == null) {
+      // This is a rare condition where data from ujt can not be parsed. The request will time out.
+      PrintLogger.d(TAG, "Response id not found due to parsing error.");
+      return;
+    }
+    PendingRequest<?, ?> pendingRequest;
+    synchronized (this) {
+      pendingRequest = inFlight.remove(header.id);
+      if (pendingRequest == null) {
+        PrintLogger.d(
+            TAG, "deliverPacket: This can happen if the tag re-sends a response, so silently drop");
+        return;
+      }
+      pendingRequest.timeoutSubscription.unsubscribe();
+    }
+    metrics.recordRoundTrip(pendingRequest.opcode, timeoutScheduler.now() - pendingRequest.sentAt);
+    PrintLogger.d(TAG, "response id: %s status: %s", header.id, header.status);
+    Exception error = pendingRequest.request.statusError(header.status);
+    if (error != null) {
+      pendingRequest.response.error(error);
     } else {
-      PrintLogger.d(
-          TAG, "deliverPacket: This can happen if the tag re-sends a response, so silently drop");
+      pendingRequest.response.next(packet);
     }
-  }
-
-  private void iterateNextRequest(){
-    // pendingRequests.remove() will throw NPE if Queue is empty.
-    // Should never throw NPE in ideal case.
-    pendingRequests.remove();
-    inFlight = null;
     sendNextRequest();
   }
 
-  private void deliverNotification(byte[] packet) {
+  /** Parses the notification once and hands it to the observers of the extensions it carries. */
+  void deliverNotification(byte[] packet) {
     PrintLogger.d(TAG, "deliverNotification");
-    cacheAttachNotification(packet);
-    notificationSignal.next(packet);
+    Notification notification = JQUtils.getNotification(packet);
+    if (notification == null) {
+      return;
+    }
+    metrics.recordNotification(notification.getOpcode());
+    cacheAttachNotification(notification);
+    notificationSignal.next(notification);
+    for (ExtensionSignal extensionSignal : extensionSignals) {
+      if (extensionSignal.signal.hasObservers()
+          && notification.hasExtension(extensionSignal.extension)) {
+        extensionSignal.signal.next(notification);
+      }
+    }
+  }
+
+  private synchronized Signal<Notification> getExtensionSignal(
+      GeneratedExtension<Notification, ?> extension) {
+    for (ExtensionSignal extensionSignal : extensionSignals) {
+      if (extensionSignal.extension.equals(extension)) {
+        return extensionSignal.signal;
+      }
+    }
+    ExtensionSignal added = new ExtensionSignal(extension);
+    ExtensionSignal[] grown = Arrays.copyOf(extensionSignals, extensionSignals.length + 1);
+    grown[grown.length - 1] = added;
+    extensionSignals = grown;
+    return added.signal;
   }
 
   private void onResponseUpdate(byte[] data) {
@@ -384,7 +629,9 @@ class TransportImpl implements Transport {
    * Handle Data Packet received over Raw chars.
    */
   private void onDataReceived(byte[] data) {
-    PrintLogger.d(TAG, "Data Received on raw chars # " + data.length + Arrays.toString(data));
+    if (PrintLogger.isLoggable(DEBUG, TAG)) {
+      PrintLogger.d(TAG, "Data Received on raw chars # " + data.length + Arrays.toString(data));
+    }
     if (data.length == 0) {
       PrintLogger.e(TAG, "onDataUpdate with empty data");
       return;
@@ -397,51 +644,73 @@ class TransportImpl implements Transport {
       PrintLogger.d(TAG, "There is no observer for DataTransport & AckSignal. Ignoring #");
       return;
     }
-    byte[] packet = transportState.dataFragmenter.decodeFragment(data);
+    // Read straight from the fragmenter's buffer, only the payload of a data packet is copied.
+    ByteBuffer packet = transportState.dataFragmenter.decodeFragment(data, 0, data.length);
     if (packet == null) {
       return;
     }
-    PrintLogger.d(TAG, "Fragmented Packet # " + packet.length + Arrays.toString(packet));
+    if (PrintLogger.isLoggable(DEBUG, TAG)) {
+      PrintLogger.d(TAG, "Fragmented Packet # " + packet.remaining());
+    }
+    byte sequenceNumber = packet.get(0);
     if (isAckPacket(packet)) {
-      PrintLogger.d(TAG, "Ack received for packet number # " + packet[0]);
-      ackSignal.next(packet[0]);
+      PrintLogger.d(TAG, "Ack received for packet number # %d", sequenceNumber);
+      ackSignal.next(sequenceNumber);
     } else if (isDataPacket(packet)) {
-      byte[] dataReceived = new byte[packet.length - 1];
-      System.arraycopy(packet, 1, dataReceived, 0, packet.length - 1);
+      byte[] dataReceived = new byte[packet.remaining() - 1];
+      packet.position(1);
+      packet.get(dataReceived);
       PrintLogger.d(TAG, "Data packet received.");
-      dataTransport.next(Pair.create((int) packet[0], dataReceived));
-      ackDataPacket(packet[0]);
+      dataTransport.next(Pair.create((int) sequenceNumber, dataReceived));
+      ackDataPacket(sequenceNumber);
     }
   }
 
-  private boolean isAckPacket(byte[] packet) {
-    return packet!= null && packet.length == 2 && packet[1] == (byte) 'A';
+  private boolean isAckPacket(ByteBuffer packet) {
+    return packet.remaining() == 2 && packet.get(1) == (byte) 'A';
   }
 
-  private boolean isDataPacket(byte[] packet) {
-    return packet!= null && packet.length != 2 && packet[1] != (byte) 'A';
+  private boolean isDataPacket(ByteBuffer packet) {
+    return packet.remaining() != 2 && packet.get(1) != (byte) 'A';
   }
 
   private void ackDataPacket(byte sequenceNumber) {
     byte[] ack = new byte[]{sequenceNumber, (byte) 'A'};
     List<byte[]> fragments = transportState.dataFragmenter.fragmentData(ack);
-    for (byte[] fragment : fragments) {
-      PrintLogger.d(TAG,
-          "Sending ACK # for Sequence no # " + sequenceNumber + " # " + Arrays.toString(fragment));
-      peripheral.writeCharacteristic(characteristics.rawCharacteristic,
-          WriteType.WITH_RESPONSE, fragment);
-    }
+    PrintLogger.d(TAG, "Sending ACK # for Sequence no # %d", sequenceNumber);
+    writeRaw(fragments);
   }
 
   // Attach notification are emitted immediately after connecting so to avoid loosing the
   // notification we cache the notification and emit when subscribing to notifications.
   // TODO: Need to move cacheAttachNotification logic into ConnectedJacquardTagImpl class.
-  private void cacheAttachNotification(byte[] packet) {
+  private void cacheAttachNotification(Notification notification) {
     if (!shouldCacheAttachNotification
-        || JQUtils.getNotification(packet) == null
-        || !JQUtils.getNotification(packet).hasExtension(AttachedNotification.attached)) {
+        || !notification.hasExtension(AttachedNotification.attached)) {
       return;
     }
-    pendingAttachNotification = packet;
+    pendingAttachNotification = notification;
+  }
+
+  private static final class ExtensionSignal {
+
+    final GeneratedExtension<Notification, ?> extension;
+    final Signal<Notification> signal = Signal.create();
+
+    ExtensionSignal(GeneratedExtension<Notification, ?> extension) {
+      this.extension = extension;
+    }
+  }
+
+  /** A raw fragment handed to the peripheral, guarded by {@code rawBacklog}. */
+  private static final class RawWrite {
+
+    final byte[] fragment;
+    boolean withoutResponse;
+
+    RawWrite(byte[] fragment, boolean withoutResponse) {
+      this.fragment = fragment;
+      this.withoutResponse = withoutResponse;
+    }
   }
 }
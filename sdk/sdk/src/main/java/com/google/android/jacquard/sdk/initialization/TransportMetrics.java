@@ -0,0 +1,403 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
+import com.google.android.jacquard.sdk.log.PrintLogger;
+import com.google.android.jacquard.sdk.rx.Scheduler;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import com.google.android.jacquard.sdk.util.Fragmenter;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and latency histograms for one tag connection.
+ *
+ * <p>Recording only updates atomics, so it never blocks the transport. A {@link Snapshot} reads
+ * every counter once; counters that are updated while the snapshot is taken may be off by the
+ * values recorded in between.
+ */
+public final class TransportMetrics {
+
+  /** The characteristic data is written to or received from. */
+  public enum Channel {
+    /** Requests written to the tag. */
+    COMMAND,
+    /** Responses to requests. */
+    RESPONSE,
+    /** Notifications sent by the tag. */
+    NOTIFICATION,
+    /** The raw data channel, in both directions. */
+    RAW
+  }
+
+  private static final String TAG = TransportMetrics.class.getSimpleName();
+  private static final Channel[] CHANNELS = Channel.values();
+  private static final Priority[] PRIORITIES = Priority.values();
+
+  private final Scheduler clock;
+  private final Fragmenter[] fragmenters;
+  private final long startedAt;
+  private final ConcurrentMap<Opcode, Histogram> roundTrips = new ConcurrentHashMap<>();
+  private final Histogram[] queueWaits = new Histogram[PRIORITIES.length];
+  private final AtomicLong retries = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLongArray fragmentsOut = new AtomicLongArray(CHANNELS.length);
+  private final AtomicLongArray bytesOut = new AtomicLongArray(CHANNELS.length);
+  private final AtomicLongArray fragmentsIn = new AtomicLongArray(CHANNELS.length);
+  private final AtomicLongArray bytesIn = new AtomicLongArray(CHANNELS.length);
+  private final ConcurrentMap<Opcode, AtomicLong> notifications = new ConcurrentHashMap<>();
+
+  TransportMetrics(Scheduler clock, Fragmenter... fragmenters) {
+    this.clock = clock;
+    this.fragmenters = fragmenters;
+    startedAt = clock.now();
+    for (int i = 0; i < queueWaits.length; i++) {
+      queueWaits[i] = new Histogram();
+    }
+  }
+
+  /** Returns the current value of every counter. */
+  @NonNull
+  public Snapshot snapshot() {
+    return new Snapshot(this);
+  }
+
+  /**
+   * Logs a snapshot every <code>periodMs</code> milliseconds until the returned subscription is
+   * unsubscribed.
+   */
+  @NonNull
+  public Subscription logPeriodically(long periodMs) {
+    if (periodMs <= 0) {
+      throw new IllegalArgumentException("periodMs must be positive: " + periodMs);
+    }
+    PeriodicLog log = new PeriodicLog(periodMs);
+    log.schedule();
+    return log;
+  }
+
+  void recordRoundTrip(Opcode opcode, long durationMs) {
+    Histogram histogram = roundTrips.get(opcode);
+    if (histogram == null) {
+      Histogram created = new Histogram();
+      histogram = roundTrips.putIfAbsent(opcode, created);
+      if (histogram == null) {
+        histogram = created;
+      }
+    }
+    histogram.record(durationMs);
+  }
+
+  void recordQueueWait(Priority priority, long durationMs) {
+    queueWaits[priority.ordinal()].record(durationMs);
+  }
+
+  void recordRetry() {
+    retries.incrementAndGet();
+  }
+
+  void recordTimeout() {
+    timeouts.incrementAndGet();
+  }
+
+  void recordOut(Channel channel, int bytes) {
+    fragmentsOut.incrementAndGet(channel.ordinal());
+    bytesOut.addAndGet(channel.ordinal(), bytes);
+  }
+
+  void recordIn(Channel channel, int bytes) {
+    fragmentsIn.incrementAndGet(channel.ordinal());
+    bytesIn.addAndGet(channel.ordinal(), bytes);
+  }
+
+  void recordNotification(Opcode opcode) {
+    AtomicLong count = notifications.get(opcode);
+    if (count == null) {
+      AtomicLong created = new AtomicLong();
+      count = notifications.putIfAbsent(opcode, created);
+      if (count == null) {
+        count = created;
+      }
+    }
+    count.incrementAndGet();
+  }
+
+  /** Immutable copy of the metrics of a connection. */
+  public static final class Snapshot {
+
+    private final long elapsedMs;
+    private final Map<Opcode, HistogramSnapshot> roundTrips;
+    private final Map<Priority, HistogramSnapshot> queueWaits;
+    private final long retries;
+    private final long timeouts;
+    private final long[] fragmentsOut = new long[CHANNELS.length];
+    private final long[] bytesOut = new long[CHANNELS.length];
+    private final long[] fragmentsIn = new long[CHANNELS.length];
+    private final long[] bytesIn = new long[CHANNELS.length];
+    private final long reassemblyFailures;
+    private final Map<Opcode, Long> notifications;
+
+    private Snapshot(TransportMetrics metrics) {
+      elapsedMs = metrics.clock.now() - metrics.startedAt;
+      Map<Opcode, HistogramSnapshot> roundTrips = new EnumMap<>(Opcode.class);
+      for (Map.Entry<Opcode, Histogram> entry : metrics.roundTrips.entrySet()) {
+        roundTrips.put(entry.getKey(), entry.getValue().snapshot());
+      }
+      this.roundTrips = Collections.unmodifiableMap(roundTrips);
+      Map<Priority, HistogramSnapshot> queueWaits = new EnumMap<>(Priority.class);
+      for (Priority priority : PRIORITIES) {
+        queueWaits.put(priority, metrics.queueWaits[priority.ordinal()].snapshot());
+      }
+      this.queueWaits = Collections.unmodifiableMap(queueWaits);
+      retries = metrics.retries.get();
+      timeouts = metrics.timeouts.get();
+      for (int i = 0; i < CHANNELS.length; i++) {
+        fragmentsOut[i] = metrics.fragmentsOut.get(i);
+        bytesOut[i] = metrics.bytesOut.get(i);
+        fragmentsIn[i] = metrics.fragmentsIn.get(i);
+        bytesIn[i] = metrics.bytesIn.get(i);
+      }
+      long failures = 0;
+      for (Fragmenter fragmenter : metrics.fragmenters) {
+        failures += fragmenter.getReassemblyFailures();
+      }
+      reassemblyFailures = failures;
+      Map<Opcode, Long> notifications = new EnumMap<>(Opcode.class);
+      for (Map.Entry<Opcode, AtomicLong> entry : metrics.notifications.entrySet()) {
+        notifications.put(entry.getKey(), entry.getValue().get());
+      }
+      this.notifications = Collections.unmodifiableMap(notifications);
+    }
+
+    /** Milliseconds since the connection was set up. */
+    public long getElapsedMs() {
+      return elapsedMs;
+    }
+
+    /** Time from writing a request to receiving its response, by request opcode. */
+    @NonNull
+    public Map<Opcode, HistogramSnapshot> getRoundTrips() {
+      return roundTrips;
+    }
+
+    /** Time requests waited in their lane before they were written. */
+    @NonNull
+    public Map<Priority, HistogramSnapshot> getQueueWaits() {
+      return queueWaits;
+    }
+
+    /** Number of times a request was written again after it failed or timed out. */
+    public long getRetries() {
+      return retries;
+    }
+
+    /** Number of times the tag did not respond to a request in time. */
+    public long getTimeouts() {
+      return timeouts;
+    }
+
+    public long getFragmentsOut(@NonNull Channel channel) {
+      return fragmentsOut[channel.ordinal()];
+    }
+
+    public long getBytesOut(@NonNull Channel channel) {
+      return bytesOut[channel.ordinal()];
+    }
+
+    public long getFragmentsIn(@NonNull Channel channel) {
+      return fragmentsIn[channel.ordinal()];
+    }
+
+    public long getBytesIn(@NonNull Channel channel) {
+      return bytesIn[channel.ordinal()];
+    }
+
+    /** Number of received messages dropped because their fragments did not add up. */
+    public long getReassemblyFailures() {
+      return reassemblyFailures;
+    }
+
+    /**
+     * Number of notifications received, by opcode. The opcode identifies the extension the
+     * notification carries.
+     */
+    @NonNull
+    public Map<Opcode, Long> getNotifications() {
+      return notifications;
+    }
+
+    /** Average number of notifications per second with <code>opcode</code>. */
+    public double getNotificationRate(@NonNull Opcode opcode) {
+      Long count = notifications.get(opcode);
+      if (count == null || elapsedMs <= 0) {
+        return 0;
+      }
+      return count * 1000.0 / elapsedMs;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder("TransportMetrics{elapsedMs=").append(elapsedMs)
+          .append(", retries=").append(retries)
+          .append(", timeouts=").append(timeouts)
+          .append(", reassemblyFailures=").append(reassemblyFailures);
+      for (Channel channel : CHANNELS) {
+        int i = channel.ordinal();
+        builder.append(", ").append(channel)
+            .append("={out=").append(fragmentsOut[i]).append('/').append(bytesOut[i]).append('B')
+            .append(", in=").append(fragmentsIn[i]).append('/').append(bytesIn[i]).append("B}");
+      }
+      builder.append(", queueWaits=").append(queueWaits)
+          .append(", roundTrips=").append(roundTrips)
+          .append(", notifications=").append(notifications)
+          .append('}');
+      return builder.toString();
+    }
+  }
+
+  /** Immutable copy of a latency histogram with power of two buckets. */
+  public static final class HistogramSnapshot {
+
+    private final long[] buckets;
+    private final long count;
+    private final long sumMs;
+    private final long maxMs;
+
+    private HistogramSnapshot(long[] buckets, long count, long sumMs, long maxMs) {
+      this.buckets = buckets;
+      this.count = count;
+      this.sumMs = sumMs;
+      this.maxMs = maxMs;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getSumMs() {
+      return sumMs;
+    }
+
+    public long getMaxMs() {
+      return maxMs;
+    }
+
+    public double getMeanMs() {
+      return count == 0 ? 0 : (double) sumMs / count;
+    }
+
+    /**
+     * Returns an upper bound of the <code>percentile</code>, e.g. 0.99, in milliseconds. The bound
+     * is the end of the bucket the percentile falls in, capped at the largest recorded value.
+     */
+    public long getPercentileMs(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(percentile * count);
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          return Math.min(Histogram.upperBound(i), maxMs);
+        }
+      }
+      return maxMs;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      return "{n=" + count + ", mean=" + Math.round(getMeanMs()) + "ms, p50<="
+          + getPercentileMs(0.5) + "ms, p99<=" + getPercentileMs(0.99) + "ms, max=" + maxMs
+          + "ms}";
+    }
+  }
+
+  /** Latency histogram, bucket <code>i</code> holds values up to <code>2^i</code> ms. */
+  private static final class Histogram {
+
+    private static final int BUCKETS = 16;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sumMs = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    static long upperBound(int bucket) {
+      return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    void record(long durationMs) {
+      long value = Math.max(0, durationMs);
+      int bucket = value <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(value - 1);
+      buckets.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+      sumMs.addAndGet(value);
+      long max;
+      do {
+        max = maxMs.get();
+      } while (value > max && !maxMs.compareAndSet(max, value));
+    }
+
+    HistogramSnapshot snapshot() {
+      // The count is the sum of the buckets, so recording needs no separate counter.
+      long[] copy = new long[BUCKETS];
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        copy[i] = buckets.get(i);
+        total += copy[i];
+      }
+      return new HistogramSnapshot(copy, total, sumMs.get(), maxMs.get());
+    }
+  }
+
+  /** Reschedules itself on the clock until unsubscribed. */
+  private final class PeriodicLog extends Subscription {
+
+    private final long periodMs;
+    private volatile Subscription next;
+
+    PeriodicLog(long periodMs) {
+      this.periodMs = periodMs;
+    }
+
+    void schedule() {
+      next = clock.schedule(() -> {
+        if (isUnsubscribed()) {
+          return;
+        }
+        PrintLogger.i(TAG, snapshot().toString());
+        schedule();
+      }, periodMs);
+    }
+
+    @Override
+    protected void onUnsubscribe() {
+      Subscription subscription = next;
+      if (subscription != null) {
+        subscription.unsubscribe();
+      }
+    }
+  }
+}
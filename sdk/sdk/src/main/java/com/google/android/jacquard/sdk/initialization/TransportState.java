@@ -31,6 +31,13 @@ class TransportState {
     this.dataFragmenter = dataFragmenter;
   }
 
+  /** Resizes the fragments of all three channels to the negotiated ATT MTU. */
+  void setMtu(int mtu) {
+    commandFragmenter.setMtu(mtu);
+    notificationFragmenter.setMtu(mtu);
+    dataFragmenter.setMtu(mtu);
+  }
+
   TransportState() {
     this(new Fragmenter("commandFragmenter",
             ProtocolSpec.VERSION_2.getMtuSize()),
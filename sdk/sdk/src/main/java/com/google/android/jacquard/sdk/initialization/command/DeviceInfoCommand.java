@@ -15,25 +15,17 @@
  */
 package com.google.android.jacquard.sdk.initialization.command;
 
-import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
 import com.google.android.jacquard.sdk.connection.Result;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
-import com.google.protobuf.InvalidProtocolBufferException;
 
 /** Command to send device info request to ujt. */
 public class DeviceInfoCommand extends ProtoCommandRequest<JacquardProtocol.Response> {
 
   @Override
-  public Result<JacquardProtocol.Response> parseResponse(byte[] protoResponse) {
-    try {
-      JacquardProtocol.Response resp =
-          JacquardProtocol.Response.parseFrom(protoResponse, JqExtensionRegistry.instance);
-      return Result.ofSuccess(resp);
-    } catch (InvalidProtocolBufferException e) {
-      return Result.ofFailure(e);
-    }
+  public Result<JacquardProtocol.Response> parseResponse(JacquardProtocol.Response response) {
+    return Result.ofSuccess(response);
   }
 
   @Override
@@ -133,4 +133,15 @@ public interface Logger {
    * @param ignoreText is the text to ignore.
    */
   void addToIgnoreList(String ignoreText);
+
+  /**
+   * Returns whether messages of <code>logLevel</code> from <code>tag</code> are printed. Callers
+   * check this before formatting a message, so it should be cheap. Defaults to true.
+   *
+   * @param logLevel priority level of the message
+   * @param tag      the source of a log message, the class or activity where the log call occurs
+   */
+  default boolean isLoggable(LogLevel logLevel, String tag) {
+    return true;
+  }
 }
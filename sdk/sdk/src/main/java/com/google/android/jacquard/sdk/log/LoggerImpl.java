@@ -53,6 +53,11 @@ class LoggerImpl implements Logger {
    */
   private final ImmutableList<LogLevel> logLevels;
 
+  /**
+   * {@link #logLevels} indexed by ordinal, so that filtered messages are dropped without locking.
+   */
+  private final boolean[] enabledLevels = new boolean[LogLevel.values().length];
+
   /**
    * Log file name.
    */
@@ -74,6 +79,9 @@ class LoggerImpl implements Logger {
    */
   LoggerImpl(@NonNull ImmutableList<LogLevel> logLevels, Context context) {
     this.logLevels = logLevels;
+    for (LogLevel logLevel : logLevels) {
+      enabledLevels[logLevel.ordinal()] = true;
+    }
     try {
       rotateLog(context, 0);
       File logFile = new File(context.getFilesDir(), LOG_FILE_NAME);
@@ -138,12 +146,17 @@ class LoggerImpl implements Logger {
     log(ERROR, tag, message + Log.getStackTraceString(t));
   }
 
+  @Override
+  public boolean isLoggable(LogLevel logLevel, String tag) {
+    return enabledLevels[logLevel.ordinal()];
+  }
+
   @Override
   public void log(LogLevel logLevel, String tag, String message) {
+    if (!enabledLevels[logLevel.ordinal()]) {
+      return;
+    }
     synchronized (m_lock) {
-      if (!logLevels.contains(logLevel)) {
-        return;
-      }
       if (shouldIgnore(message)) {
         // do not print the logs containing ignore texts.
         return;
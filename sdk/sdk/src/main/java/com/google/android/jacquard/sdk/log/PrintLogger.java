@@ -18,8 +18,10 @@
 package com.google.android.jacquard.sdk.log;
 
 import static com.google.android.jacquard.sdk.log.LogLevel.ASSERT;
+import static com.google.android.jacquard.sdk.log.LogLevel.DEBUG;
 import static com.google.android.jacquard.sdk.log.LogLevel.ERROR;
 import static com.google.android.jacquard.sdk.log.LogLevel.INFO;
+import static com.google.android.jacquard.sdk.log.LogLevel.VERBOSE;
 import static com.google.android.jacquard.sdk.log.LogLevel.WARNING;
 
 import android.content.Context;
@@ -29,6 +31,11 @@ import java.io.File;
 
 /**
  * A class which configures logger to print a log message to the console.
+ *
+ * <p>The overloads taking a format and arguments only format the message, using {@link
+ * String#format(String, Object...)}, when its level is printed. Code on the bluetooth data path
+ * should use them, or check {@link #isLoggable(LogLevel, String)}, instead of concatenating
+ * strings.
  */
 public class PrintLogger {
 
@@ -85,6 +92,16 @@ public class PrintLogger {
     logger.addToIgnoreList(text);
   }
 
+  /**
+   * Returns whether messages of <code>logLevel</code> from <code>tag</code> are printed.
+   *
+   * @param logLevel priority level of the message
+   * @param tag      the source of a log message, the class or activity where the log call occurs
+   */
+  public static boolean isLoggable(LogLevel logLevel, String tag) {
+    return logger.isLoggable(logLevel, tag);
+  }
+
   /**
    * Sends a {@link LogLevel#VERBOSE} log message.
    *
@@ -106,6 +123,33 @@ public class PrintLogger {
     logger.v(tag, message, t);
   }
 
+  /**
+   * Sends a {@link LogLevel#VERBOSE} log message, formatted only if verbose messages are printed.
+   *
+   * @param tag    the source of a log message, the class or activity where the log call occurs
+   * @param format the format of the message
+   * @param arg    the argument of the format
+   */
+  public static void v(String tag, String format, Object arg) {
+    if (logger.isLoggable(VERBOSE, tag)) {
+      logger.v(tag, String.format(format, arg));
+    }
+  }
+
+  /**
+   * Sends a {@link LogLevel#VERBOSE} log message, formatted only if verbose messages are printed.
+   *
+   * @param tag    the source of a log message, the class or activity where the log call occurs
+   * @param format the format of the message
+   * @param arg1   the first argument of the format
+   * @param arg2   the second argument of the format
+   */
+  public static void v(String tag, String format, Object arg1, Object arg2) {
+    if (logger.isLoggable(VERBOSE, tag)) {
+      logger.v(tag, String.format(format, arg1, arg2));
+    }
+  }
+
   /**
    * Sends a {@link LogLevel#DEBUG} log message.
    *
@@ -127,6 +171,33 @@ public class PrintLogger {
     logger.d(tag, message, t);
   }
 
+  /**
+   * Sends a {@link LogLevel#DEBUG} log message, formatted only if debug messages are printed.
+   *
+   * @param tag    the source of a log message, the class or activity where the log call occurs
+   * @param format the format of the message
+   * @param arg    the argument of the format
+   */
+  public static void d(String tag, String format, Object arg) {
+    if (logger.isLoggable(DEBUG, tag)) {
+      logger.d(tag, String.format(format, arg));
+    }
+  }
+
+  /**
+   * Sends a {@link LogLevel#DEBUG} log message, formatted only if debug messages are printed.
+   *
+   * @param tag    the source of a log message, the class or activity where the log call occurs
+   * @param format the format of the message
+   * @param arg1   the first argument of the format
+   * @param arg2   the second argument of the format
+   */
+  public static void d(String tag, String format, Object arg1, Object arg2) {
+    if (logger.isLoggable(DEBUG, tag)) {
+      logger.d(tag, String.format(format, arg1, arg2));
+    }
+  }
+
   /**
    * Sends a {@link LogLevel#INFO} log message.
    *
@@ -26,6 +26,7 @@ import static android.bluetooth.BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPON
 import static android.bluetooth.BluetoothGattCharacteristic.WRITE_TYPE_SIGNED;
 import static android.bluetooth.BluetoothGattDescriptor.ENABLE_INDICATION_VALUE;
 import static android.bluetooth.BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE;
+import static com.google.android.jacquard.sdk.log.LogLevel.DEBUG;
 import static com.google.android.jacquard.sdk.util.BluetoothSig.DESCRIPTOR_CLIENT_CHARACTERISTIC_CONFIGURATION;
 
 import android.Manifest;
@@ -34,11 +35,16 @@ import android.bluetooth.BluetoothGattCharacteristic;
 import android.bluetooth.BluetoothGattDescriptor;
 import android.bluetooth.BluetoothGattService;
 import androidx.annotation.RequiresPermission;
+import androidx.core.util.Pair;
 import com.google.android.jacquard.sdk.BleQueue;
 import com.google.android.jacquard.sdk.BleQueue.Command;
 import com.google.android.jacquard.sdk.log.PrintLogger;
+import com.google.android.jacquard.sdk.rx.Signal;
 import com.google.android.jacquard.sdk.util.BluetoothSig;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
 
 /** Wrapper around {@link BluetoothGatt} that executes BLE commands using a queue. */
 public class Peripheral {
@@ -58,6 +64,7 @@ public class Peripheral {
   private static final String TAG = Peripheral.class.getSimpleName();
   private final BluetoothGatt gatt;
   private final BleQueue bleQueue;
+  private final Signal<Pair<UUID, byte[]>> rejectedWrites = Signal.create();
 
   /**
    * Reads from the characteristic.
@@ -78,7 +85,7 @@ public class Peripheral {
         boolean readCharacteristic = gatt.readCharacteristic(characteristic);
 
         if (readCharacteristic) {
-          PrintLogger.d(TAG, "readCharacteristic for " + characteristic.getUuid());
+          PrintLogger.d(TAG, "readCharacteristic for %s", characteristic.getUuid());
         } else {
           PrintLogger.e(TAG, String.format("ReadCharacteristic failed for characteristic: %s",
               characteristic.getUuid()));
@@ -100,25 +107,31 @@ public class Peripheral {
       BluetoothGattCharacteristic characteristic,
       WriteType writeType,
       byte[] payload) {
-    return bleQueue.enqueue(new Command(Command.Type.WRITE_CHARACTERISTIC) {
+    return bleQueue.enqueue(new WriteCommand(characteristic, writeType, payload));
+  }
 
-      @Override
-      public void run() {
-        PrintLogger.d(TAG, "writeCharacteristic for:" + characteristic.getUuid());
+  /**
+   * Emits the characteristic and payload of writes without response that the stack did not
+   * accept, which happens while its buffers are full. It is emitted before the next command runs,
+   * so observers may still {@link #cancelWrites(UUID)} the writes that follow.
+   */
+  public Signal<Pair<UUID, byte[]>> getRejectedWrites() {
+    return rejectedWrites;
+  }
 
-        characteristic.setValue(payload);
-        characteristic.setWriteType(writeType.writeType);
-        if (gatt.writeCharacteristic(characteristic)) {
-          PrintLogger.d(TAG, String
-              .format("writing %s to characteristic %s", Arrays.toString(payload),
-                  characteristic.getUuid()));
-        } else {
-          PrintLogger.e(TAG, String.format("WriteCharacteristic failed for characteristic: %s",
-              characteristic.getUuid()));
-          bleQueue.completedCommand(type);
-        }
-      }
-    });
+  /**
+   * Removes the writes to the characteristic that still wait in the queue.
+   * @param characteristicUuid the characteristic the writes are for.
+   * @return the payloads of the removed writes, in the order they were queued.
+   */
+  public List<byte[]> cancelWrites(UUID characteristicUuid) {
+    List<byte[]> payloads = new ArrayList<>();
+    for (Command command : bleQueue.removeWaiting(
+        command -> command instanceof WriteCommand
+            && ((WriteCommand) command).characteristic.getUuid().equals(characteristicUuid))) {
+      payloads.add(((WriteCommand) command).payload);
+    }
+    return payloads;
   }
 
   /**
@@ -182,6 +195,27 @@ public class Peripheral {
     });
   }
 
+  /**
+   * Requests a larger ATT MTU for the connection.
+   * Results are emitted from {@link com.google.android.jacquard.sdk.BleAdapter}.
+   * @param mtu the mtu to request, the tag may agree on a smaller one.
+   * @return true, if the operation was queued successfully
+   */
+  public boolean requestMtu(int mtu) {
+    return bleQueue.enqueue(new Command(Command.Type.REQUEST_MTU) {
+
+      @Override
+      public void run() {
+        if (gatt.requestMtu(mtu)) {
+          PrintLogger.d(TAG, "Requesting mtu " + mtu);
+        } else {
+          PrintLogger.e(TAG, "RequestMtu failed for mtu: " + mtu);
+          bleQueue.completedCommand(type);
+        }
+      }
+    });
+  }
+
   /** Returns the tags identifier. */
   public String getTagIdentifier() {
     return gatt.getDevice().getAddress();
@@ -198,8 +232,23 @@ public class Peripheral {
     return gatt.getService(BluetoothSig.JQ_SERVICE_2);
   }
 
+  /**
+   * Reads the signal strength of the connection. The read waits until no other command is queued,
+   * so it never delays data traffic.
+   * Results are emitted from {@link com.google.android.jacquard.sdk.BleAdapter}.
+   * @return true, if the read was queued or one is already waiting
+   */
   public boolean requestRssi() {
-    return gatt.readRemoteRssi();
+    return bleQueue.enqueueBackground(new Command(Command.Type.READ_RSSI) {
+
+      @Override
+      public void run() {
+        if (!gatt.readRemoteRssi()) {
+          PrintLogger.e(TAG, "ReadRemoteRssi failed");
+          bleQueue.completedCommand(type);
+        }
+      }
+    });
   }
 
   /**
@@ -209,6 +258,44 @@ public class Peripheral {
     gatt.requestConnectionPriority(priority);
   }
 
+  /** Writes a payload to a characteristic, kept apart so waiting writes can be cancelled. */
+  private final class WriteCommand extends Command {
+
+    private final BluetoothGattCharacteristic characteristic;
+    private final WriteType writeType;
+    private final byte[] payload;
+
+    WriteCommand(BluetoothGattCharacteristic characteristic, WriteType writeType, byte[] payload) {
+      super(Command.Type.WRITE_CHARACTERISTIC);
+      this.characteristic = characteristic;
+      this.writeType = writeType;
+      this.payload = payload;
+    }
+
+    @Override
+    public void run() {
+      PrintLogger.d(TAG, "writeCharacteristic for:%s", characteristic.getUuid());
+
+      characteristic.setValue(payload);
+      characteristic.setWriteType(writeType.writeType);
+      if (gatt.writeCharacteristic(characteristic)) {
+        if (PrintLogger.isLoggable(DEBUG, TAG)) {
+          PrintLogger.d(TAG, String
+              .format("writing %s to characteristic %s", Arrays.toString(payload),
+                  characteristic.getUuid()));
+        }
+      } else {
+        PrintLogger.e(TAG, String.format("WriteCharacteristic failed for characteristic: %s",
+            characteristic.getUuid()));
+        if (writeType == WriteType.WITHOUT_RESPONSE) {
+          // Observers take back the writes that follow before the queue moves on.
+          rejectedWrites.next(Pair.create(characteristic.getUuid(), payload));
+        }
+        bleQueue.completedCommand(type);
+      }
+    }
+  }
+
   /**
    * WriteType describes the type of writes are supported.
    */
@@ -18,7 +18,14 @@ package com.google.android.jacquard.sdk.rx;
 import android.os.Handler;
 import android.os.Looper;
 import androidx.annotation.NonNull;
+import java.util.ArrayDeque;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides executors for signal operators.
@@ -36,6 +43,15 @@ public final class Executors {
     return MAIN_THREAD_EXECUTOR;
   }
 
+  /**
+   * Runs executions right away when called on the main thread and posts them otherwise. Unlike
+   * {@link #mainThreadExecutor()} the task may run before the caller returns, so only use it where
+   * that reentrancy is safe.
+   */
+  public static Executor mainThreadImmediateExecutor() {
+    return MAIN_THREAD_IMMEDIATE_EXECUTOR;
+  }
+
   /**
    * Immediately calls {@link Runnable#run()} on the current thread.
    */
@@ -43,6 +59,29 @@ public final class Executors {
     return DIRECT_EXECUTOR;
   }
 
+  /**
+   * Returns a new executor that runs tasks one at a time, in submission order, on the shared I/O
+   * pool. Use one per connection so events of a tag stay ordered without blocking the main thread.
+   */
+  public static Executor newSerialIoExecutor() {
+    return newSerialExecutor(IoHolder.IO_EXECUTOR);
+  }
+
+  /**
+   * Returns a new executor that runs tasks one at a time, in submission order, on
+   * <code>delegate</code>.
+   */
+  public static Executor newSerialExecutor(@NonNull Executor delegate) {
+    return new SerialExecutor(delegate);
+  }
+
+  /**
+   * Bounded pool for cpu bound work such as parsing. Tasks must not block.
+   */
+  public static Executor computationExecutor() {
+    return ComputationHolder.COMPUTATION_EXECUTOR;
+  }
+
   private static final Executor MAIN_THREAD_EXECUTOR =
       new Executor() {
         private final Handler handler = new Handler(Looper.getMainLooper());
@@ -53,5 +92,105 @@ public final class Executors {
         }
       };
 
+  private static final Executor MAIN_THREAD_IMMEDIATE_EXECUTOR =
+      command -> {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+          command.run();
+        } else {
+          MAIN_THREAD_EXECUTOR.execute(command);
+        }
+      };
+
   private static final Executor DIRECT_EXECUTOR = Runnable::run;
-}
\ No newline at end of file
+
+  private static final class IoHolder {
+
+    private static final Executor IO_EXECUTOR = new ThreadPoolExecutor(
+        /* corePoolSize= */ 0, Integer.MAX_VALUE, /* keepAliveTime= */ 30, TimeUnit.SECONDS,
+        new SynchronousQueue<>(), new NamedThreadFactory("JacquardIo"));
+  }
+
+  private static final class ComputationHolder {
+
+    private static final int THREADS =
+        Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final Executor COMPUTATION_EXECUTOR;
+
+    static {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS,
+          /* keepAliveTime= */ 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          new NamedThreadFactory("JacquardCompute"));
+      executor.allowCoreThreadTimeOut(true);
+      COMPUTATION_EXECUTOR = executor;
+    }
+  }
+
+  private static final class NamedThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger count = new AtomicInteger();
+
+    NamedThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(@NonNull Runnable runnable) {
+      Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /** Runs at most one task at a time on the delegate, in submission order. */
+  private static final class SerialExecutor implements Executor {
+
+    private final Executor delegate;
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private final Runnable drain = this::drain;
+    private boolean running;
+
+    SerialExecutor(Executor delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      synchronized (this) {
+        tasks.add(command);
+        if (running) {
+          return;
+        }
+        running = true;
+      }
+      delegate.execute(drain);
+    }
+
+    private void drain() {
+      while (true) {
+        Runnable task;
+        synchronized (this) {
+          task = tasks.poll();
+          if (task == null) {
+            running = false;
+            return;
+          }
+        }
+        try {
+          task.run();
+        } catch (RuntimeException | Error e) {
+          // Keep the queue alive for the next task, the exception still reaches the thread's
+          // uncaught exception handler.
+          synchronized (this) {
+            if (!tasks.isEmpty()) {
+              delegate.execute(drain);
+            } else {
+              running = false;
+            }
+          }
+          throw e;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Scheduler} backed by a hashed timing wheel on a single daemon thread.
+ *
+ * <p>Scheduling and cancelling are O(1) and never touch the main thread; expiry is accurate to one
+ * tick. The worker thread only ticks while tasks are pending and parks otherwise.
+ */
+final class HashedWheelScheduler implements Scheduler {
+
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_EXPIRED = 2;
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final long startNanos = System.nanoTime();
+  private final Thread worker;
+  /** Index of the next tick to process. Only touched by the worker thread. */
+  private long tick;
+
+  HashedWheelScheduler(String threadName, long tickMs, int ticksPerWheel) {
+    int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+    tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+    wheel = new Bucket[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new Bucket();
+    }
+    mask = size - 1;
+    worker = new Thread(this::work, threadName);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @NonNull
+  @Override
+  public Subscription schedule(@NonNull Runnable task, long delayMs) {
+    long deadline = elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+    Timeout timeout = new Timeout(task, deadline);
+    added.add(timeout);
+    if (pending.getAndIncrement() == 0) {
+      synchronized (this) {
+        notifyAll();
+      }
+    }
+    return timeout;
+  }
+
+  @Override
+  public long now() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  private long elapsedNanos() {
+    return System.nanoTime() - startNanos;
+  }
+
+  private void work() {
+    while (true) {
+      awaitPending();
+      awaitNextTick();
+      removeCancelled();
+      transferAdded();
+      wheel[(int) (tick & mask)].expire();
+      tick++;
+    }
+  }
+
+  /** Parks the worker while nothing is scheduled and skips the ticks that passed meanwhile. */
+  private void awaitPending() {
+    if (pending.get() != 0) {
+      return;
+    }
+    synchronized (this) {
+      while (pending.get() == 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // The worker is never interrupted on purpose; keep waiting.
+        }
+      }
+    }
+    // Every bucket is empty, so the ticks missed while parked need no processing.
+    tick = Math.max(tick, elapsedNanos() / tickNanos);
+  }
+
+  private void awaitNextTick() {
+    long deadline = (tick + 1) * tickNanos;
+    while (true) {
+      long sleepNanos = deadline - elapsedNanos();
+      if (sleepNanos <= 0) {
+        return;
+      }
+      try {
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleepNanos + 999_999));
+      } catch (InterruptedException e) {
+        // Keep ticking.
+      }
+    }
+  }
+
+  private void removeCancelled() {
+    Timeout timeout;
+    while ((timeout = cancelled.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+      pending.decrementAndGet();
+    }
+  }
+
+  private void transferAdded() {
+    Timeout timeout;
+    while ((timeout = added.poll()) != null) {
+      if (timeout.state.get() == STATE_CANCELLED) {
+        // Accounted for by removeCancelled().
+        continue;
+      }
+      long expiryTick = Math.max(timeout.deadline / tickNanos, tick);
+      timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+      wheel[(int) (expiryTick & mask)].add(timeout);
+    }
+  }
+
+  private void runTask(Timeout timeout) {
+    pending.decrementAndGet();
+    try {
+      timeout.task.run();
+    } catch (RuntimeException | Error e) {
+      // Surface the failure the same way a crashing Handler callback would, but keep the shared
+      // worker alive for everybody else.
+      Thread.UncaughtExceptionHandler handler = worker.getUncaughtExceptionHandler();
+      if (handler != null) {
+        handler.uncaughtException(worker, e);
+      }
+    }
+  }
+
+  private final class Timeout extends Subscription {
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    protected void onUnsubscribe() {
+      if (state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+        cancelled.add(this);
+      }
+    }
+  }
+
+  /** Doubly linked list of timeouts. Only touched by the worker thread. */
+  private final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    void remove(Timeout timeout) {
+      Timeout next = timeout.next;
+      if (timeout.prev != null) {
+        timeout.prev.next = next;
+      }
+      if (next != null) {
+        next.prev = timeout.prev;
+      }
+      if (timeout == head) {
+        head = next;
+      }
+      if (timeout == tail) {
+        tail = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+
+    void expire() {
+      Timeout timeout = head;
+      while (timeout != null) {
+        Timeout next = timeout.next;
+        if (timeout.remainingRounds <= 0) {
+          remove(timeout);
+          if (timeout.state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+            runTask(timeout);
+          }
+        } else {
+          timeout.remainingRounds--;
+        }
+        timeout = next;
+      }
+    }
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.rx.Signal.Observer;
+import com.google.android.jacquard.sdk.rx.Signal.OverflowPolicy;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Converts between {@link Signal} and Reactive Streams {@link Publisher}.
+ *
+ * <p>A signal cannot be paused, so {@link #toPublisher} holds the values the subscriber has not
+ * requested yet in a bounded buffer and applies an {@link OverflowPolicy} once it is full.
+ */
+public final class ReactiveStreams {
+
+  /** Buffer size used by {@link #toPublisher(Signal)}. */
+  public static final int DEFAULT_CAPACITY = 128;
+
+  private ReactiveStreams() {
+    // Utility class.
+  }
+
+  /**
+   * Returns a publisher that observes <code>signal</code> once per subscriber and buffers up to
+   * {@link #DEFAULT_CAPACITY} values, erroring the subscriber when it falls further behind.
+   */
+  @NonNull
+  public static <T> Publisher<T> toPublisher(@NonNull Signal<T> signal) {
+    return toPublisher(signal, DEFAULT_CAPACITY, OverflowPolicy.ERROR);
+  }
+
+  /**
+   * Returns a publisher that observes <code>signal</code> once per subscriber and only emits what
+   * was requested. Up to <code>capacity</code> values are buffered while there is no demand,
+   * <code>policy</code> decides what happens to the values that do not fit.
+   *
+   * <p>Completion is delivered after the buffered values, errors are delivered right away.
+   */
+  @NonNull
+  public static <T> Publisher<T> toPublisher(@NonNull Signal<T> signal, int capacity,
+      @NonNull OverflowPolicy policy) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    return subscriber -> {
+      if (subscriber == null) {
+        throw new NullPointerException("subscriber is null");
+      }
+      SignalSubscription<T> subscription = new SignalSubscription<>(subscriber, capacity, policy);
+      subscriber.onSubscribe(subscription);
+      subscription.connect(signal);
+    };
+  }
+
+  /**
+   * Returns a signal that subscribes to <code>publisher</code> for each observer with unbounded
+   * demand. Unsubscribing cancels the Reactive Streams subscription.
+   */
+  @NonNull
+  public static <T> Signal<T> fromPublisher(@NonNull Publisher<T> publisher) {
+    return Signal.create(signal -> {
+      PublisherObserver<T> observer = new PublisherObserver<>(signal);
+      publisher.subscribe(observer);
+      return new Signal.Subscription() {
+        @Override
+        protected void onUnsubscribe() {
+          observer.cancel();
+        }
+      };
+    });
+  }
+
+  /**
+   * Bridges one signal subscription to one subscriber. Values are queued by the signal and
+   * delivered by whichever thread wins the work-in-progress counter, so reentrant
+   * {@link #request} calls from {@link Subscriber#onNext} do not recurse.
+   */
+  private static final class SignalSubscription<T> implements Subscription, Observer<T> {
+
+    private final Subscriber<? super T> downstream;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ArrayDeque<T> queue = new ArrayDeque<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile Signal.Subscription upstream;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile Throwable error;
+
+    SignalSubscription(Subscriber<? super T> downstream, int capacity, OverflowPolicy policy) {
+      this.downstream = downstream;
+      this.capacity = capacity;
+      this.policy = policy;
+    }
+
+    void connect(Signal<T> signal) {
+      if (cancelled) {
+        return;
+      }
+      Signal.Subscription subscription = signal.observe(this);
+      upstream = subscription;
+      if (cancelled || done) {
+        subscription.unsubscribe();
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        // Rule 3.9, even if the signal already completed.
+        error = new IllegalArgumentException("request must be positive: " + n);
+        done = true;
+        disconnect();
+        drain();
+        return;
+      }
+      long current;
+      long next;
+      do {
+        current = requested.get();
+        if (current == Long.MAX_VALUE) {
+          break;
+        }
+        next = current + n;
+        if (next < 0) {
+          // Rule 3.17, saturate instead of overflowing.
+          next = Long.MAX_VALUE;
+        }
+      } while (!requested.compareAndSet(current, next));
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      disconnect();
+      if (wip.getAndIncrement() == 0) {
+        clear();
+      }
+    }
+
+    @Override
+    public void onNext(@NonNull T t) {
+      if (done || cancelled) {
+        return;
+      }
+      boolean overflow = false;
+      synchronized (queue) {
+        if (queue.size() < capacity) {
+          queue.offer(t);
+        } else if (policy == OverflowPolicy.DROP_OLDEST) {
+          queue.poll();
+          queue.offer(t);
+        } else if (policy == OverflowPolicy.ERROR) {
+          overflow = true;
+        }
+      }
+      if (overflow) {
+        onError(new IllegalStateException("Subscriber did not keep up, buffer of " + capacity
+            + " items is full"));
+        return;
+      }
+      drain();
+    }
+
+    @Override
+    public void onError(@NonNull Throwable t) {
+      if (done) {
+        return;
+      }
+      error = t;
+      done = true;
+      disconnect();
+      drain();
+    }
+
+    @Override
+    public void onComplete() {
+      if (done) {
+        return;
+      }
+      done = true;
+      drain();
+    }
+
+    private void disconnect() {
+      Signal.Subscription subscription = upstream;
+      if (subscription != null) {
+        subscription.unsubscribe();
+      }
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        long r = requested.get();
+        long emitted = 0;
+        while (true) {
+          if (cancelled) {
+            clear();
+            return;
+          }
+          Throwable t = error;
+          if (t != null) {
+            // Rules 1.6 and 1.7, terminate once and never signal again.
+            cancelled = true;
+            clear();
+            downstream.onError(t);
+            return;
+          }
+          boolean d = done;
+          T next;
+          boolean empty;
+          synchronized (queue) {
+            next = emitted != r ? queue.poll() : null;
+            empty = next == null && queue.isEmpty();
+          }
+          if (d && empty) {
+            cancelled = true;
+            downstream.onComplete();
+            return;
+          }
+          if (next == null) {
+            break;
+          }
+          downstream.onNext(next);
+          emitted++;
+        }
+        if (emitted != 0 && r != Long.MAX_VALUE) {
+          requested.addAndGet(-emitted);
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void clear() {
+      synchronized (queue) {
+        queue.clear();
+      }
+    }
+  }
+
+  /** Feeds a Reactive Streams subscription into a signal. */
+  private static final class PublisherObserver<T> implements Subscriber<T> {
+
+    private final Signal<T> signal;
+    private Subscription subscription;
+    private boolean cancelled;
+
+    PublisherObserver(Signal<T> signal) {
+      this.signal = signal;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      boolean cancelNow;
+      synchronized (this) {
+        cancelNow = cancelled || subscription != null;
+        if (!cancelNow) {
+          subscription = s;
+        }
+      }
+      if (cancelNow) {
+        // Rule 2.5, a second subscription or one that arrives after cancel is cancelled.
+        s.cancel();
+        return;
+      }
+      s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(T t) {
+      signal.next(t);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      signal.error(t);
+    }
+
+    @Override
+    public void onComplete() {
+      signal.complete();
+    }
+
+    void cancel() {
+      Subscription s;
+      synchronized (this) {
+        cancelled = true;
+        s = subscription;
+      }
+      if (s != null) {
+        s.cancel();
+      }
+    }
+  }
+}
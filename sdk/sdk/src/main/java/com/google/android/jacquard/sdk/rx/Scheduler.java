@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+
+/**
+ * Runs tasks after a delay. Used by the time based signal operators.
+ *
+ * @see Schedulers
+ */
+public interface Scheduler {
+
+  /**
+   * Runs <code>task</code> once after <code>delayMs</code> milliseconds. Unsubscribing the
+   * returned subscription cancels the task if it has not run yet.
+   */
+  @NonNull
+  Subscription schedule(@NonNull Runnable task, long delayMs);
+
+  /**
+   * Returns the current time of this scheduler in milliseconds. Only differences between two
+   * values are meaningful.
+   */
+  long now();
+}
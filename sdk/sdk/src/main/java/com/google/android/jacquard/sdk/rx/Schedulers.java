@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+
+/**
+ * Provides schedulers for the time based signal operators.
+ */
+public final class Schedulers {
+
+  private Schedulers() {
+    // Utility class.
+  }
+
+  /**
+   * Shared hashed wheel timer running on a single background thread. Scheduling and cancelling
+   * are cheap, which makes it the right choice for timeouts that rarely fire. Tasks run on the
+   * timer thread and must not block.
+   */
+  public static Scheduler timer() {
+    return TimerHolder.TIMER;
+  }
+
+  /**
+   * Runs tasks on the main thread through a single shared {@link Handler}.
+   */
+  public static Scheduler mainThread() {
+    return MAIN_THREAD_SCHEDULER;
+  }
+
+  private static final Scheduler MAIN_THREAD_SCHEDULER = new MainThreadScheduler();
+
+  /** Lazily starts the timer thread the first time {@link #timer()} is used. */
+  private static final class TimerHolder {
+
+    private static final Scheduler TIMER =
+        new HashedWheelScheduler("JacquardTimer", /* tickMs= */ 10, /* ticksPerWheel= */ 512);
+  }
+
+  private static final class MainThreadScheduler implements Scheduler {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @NonNull
+    @Override
+    public Subscription schedule(@NonNull Runnable task, long delayMs) {
+      ScheduledTask scheduled = new ScheduledTask(task);
+      handler.postDelayed(scheduled, delayMs);
+      return scheduled;
+    }
+
+    @Override
+    public long now() {
+      return SystemClock.uptimeMillis();
+    }
+
+    private final class ScheduledTask extends Subscription implements Runnable {
+
+      private final Runnable task;
+
+      ScheduledTask(Runnable task) {
+        this.task = task;
+      }
+
+      @Override
+      public void run() {
+        task.run();
+      }
+
+      @Override
+      protected void onUnsubscribe() {
+        handler.removeCallbacks(this);
+      }
+    }
+  }
+}
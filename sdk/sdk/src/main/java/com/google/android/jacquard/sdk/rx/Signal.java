@@ -15,21 +15,22 @@
  */
 package com.google.android.jacquard.sdk.rx;
 
-import android.os.CountDownTimer;
-import android.os.Handler;
-import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * A naive reimplementation of rxjava's Observable&lt;T&gt;
@@ -41,8 +42,17 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class Signal<T> {
 
+  private static final Observer<?>[] NO_OBSERVERS = new Observer<?>[0];
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Signal, Observer[]> OBSERVERS =
+      AtomicReferenceFieldUpdater.newUpdater(Signal.class, Observer[].class, "observers");
+
   final SubscriptionFactory<T> subscriptionFactory;
-  private final List<Observer<? super T>> observers = new CopyOnWriteArrayList<>();
+  /**
+   * Immutable snapshot of the current observers. Emissions iterate the array directly so they do
+   * not allocate; subscribe and unsubscribe swap in a new copy.
+   */
+  private volatile Observer<? super T>[] observers = noObservers();
   private boolean completed = false;
   private boolean errored = false;
   private Throwable ex = null;
@@ -115,27 +125,32 @@ public class Signal<T> {
   @NonNull
   public static <T> Signal<T> merge(
       @NonNull Signal<? extends T> signal1, @NonNull Signal<? extends T> signal2) {
-    return new MergedSignal<>(signal1, signal2);
+    return new MergedSignal<>(Arrays.<Signal<? extends T>>asList(signal1, signal2));
   }
 
   /**
-   * merge a list of signals of the same type into one
+   * merge a list of signals of the same type into one, completes once all of them have completed
    */
   @NonNull
   public static <T> Signal<T> merge(@NonNull Iterable<Signal<T>> signals) {
-    Signal<T> last = Signal.empty();
+    List<Signal<? extends T>> sources = new ArrayList<>();
     for (Signal<T> sig : signals) {
-      last = Signal.merge(last, sig);
+      sources.add(sig);
     }
-    return last;
+    return new MergedSignal<>(sources);
   }
 
   private static <T> SubscriptionFactory<T> noopFactory() {
     return signal -> new Subscription();
   }
 
+  @SuppressWarnings("unchecked")
+  private static <T> Observer<? super T>[] noObservers() {
+    return (Observer<? super T>[]) NO_OBSERVERS;
+  }
+
   public boolean hasObservers() {
-    return !observers.isEmpty();
+    return observers.length != 0;
   }
 
   /**
@@ -145,7 +160,7 @@ public class Signal<T> {
     for (Observer<? super T> obs : observers) {
       obs.onError(t);
     }
-    observers.clear();
+    observers = noObservers();
     ex = t;
     errored = true;
   }
@@ -154,7 +169,12 @@ public class Signal<T> {
    * provide a new value to this signal
    */
   public void next(@NonNull T t) {
-    for (Observer<? super T> obs : observers) {
+    Observer<? super T>[] snapshot = observers;
+    if (snapshot.length == 1) {
+      snapshot[0].onNext(t);
+      return;
+    }
+    for (Observer<? super T> obs : snapshot) {
       obs.onNext(t);
     }
   }
@@ -174,16 +194,66 @@ public class Signal<T> {
     for (Observer<? super T> obs : observers) {
       obs.onComplete();
     }
-    observers.clear();
+    observers = noObservers();
     completed = true;
   }
 
+  @SuppressWarnings("unchecked")
+  private void addObserver(Observer<? super T> obs) {
+    while (true) {
+      Observer<? super T>[] current = observers;
+      Observer<? super T>[] next;
+      if (current.length == 0) {
+        next = (Observer<? super T>[]) new Observer<?>[]{obs};
+      } else {
+        next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = obs;
+      }
+      if (OBSERVERS.compareAndSet(this, current, next)) {
+        return;
+      }
+    }
+  }
+
+  /** Adds a new observer before this signal subscribes upstream for it. */
+  void attach(Observer<? super T> obs) {
+    addObserver(obs);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void removeObserver(Observer<? super T> obs) {
+    while (true) {
+      Observer<? super T>[] current = observers;
+      int index = -1;
+      for (int i = 0; i < current.length; i++) {
+        if (current[i].equals(obs)) {
+          index = i;
+          break;
+        }
+      }
+      if (index < 0) {
+        return;
+      }
+      Observer<? super T>[] next;
+      if (current.length == 1) {
+        next = noObservers();
+      } else {
+        next = (Observer<? super T>[]) new Observer<?>[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+      }
+      if (OBSERVERS.compareAndSet(this, current, next)) {
+        return;
+      }
+    }
+  }
+
   /**
    * transform Signal[T] to Signal[U] using T -> U
    */
   @NonNull
   public <U> Signal<U> map(@NonNull final Fn<? super T, ? extends U> f) {
-    return new MappedSignal<>(this, f);
+    return FusedSignal.append(this, Stage.map(f));
   }
 
   /**
@@ -194,6 +264,27 @@ public class Signal<T> {
     return new FMappedSignal<>(this, f);
   }
 
+  /**
+   * transform Signal[T] to Signal[U] using T -> Signal[U], running up to
+   * <code>maxConcurrency</code> inner signals at once. Values are emitted as the inner signals
+   * produce them, so they may interleave.
+   */
+  @NonNull
+  public <U> Signal<U> flatMapConcurrent(int maxConcurrency,
+      @NonNull final Fn<? super T, ? extends Signal<? extends U>> f) {
+    return new ConcurrentFMappedSignal<>(this, maxConcurrency, /* ordered= */ false, f);
+  }
+
+  /**
+   * Like {@link #flatMapConcurrent(int, Fn)}, but values are emitted in upstream order: the inner
+   * signals run concurrently and the values of all but the oldest one are buffered.
+   */
+  @NonNull
+  public <U> Signal<U> flatMapConcurrentOrdered(int maxConcurrency,
+      @NonNull final Fn<? super T, ? extends Signal<? extends U>> f) {
+    return new ConcurrentFMappedSignal<>(this, maxConcurrency, /* ordered= */ true, f);
+  }
+
   /**
    * transform Signal[T] to Signal[U] using T -> Signal[U] and complete previous inner observable
    * before emitting.
@@ -208,7 +299,7 @@ public class Signal<T> {
    */
   @NonNull
   public Signal<T> filter(@NonNull final Pred<? super T> f) {
-    return new FilteredSignal<>(this, f);
+    return FusedSignal.append(this, Stage.filter(f));
   }
 
   /**
@@ -301,27 +392,86 @@ public class Signal<T> {
   }
 
   /**
-   * share any previous operations across subsequent observers
+   * share any previous operations across subsequent observers. This signal is observed when the
+   * first observer subscribes and unsubscribed when the last one leaves.
    */
   @NonNull
   public Signal<T> shared() {
     return new SharedSignal<>(this);
   }
 
+  /**
+   * Shares this signal like {@link #shared()} and replays up to the last <code>count</code> values
+   * to each new observer before any live value. The values are kept when the last observer leaves.
+   */
+  @NonNull
+  public Signal<T> replay(int count) {
+    return replay(count, Long.MAX_VALUE, Schedulers.timer());
+  }
+
+  /**
+   * Shares this signal like {@link #shared()} and replays up to the last <code>count</code> values
+   * of the last <code>timeWindowMs</code> milliseconds to each new observer before any live value.
+   * The count bounds the memory held for a fast signal.
+   *
+   * <p>Uses the clock of the shared {@link Schedulers#timer()}.
+   */
+  @NonNull
+  public Signal<T> replay(int count, long timeWindowMs) {
+    return replay(count, timeWindowMs, Schedulers.timer());
+  }
+
+  /**
+   * Shares this signal like {@link #shared()} and replays up to the last <code>count</code> values
+   * that are at most <code>timeWindowMs</code> milliseconds old as measured by
+   * <code>scheduler</code>. Room for <code>count</code> values is allocated up front.
+   */
+  @NonNull
+  public Signal<T> replay(int count, long timeWindowMs, @NonNull Scheduler scheduler) {
+    if (count <= 0 || timeWindowMs <= 0) {
+      throw new IllegalArgumentException(
+          "count and timeWindowMs must be positive: " + count + ", " + timeWindowMs);
+    }
+    return new ReplaySignal<>(this, count, timeWindowMs, scheduler);
+  }
+
   /**
    * timeout this signal after timeoms milliseconds
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, the timeout error is delivered on the timer
+   * thread.
    */
   @NonNull
   public Signal<T> timeout(long timeoms) {
-    return new TimeoutSignal<>(this, timeoms, null);
+    return timeout(timeoms, null, Schedulers.timer());
   }
 
   /**
    * timeout this signal after timeoms milliseconds
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, the timeout error is delivered on the timer
+   * thread.
    */
   @NonNull
   public Signal<T> timeout(long timeoms, @Nullable String loggingPayload) {
-    return new TimeoutSignal<>(this, timeoms, loggingPayload);
+    return timeout(timeoms, loggingPayload, Schedulers.timer());
+  }
+
+  /**
+   * timeout this signal after timeoms milliseconds as measured by <code>scheduler</code>
+   */
+  @NonNull
+  public Signal<T> timeout(long timeoms, @NonNull Scheduler scheduler) {
+    return timeout(timeoms, null, scheduler);
+  }
+
+  /**
+   * timeout this signal after timeoms milliseconds as measured by <code>scheduler</code>
+   */
+  @NonNull
+  public Signal<T> timeout(long timeoms, @Nullable String loggingPayload,
+      @NonNull Scheduler scheduler) {
+    return new TimeoutSignal<>(this, timeoms, loggingPayload, scheduler);
   }
 
   /**
@@ -335,6 +485,84 @@ public class Signal<T> {
     return new RecoverWithSignal<>(this, recoveryF);
   }
 
+  /**
+   * Emits a value and then ignores values for the following <code>windowMs</code> milliseconds.
+   *
+   * <p>Time is read from the shared {@link Schedulers#timer()}, but nothing is scheduled on it,
+   * values are emitted on the thread that sends them.
+   */
+  @NonNull
+  public Signal<T> throttleFirst(long windowMs) {
+    return throttleFirst(windowMs, Schedulers.timer());
+  }
+
+  /**
+   * Like {@link #throttleFirst(long)}, with time measured by <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<T> throttleFirst(long windowMs, @NonNull Scheduler scheduler) {
+    return new RateLimitSignal<>(this, RateLimitSignal.THROTTLE_FIRST, windowMs, scheduler);
+  }
+
+  /**
+   * Emits a value right away, then at most one value, the most recent, per <code>windowMs</code>
+   * milliseconds. A pending value is emitted when this signal completes.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, delayed values are delivered on the timer
+   * thread.
+   */
+  @NonNull
+  public Signal<T> throttleLatest(long windowMs) {
+    return throttleLatest(windowMs, Schedulers.timer());
+  }
+
+  /**
+   * Like {@link #throttleLatest(long)}, with delayed values emitted by <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<T> throttleLatest(long windowMs, @NonNull Scheduler scheduler) {
+    return new RateLimitSignal<>(this, RateLimitSignal.THROTTLE_LATEST, windowMs, scheduler);
+  }
+
+  /**
+   * Emits a value only once no other value followed it for <code>timeoutMs</code> milliseconds.
+   * A pending value is emitted when this signal completes.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, values are delivered on the timer thread.
+   */
+  @NonNull
+  public Signal<T> debounce(long timeoutMs) {
+    return debounce(timeoutMs, Schedulers.timer());
+  }
+
+  /**
+   * Like {@link #debounce(long)}, with values emitted by <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<T> debounce(long timeoutMs, @NonNull Scheduler scheduler) {
+    return new RateLimitSignal<>(this, RateLimitSignal.DEBOUNCE, timeoutMs, scheduler);
+  }
+
+  /**
+   * Emits the most recent value <code>periodMs</code> milliseconds after the first value of each
+   * period. Periods only run while values arrive, so an idle signal schedules nothing. A pending
+   * value is emitted when this signal completes.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, values are delivered on the timer thread.
+   */
+  @NonNull
+  public Signal<T> sample(long periodMs) {
+    return sample(periodMs, Schedulers.timer());
+  }
+
+  /**
+   * Like {@link #sample(long)}, with values emitted by <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<T> sample(long periodMs, @NonNull Scheduler scheduler) {
+    return new RateLimitSignal<>(this, RateLimitSignal.SAMPLE, periodMs, scheduler);
+  }
+
   /**
    * delay all outputs from this signal by
    *
@@ -342,7 +570,15 @@ public class Signal<T> {
    */
   @NonNull
   public Signal<T> delay(long delayms) {
-    return new DelaySignal<>(this, delayms);
+    return delay(delayms, Schedulers.mainThread());
+  }
+
+  /**
+   * delay all outputs from this signal by delayms, emitting them from <code>scheduler</code>
+   */
+  @NonNull
+  public Signal<T> delay(long delayms, @NonNull Scheduler scheduler) {
+    return new DelaySignal<>(this, delayms, scheduler);
   }
 
   /**
@@ -354,7 +590,106 @@ public class Signal<T> {
    */
   @NonNull
   public Signal<T> countDownTimer(long millisInFuture, long countDownInterval) {
-    return new CountDownTimerSignal<>(this, millisInFuture, countDownInterval);
+    return countDownTimer(millisInFuture, countDownInterval, Schedulers.mainThread());
+  }
+
+  /**
+   * Same as {@link #countDownTimer(long, long)} but ticks on <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<T> countDownTimer(long millisInFuture, long countDownInterval,
+      @NonNull Scheduler scheduler) {
+    return new CountDownTimerSignal<>(this, millisInFuture, countDownInterval, scheduler);
+  }
+
+  /**
+   * Collects values into lists of <code>count</code> items. A partial list is emitted when this
+   * signal completes.
+   */
+  @NonNull
+  public Signal<List<T>> buffer(int count) {
+    return new BufferSignal<>(this, count, 0, null);
+  }
+
+  /**
+   * Collects values into lists, each emitted <code>timeMs</code> milliseconds after its first
+   * value. No empty lists are emitted, so an idle signal does not wake up the timer.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, lists are delivered on the timer thread.
+   */
+  @NonNull
+  public Signal<List<T>> bufferByTime(long timeMs) {
+    requirePositiveTime(timeMs);
+    return new BufferSignal<>(this, Integer.MAX_VALUE, timeMs, Schedulers.timer());
+  }
+
+  /**
+   * Collects values into lists, emitted after <code>count</code> items or <code>timeMs</code>
+   * milliseconds after the first item, whichever comes first.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, lists are delivered on the timer thread when
+   * the time limit is hit.
+   */
+  @NonNull
+  public Signal<List<T>> buffer(int count, long timeMs) {
+    return buffer(count, timeMs, Schedulers.timer());
+  }
+
+  /**
+   * Collects values into lists, emitted after <code>count</code> items or <code>timeMs</code>
+   * milliseconds after the first item as measured by <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<List<T>> buffer(int count, long timeMs, @NonNull Scheduler scheduler) {
+    return new BufferSignal<>(this, count, timeMs, scheduler);
+  }
+
+  /**
+   * Splits values into windows of <code>count</code> items. Each window is emitted when its first
+   * value arrives and must be observed right away, it does not replay.
+   */
+  @NonNull
+  public Signal<Signal<T>> window(int count) {
+    return new WindowSignal<>(this, count, 0, null);
+  }
+
+  /**
+   * Splits values into windows that complete <code>timeMs</code> milliseconds after their first
+   * value. Each window is emitted when its first value arrives and must be observed right away.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}, windows complete on the timer thread.
+   */
+  @NonNull
+  public Signal<Signal<T>> windowByTime(long timeMs) {
+    requirePositiveTime(timeMs);
+    return new WindowSignal<>(this, Integer.MAX_VALUE, timeMs, Schedulers.timer());
+  }
+
+  /** Without a count limit a batch is only closed by time, so the time must be positive. */
+  private static void requirePositiveTime(long timeMs) {
+    if (timeMs <= 0) {
+      throw new IllegalArgumentException("timeMs must be positive: " + timeMs);
+    }
+  }
+
+  /**
+   * Splits values into windows that complete after <code>count</code> items or
+   * <code>timeMs</code> milliseconds after their first value, whichever comes first.
+   *
+   * <p>Uses the shared {@link Schedulers#timer()}.
+   */
+  @NonNull
+  public Signal<Signal<T>> window(int count, long timeMs) {
+    return window(count, timeMs, Schedulers.timer());
+  }
+
+  /**
+   * Splits values into windows that complete after <code>count</code> items or
+   * <code>timeMs</code> milliseconds as measured by <code>scheduler</code>.
+   */
+  @NonNull
+  public Signal<Signal<T>> window(int count, long timeMs, @NonNull Scheduler scheduler) {
+    return new WindowSignal<>(this, count, timeMs, scheduler);
   }
 
   /**
@@ -362,7 +697,7 @@ public class Signal<T> {
    */
   @NonNull
   public Signal<T> tapError(Consumer<Throwable> consumer) {
-    return new TapErrorSignal<>(this, consumer);
+    return FusedSignal.append(this, Stage.tapError(consumer));
   }
 
   /**
@@ -377,7 +712,7 @@ public class Signal<T> {
    */
   @NonNull
   public Signal<T> tap(Consumer<T> consumer) {
-    return new TapSignal<>(this, consumer);
+    return FusedSignal.append(this, Stage.tap(consumer));
   }
 
   /**
@@ -390,12 +725,55 @@ public class Signal<T> {
 
   /**
    * Executes downstream operators on the provided {@link Executor}.
+   *
+   * <p>Events are delivered one at a time and in order, always through the executor. Use
+   * {@link Executors#mainThreadImmediateExecutor()} to skip the hop when already on the main
+   * thread.
    */
   @NonNull
   public Signal<T> observeOn(@NonNull Executor executor) {
     return new ObserveOnSignal<>(this, executor);
   }
 
+  /**
+   * Subscribes to this signal, and so runs its side effects, on the provided {@link Executor}.
+   */
+  @NonNull
+  public Signal<T> subscribeOn(@NonNull Executor executor) {
+    return new SubscribeOnSignal<>(this, executor);
+  }
+
+  /**
+   * Like {@link #observeOn(Executor)}, but while an item is waiting to be delivered new items are
+   * dropped. Use this when only some of the values of a fast stream are needed.
+   */
+  @NonNull
+  public BackpressureSignal<T> onBackpressureDrop(@NonNull Executor executor) {
+    return new BackpressureSignal<>(this, executor, 1, OverflowPolicy.DROP_LATEST);
+  }
+
+  /**
+   * Like {@link #observeOn(Executor)}, but only the most recent undelivered item is kept. Use this
+   * when a slow consumer only cares about the current value, e.g. a UI rendering a sensor stream.
+   */
+  @NonNull
+  public BackpressureSignal<T> onBackpressureLatest(@NonNull Executor executor) {
+    return new BackpressureSignal<>(this, executor, 1, OverflowPolicy.DROP_OLDEST);
+  }
+
+  /**
+   * Like {@link #observeOn(Executor)}, but at most {@code capacity} undelivered items are buffered.
+   * Once the buffer is full the {@link OverflowPolicy} decides what happens to the next item.
+   */
+  @NonNull
+  public BackpressureSignal<T> onBackpressureBuffer(int capacity, @NonNull OverflowPolicy policy,
+      @NonNull Executor executor) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    return new BackpressureSignal<>(this, executor, capacity, policy);
+  }
+
   public final Subscription onNext(@NonNull final Consumer<? super T> consumer) {
     return observe(new ObservesNext<T>() {
       @Override
@@ -482,17 +860,20 @@ public class Signal<T> {
   @NonNull
   public final Subscription observe(@NonNull final Observer<? super T> obs) {
     if (!completed && !errored) {
-      observers.add(obs); // as a result of this operation order, hasObservers is always true within
+      attach(obs); // as a result of this operation order, hasObservers is always true within
       // onNewSubscription
       final Subscription wrapped = subscriptionFactory.onSubscribe(this);
       Subscription sub =
           new Subscription() {
             @Override
             public void onUnsubscribe() {
-              observers.remove(obs);
+              removeObserver(obs);
               wrapped.unsubscribe();
             }
           };
+      if (SubscriptionTracker.enabled) {
+        sub = SubscriptionTracker.track(this, sub);
+      }
       if (obs instanceof OnSubscribe) {
         ((OnSubscribe) obs).onSubscribe(sub);
       }
@@ -558,7 +939,7 @@ public class Signal<T> {
 
       @NonNull
       @Override
-      public Subscription onSubscribe(@NonNull final Signal<T> signal) {
+      public synchronized Subscription onSubscribe(@NonNull final Signal<T> signal) {
         if (subCount++ == 0 && outerSub == null) {
           outerSub =
               source.observe(
@@ -582,10 +963,16 @@ public class Signal<T> {
         return new Subscription() {
           @Override
           public void onUnsubscribe() {
-            subCount = Math.max(0, subCount - 1);
-            if (subCount == 0 && outerSub != null) {
-              outerSub.unsubscribe();
-              outerSub = null;
+            Subscription toCancel = null;
+            synchronized (SharedSubscriptionFactory.this) {
+              subCount = Math.max(0, subCount - 1);
+              if (subCount == 0) {
+                toCancel = outerSub;
+                outerSub = null;
+              }
+            }
+            if (toCancel != null) {
+              toCancel.unsubscribe();
             }
           }
         };
@@ -593,48 +980,117 @@ public class Signal<T> {
     }
   }
 
-  static class MappedSignal<U, T> extends Signal<U> {
+  /**
+   * A {@link SharedSignal} that records values in a fixed-size ring buffer and replays them to each
+   * new observer before it is added, so it never sees a replayed value after a live one.
+   */
+  static final class ReplaySignal<T> extends Signal<T> {
+
+    private final long maxAgeMs;
+    private final Scheduler scheduler;
+    private final Object[] values;
+    private final long[] times;
+    private int head;
+    private int size;
+
+    ReplaySignal(@NonNull Signal<T> source, int capacity, long maxAgeMs,
+        @NonNull Scheduler scheduler) {
+      super(new SharedSignal.SharedSubscriptionFactory<>(source));
+      this.maxAgeMs = maxAgeMs;
+      this.scheduler = scheduler;
+      values = new Object[capacity];
+      times = new long[capacity];
+    }
+
+    @Override
+    void attach(Observer<? super T> obs) {
+      synchronized (this) {
+        evictExpired(scheduler.now());
+        for (int i = 0; i < size; i++) {
+          @SuppressWarnings("unchecked") final T t = (T) values[(head + i) % values.length];
+          obs.onNext(t);
+        }
+        super.attach(obs);
+      }
+    }
+
+    @Override
+    public void next(@NonNull T t) {
+      synchronized (this) {
+        long now = scheduler.now();
+        evictExpired(now);
+        if (size == values.length) {
+          values[head] = null;
+          head = (head + 1) % values.length;
+          size--;
+        }
+        int tail = (head + size) % values.length;
+        values[tail] = t;
+        times[tail] = now;
+        size++;
+        super.next(t);
+      }
+    }
+
+    private void evictExpired(long now) {
+      if (maxAgeMs == Long.MAX_VALUE) {
+        return;
+      }
+      while (size > 0 && now - times[head] > maxAgeMs) {
+        values[head] = null;
+        head = (head + 1) % values.length;
+        size--;
+      }
+    }
+  }
+
+  /**
+   * Consecutive map, filter, tap and tapError operators fused into a single observer of the first
+   * upstream signal that is not fused itself, so a chain of them costs one subscription and one
+   * observer instead of one per operator.
+   */
+  static final class FusedSignal<T> extends Signal<T> {
+
+    private final Signal<?> source;
+    private final Stage[] stages;
 
-    MappedSignal(final @NonNull Signal<T> sig, final @NonNull Fn<? super T, ? extends U> f) {
-      super(new MappedSubscriptionFactory<>(sig, f));
+    private FusedSignal(Signal<?> source, Stage[] stages) {
+      super(new FusedSubscriptionFactory<>(source, stages));
+      this.source = source;
+      this.stages = stages;
     }
 
-    private static class MappedSubscriptionFactory<U, T> implements SubscriptionFactory<U> {
+    static <T> FusedSignal<T> append(@NonNull Signal<?> upstream, @NonNull Stage stage) {
+      if (upstream instanceof FusedSignal) {
+        FusedSignal<?> fused = (FusedSignal<?>) upstream;
+        Stage[] stages = Arrays.copyOf(fused.stages, fused.stages.length + 1);
+        stages[fused.stages.length] = stage;
+        return new FusedSignal<>(fused.source, stages);
+      }
+      return new FusedSignal<>(upstream, new Stage[]{stage});
+    }
 
-      private final Signal<T> sig;
-      private final Fn<? super T, ? extends U> f;
+    private static class FusedSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
-      MappedSubscriptionFactory(Signal<T> sig, Fn<? super T, ? extends U> f) {
-        this.sig = sig;
-        this.f = f;
+      private final Signal<?> source;
+      private final Stage[] stages;
+      private final boolean unsubscribeOnComplete;
+
+      FusedSubscriptionFactory(Signal<?> source, Stage[] stages) {
+        this.source = source;
+        this.stages = stages;
+        boolean catches = false;
+        for (Stage stage : stages) {
+          catches |= stage.catches;
+        }
+        unsubscribeOnComplete = catches;
       }
 
       @NonNull
       @Override
-      public Subscription onSubscribe(final @NonNull Signal<U> signal) {
+      public Subscription onSubscribe(final @NonNull Signal<T> signal) {
         final Subscription outer =
-            sig.observe(
-                new SubscribeObserver<T>() {
-                  @Override
-                  public void onNext(@NonNull T t) {
-                    try {
-                      signal.next(f.apply(t));
-                    } catch (Exception e) {
-                      signal.error(e);
-                    }
-                  }
-
-                  @Override
-                  public void onError(@NonNull Throwable t) {
-                    signal.error(t);
-                  }
-
-                  @Override
-                  public void onComplete() {
-                    signal.complete();
-                    getSubscription().unsubscribe();
-                  }
-                });
+            source.observe(new FusedObserver<>(signal, stages, unsubscribeOnComplete));
         return new Subscription() {
           @Override
           public void onUnsubscribe() {
@@ -643,94 +1099,182 @@ public class Signal<T> {
         };
       }
     }
-  }
 
-  static class ScanSignal<U, T> extends Signal<U> {
+    /**
+     * Runs the stages in order. Failures are handled as the unfused operators did: the nearest map
+     * or filter above the failure errors the signal, and the error flows through the tapError
+     * stages below it.
+     */
+    private static final class FusedObserver<T> extends SubscribeObserver<Object> {
 
-    ScanSignal(
-        final @NonNull Signal<T> sig,
-        U initial,
-        final @NonNull Fn2<? super U, ? super T, ? extends U> f) {
-      super(new ScanSubscriptionFactory<>(sig, initial, f));
-    }
+      private final Signal<T> signal;
+      private final Stage[] stages;
+      private final boolean unsubscribeOnComplete;
 
-    private static class ScanSubscriptionFactory<U, T> implements SubscriptionFactory<U> {
+      FusedObserver(Signal<T> signal, Stage[] stages, boolean unsubscribeOnComplete) {
+        this.signal = signal;
+        this.stages = stages;
+        this.unsubscribeOnComplete = unsubscribeOnComplete;
+      }
 
-      private final Signal<T> sig;
-      private final Fn2<? super U, ? super T, ? extends U> f;
-      private U accum;
-
-      ScanSubscriptionFactory(Signal<T> sig, U initial, Fn2<? super U, ? super T, ? extends U> f) {
-        this.sig = sig;
-        this.f = f;
-        accum = initial;
+      @SuppressWarnings("unchecked")
+      @Override
+      public void onNext(@NonNull Object value) {
+        int guard = -1;
+        try {
+          for (int i = 0; i < stages.length; i++) {
+            Stage stage = stages[i];
+            if (stage.catches) {
+              guard = i;
+            }
+            value = stage.next(value);
+            if (value == Stage.SKIP) {
+              return;
+            }
+          }
+          signal.next((T) value);
+        } catch (Exception e) {
+          if (guard < 0) {
+            throw e;
+          }
+          errorBelow(guard, e);
+        }
       }
 
-      @NonNull
       @Override
-      public Subscription onSubscribe(final @NonNull Signal<U> signal) {
-        final Subscription outer =
-            sig.observe(
-                new SubscribeObserver<T>() {
-                  @Override
-                  public void onNext(@NonNull T t) {
-                    try {
-                      accum = f.apply(accum, t);
-                      signal.next(accum);
-                    } catch (Exception e) {
-                      signal.error(e);
-                    }
-                  }
+      public void onError(@NonNull Throwable t) {
+        error(0, t);
+      }
 
-                  @Override
-                  public void onError(@NonNull Throwable t) {
-                    signal.error(t);
-                  }
+      @Override
+      public void onComplete() {
+        signal.complete();
+        if (unsubscribeOnComplete) {
+          getSubscription().unsubscribe();
+        }
+      }
 
-                  @Override
-                  public void onComplete() {
-                    signal.complete();
-                    getSubscription().unsubscribe();
-                  }
-                });
-        return new Subscription() {
-          @Override
-          public void onUnsubscribe() {
-            outer.unsubscribe();
+      private void errorBelow(int guard, Throwable error) {
+        while (true) {
+          try {
+            error(guard + 1, error);
+            return;
+          } catch (Exception e) {
+            do {
+              guard--;
+            } while (guard >= 0 && !stages[guard].catches);
+            if (guard < 0) {
+              throw e;
+            }
+            error = e;
           }
-        };
+        }
+      }
+
+      private void error(int from, Throwable t) {
+        for (int i = from; i < stages.length; i++) {
+          stages[i].error(t);
+        }
+        signal.error(t);
+      }
+    }
+  }
+
+  /**
+   * One fused operator. A single final class switching on {@link #kind} keeps the user function
+   * the only virtual call per stage, a Stage subclass per operator would make every stage call
+   * site megamorphic.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  static final class Stage {
+
+    static final Object SKIP = new Object();
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int TAP = 2;
+    private static final int TAP_ERROR = 3;
+
+    private final int kind;
+    private final Object f;
+    /** Whether failures in this stage, or below it, error the signal instead of being thrown. */
+    final boolean catches;
+
+    private Stage(int kind, Object f) {
+      this.kind = kind;
+      this.f = f;
+      catches = kind == MAP || kind == FILTER;
+    }
+
+    static Stage map(@NonNull Fn<?, ?> f) {
+      return new Stage(MAP, f);
+    }
+
+    static Stage filter(@NonNull Pred<?> f) {
+      return new Stage(FILTER, f);
+    }
+
+    static Stage tap(@NonNull Consumer<?> consumer) {
+      return new Stage(TAP, consumer);
+    }
+
+    static Stage tapError(@NonNull Consumer<Throwable> consumer) {
+      return new Stage(TAP_ERROR, consumer);
+    }
+
+    /** Returns the value for the next stage, or {@link #SKIP} to drop it. */
+    Object next(Object value) {
+      switch (kind) {
+        case MAP:
+          return ((Fn) f).apply(value);
+        case FILTER:
+          return ((Pred) f).apply(value) ? value : SKIP;
+        case TAP:
+          ((Consumer) f).apply(value);
+          return value;
+        default:
+          return value;
+      }
+    }
+
+    void error(Throwable t) {
+      if (kind == TAP_ERROR) {
+        ((Consumer<Throwable>) f).apply(t);
       }
     }
   }
 
-  static class FilteredSignal<T> extends Signal<T> {
+  static class ScanSignal<U, T> extends Signal<U> {
 
-    FilteredSignal(final @NonNull Signal<T> sig, final @NonNull Pred<? super T> f) {
-      super(new FilteredSubscriptionFactory<>(sig, f));
+    ScanSignal(
+        final @NonNull Signal<T> sig,
+        U initial,
+        final @NonNull Fn2<? super U, ? super T, ? extends U> f) {
+      super(new ScanSubscriptionFactory<>(sig, initial, f));
     }
 
-    private static class FilteredSubscriptionFactory<T> implements SubscriptionFactory<T> {
+    private static class ScanSubscriptionFactory<U, T> implements SubscriptionFactory<U> {
 
       private final Signal<T> sig;
-      private final Pred<? super T> f;
+      private final Fn2<? super U, ? super T, ? extends U> f;
+      private U accum;
 
-      FilteredSubscriptionFactory(Signal<T> sig, Pred<? super T> f) {
+      ScanSubscriptionFactory(Signal<T> sig, U initial, Fn2<? super U, ? super T, ? extends U> f) {
         this.sig = sig;
         this.f = f;
+        accum = initial;
       }
 
       @NonNull
       @Override
-      public Subscription onSubscribe(final @NonNull Signal<T> signal) {
+      public Subscription onSubscribe(final @NonNull Signal<U> signal) {
         final Subscription outer =
             sig.observe(
                 new SubscribeObserver<T>() {
                   @Override
                   public void onNext(@NonNull T t) {
                     try {
-                      if (f.apply(t)) {
-                        signal.next(t);
-                      }
+                      accum = f.apply(accum, t);
+                      signal.next(accum);
                     } catch (Exception e) {
                       signal.error(e);
                     }
@@ -1024,6 +1568,222 @@ public class Signal<T> {
     }
   }
 
+  static class ConcurrentFMappedSignal<U, T> extends Signal<U> {
+
+    ConcurrentFMappedSignal(@NonNull Signal<T> sig, int maxConcurrency, boolean ordered,
+        @NonNull Fn<? super T, ? extends Signal<? extends U>> f) {
+      super(new ConcurrentFMappedSubscriptionFactory<>(sig, maxConcurrency, ordered, f));
+    }
+
+    private static class ConcurrentFMappedSubscriptionFactory<U, T>
+        implements SubscriptionFactory<U> {
+
+      private final Signal<T> sig;
+      private final int maxConcurrency;
+      private final boolean ordered;
+      private final Fn<? super T, ? extends Signal<? extends U>> f;
+
+      ConcurrentFMappedSubscriptionFactory(Signal<T> sig, int maxConcurrency, boolean ordered,
+          Fn<? super T, ? extends Signal<? extends U>> f) {
+        if (maxConcurrency <= 0) {
+          throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.sig = sig;
+        this.maxConcurrency = maxConcurrency;
+        this.ordered = ordered;
+        this.f = f;
+      }
+
+      @NonNull
+      @Override
+      public Subscription onSubscribe(final @NonNull Signal<U> signal) {
+        final ConcurrentFMappedObserver<U, T> observer =
+            new ConcurrentFMappedObserver<>(signal, maxConcurrency, ordered, f);
+        observer.setUpstream(sig.observe(observer));
+        return new Subscription() {
+          @Override
+          public void onUnsubscribe() {
+            observer.cancel();
+          }
+        };
+      }
+    }
+
+    /**
+     * Starts inner signals while fewer than maxConcurrency are active and queues the rest. All
+     * state, and emission, is guarded by the observer's lock since inner signals may emit on
+     * different threads.
+     */
+    private static final class ConcurrentFMappedObserver<U, T> implements Observer<T> {
+
+      private final Signal<U> signal;
+      private final int maxConcurrency;
+      private final boolean ordered;
+      private final Fn<? super T, ? extends Signal<? extends U>> f;
+      /** Upstream values waiting for a free slot. */
+      private final ArrayDeque<T> pending = new ArrayDeque<>();
+      /** Active inner signals in start order, plus completed ones still buffering when ordered. */
+      private final ArrayDeque<Inner> inners = new ArrayDeque<>();
+      private Subscription upstream;
+      private int active;
+      private boolean upstreamDone;
+      private boolean draining;
+      private boolean done;
+
+      ConcurrentFMappedObserver(Signal<U> signal, int maxConcurrency, boolean ordered,
+          Fn<? super T, ? extends Signal<? extends U>> f) {
+        this.signal = signal;
+        this.maxConcurrency = maxConcurrency;
+        this.ordered = ordered;
+        this.f = f;
+      }
+
+      synchronized void setUpstream(Subscription upstream) {
+        this.upstream = upstream;
+        if (done) {
+          upstream.unsubscribe();
+        }
+      }
+
+      @Override
+      public synchronized void onNext(@NonNull T t) {
+        if (done) {
+          return;
+        }
+        pending.add(t);
+        drainPending();
+      }
+
+      @Override
+      public synchronized void onError(@NonNull Throwable t) {
+        fail(t);
+      }
+
+      @Override
+      public synchronized void onComplete() {
+        upstreamDone = true;
+        maybeComplete();
+      }
+
+      synchronized void cancel() {
+        done = true;
+        unsubscribeAll();
+      }
+
+      /** Starts pending values, looping rather than recursing when inner signals are synchronous. */
+      private void drainPending() {
+        if (draining) {
+          return;
+        }
+        draining = true;
+        while (!done && active < maxConcurrency && !pending.isEmpty()) {
+          Signal<? extends U> source;
+          try {
+            source = f.apply(pending.poll());
+          } catch (Exception e) {
+            fail(e);
+            break;
+          }
+          Inner inner = new Inner();
+          inners.add(inner);
+          active++;
+          inner.subscription = source.observe(inner);
+        }
+        draining = false;
+      }
+
+      private void maybeComplete() {
+        if (!done && upstreamDone && active == 0 && pending.isEmpty() && inners.isEmpty()) {
+          done = true;
+          signal.complete();
+          unsubscribeAll();
+        }
+      }
+
+      private void fail(Throwable t) {
+        if (done) {
+          return;
+        }
+        done = true;
+        unsubscribeAll();
+        signal.error(t);
+      }
+
+      private void unsubscribeAll() {
+        if (upstream != null) {
+          upstream.unsubscribe();
+        }
+        for (Inner inner : inners) {
+          if (inner.subscription != null) {
+            inner.subscription.unsubscribe();
+          }
+        }
+        inners.clear();
+        pending.clear();
+      }
+
+      /** Emits the buffered values of the oldest inner signals, dropping the completed ones. */
+      private void drainOrdered() {
+        Inner head;
+        while ((head = inners.peek()) != null && !done) {
+          while (!head.buffer.isEmpty() && !done) {
+            signal.next(head.buffer.poll());
+          }
+          if (!head.completed) {
+            return;
+          }
+          inners.poll();
+        }
+      }
+
+      private final class Inner implements Observer<U> {
+
+        final ArrayDeque<U> buffer = new ArrayDeque<>();
+        Subscription subscription;
+        boolean completed;
+
+        @Override
+        public void onNext(@NonNull U u) {
+          synchronized (ConcurrentFMappedObserver.this) {
+            if (done) {
+              return;
+            }
+            if (!ordered || inners.peek() == this) {
+              signal.next(u);
+            } else {
+              buffer.add(u);
+            }
+          }
+        }
+
+        @Override
+        public void onError(@NonNull Throwable t) {
+          synchronized (ConcurrentFMappedObserver.this) {
+            fail(t);
+          }
+        }
+
+        @Override
+        public void onComplete() {
+          synchronized (ConcurrentFMappedObserver.this) {
+            if (done || completed) {
+              return;
+            }
+            completed = true;
+            active--;
+            if (ordered) {
+              drainOrdered();
+            } else {
+              inners.remove(this);
+            }
+            drainPending();
+            maybeComplete();
+          }
+        }
+      }
+    }
+  }
+
   static class SwitchMappedSignal<U, T> extends Signal<U> {
 
     SwitchMappedSignal(
@@ -1117,28 +1877,31 @@ public class Signal<T> {
     }
   }
 
+  /**
+   * Subscribes one observer to every source, so an emission costs the same whatever the number of
+   * sources. Completes when the last source completes.
+   */
   static class MergedSignal<T> extends Signal<T> {
 
-    MergedSignal(Signal<? extends T> sig1, Signal<? extends T> sig2) {
-      super(new MergedSubscriptionFactory<>(sig1, sig2));
+    MergedSignal(@NonNull List<Signal<? extends T>> sources) {
+      super(new MergedSubscriptionFactory<>(sources));
     }
 
     static class MergedSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
-      final Signal<? extends T> s1;
-      final Signal<? extends T> s2;
+      final List<Signal<? extends T>> sources;
 
-      MergedSubscriptionFactory(Signal<? extends T> sig1, Signal<? extends T> sig2) {
-        s1 = sig1;
-        s2 = sig2;
+      MergedSubscriptionFactory(List<Signal<? extends T>> sources) {
+        this.sources = sources;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
-        final boolean[] completeOnce = {false};
+        final Subscription[] subscriptions = new Subscription[sources.size()];
+        final AtomicInteger remaining = new AtomicInteger(sources.size());
         Observer<T> ob =
-            new SubscribeObserver<T>() {
+            new Observer<T>() {
               @Override
               public void onNext(@NonNull T t) {
                 signal.next(t);
@@ -1151,251 +1914,557 @@ public class Signal<T> {
 
               @Override
               public void onComplete() {
-                if (completeOnce[0]) {
+                if (remaining.decrementAndGet() == 0) {
                   signal.complete();
-                  getSubscription().unsubscribe();
+                  unsubscribeAll(subscriptions);
                 }
-                completeOnce[0] = true;
               }
             };
-        final Subscription sub1 = s1.observe(ob);
-        final Subscription sub2 = s2.observe(ob);
+        if (sources.isEmpty()) {
+          signal.complete();
+        }
+        for (int i = 0; i < subscriptions.length; i++) {
+          subscriptions[i] = sources.get(i).observe(ob);
+        }
         return new Subscription() {
           @Override
           public void onUnsubscribe() {
-            sub1.unsubscribe();
-            sub2.unsubscribe();
+            unsubscribeAll(subscriptions);
           }
         };
       }
+
+      private static void unsubscribeAll(Subscription[] subscriptions) {
+        for (Subscription subscription : subscriptions) {
+          if (subscription != null) {
+            subscription.unsubscribe();
+          }
+        }
+      }
     }
   }
 
   static class TimeoutSignal<T> extends Signal<T> {
 
-    TimeoutSignal(@NonNull Signal<T> source, long timeo, @Nullable String loggingPayload) {
-      super(new TimeoutSubscriptionFactory<>(source, timeo, loggingPayload));
+    TimeoutSignal(@NonNull Signal<T> source, long timeo, @Nullable String loggingPayload,
+        @NonNull Scheduler scheduler) {
+      super(new TimeoutSubscriptionFactory<>(source, timeo, loggingPayload, scheduler));
     }
 
     static class TimeoutSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
       private final Signal<T> source;
       private final long timeo;
+      private final Scheduler scheduler;
       private final TimeoutException ex;
 
-      TimeoutSubscriptionFactory(Signal<T> source, long timeo, @Nullable String loggingPayload) {
+      TimeoutSubscriptionFactory(Signal<T> source, long timeo, @Nullable String loggingPayload,
+          Scheduler scheduler) {
         ex = new TimeoutException(String.format("Timeout after %dms%s", timeo,
             loggingPayload == null
                 ? ""
                 : (": " + loggingPayload)));
         this.source = source;
         this.timeo = timeo;
+        this.scheduler = scheduler;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
-        final Handler h = new Handler(Looper.getMainLooper());
-        final Runnable timeout = () -> signal.error(ex);
-        h.postDelayed(timeout, timeo);
-        final Subscription s =
-            source.observe(
-                new Observer<T>() {
-                  @Override
-                  public void onNext(@NonNull T t) {
-                    h.removeCallbacks(timeout);
-                    h.postDelayed(timeout, timeo);
-                    signal.next(t);
-                  }
-
-                  @Override
-                  public void onError(@NonNull Throwable t) {
-                    h.removeCallbacks(timeout);
-                    signal.error(t);
-                  }
-
-                  @Override
-                  public void onComplete() {
-                    h.removeCallbacks(timeout);
-                    signal.complete();
-                  }
-                });
+        final TimeoutObserver<T> observer = new TimeoutObserver<>(signal, timeo, scheduler, ex);
+        final Subscription s = source.observe(observer);
         return new Subscription() {
           @Override
           protected void onUnsubscribe() {
             super.onUnsubscribe();
-            h.removeCallbacks(timeout);
+            observer.cancel();
             s.unsubscribe();
           }
         };
       }
     }
-  }
 
-  static class RecoverWithSignal<T> extends Signal<T> {
+    /**
+     * Restarts the timer on every value. Whichever of the timer and a terminal event comes first
+     * wins, the other one is dropped.
+     */
+    private static final class TimeoutObserver<T> implements Observer<T>, Runnable {
 
-    RecoverWithSignal(@NonNull Signal<T> source, @NonNull Fn<Throwable, Signal<T>> recoveryF) {
-      super(new RecoverWithSubscriptionFactory<>(source, recoveryF));
-    }
+      private final Signal<T> signal;
+      private final long timeo;
+      private final Scheduler scheduler;
+      private final TimeoutException ex;
+      private Subscription timer;
+      private boolean done;
 
-    static class RecoverWithSubscriptionFactory<T> implements SubscriptionFactory<T> {
+      TimeoutObserver(Signal<T> signal, long timeo, Scheduler scheduler, TimeoutException ex) {
+        this.signal = signal;
+        this.timeo = timeo;
+        this.scheduler = scheduler;
+        this.ex = ex;
+        timer = scheduler.schedule(this, timeo);
+      }
 
-      private final Signal<T> source;
-      private final Fn<Throwable, Signal<T>> recoveryF;
+      @Override
+      public void onNext(@NonNull T t) {
+        synchronized (this) {
+          if (done) {
+            return;
+          }
+          timer.unsubscribe();
+          timer = scheduler.schedule(this, timeo);
+        }
+        signal.next(t);
+      }
 
-      RecoverWithSubscriptionFactory(Signal<T> source, Fn<Throwable, Signal<T>> recoveryF) {
-        this.source = source;
-        this.recoveryF = recoveryF;
+      @Override
+      public void onError(@NonNull Throwable t) {
+        if (cancel()) {
+          signal.error(t);
+        }
       }
 
-      @NonNull
       @Override
-      public Subscription onSubscribe(final @NonNull Signal<T> signal) {
-        final AtomicReference<Subscription> subscription = new AtomicReference<>();
-        final Subscription s =
-            source.observe(
-                new Observer<T>() {
-                  @Override
-                  public void onNext(@NonNull T t) {
-                    signal.next(t);
-                  }
+      public void onComplete() {
+        if (cancel()) {
+          signal.complete();
+        }
+      }
 
-                  @Override
-                  public void onError(@NonNull Throwable t) {
-                    subscription.set(recoveryF.apply(t).forward(signal));
-                  }
+      @Override
+      public void run() {
+        synchronized (this) {
+          if (done) {
+            return;
+          }
+          done = true;
+        }
+        signal.error(ex);
+      }
 
-                  @Override
-                  public void onComplete() {
-                    signal.complete();
-                  }
-                });
-        return new Subscription() {
-          @Override
-          protected void onUnsubscribe() {
-            super.onUnsubscribe();
-            Subscription sub = subscription.get();
-            if (sub != null) {
-              sub.unsubscribe();
+      /** Stops the timer, returns false if the signal already terminated. */
+      synchronized boolean cancel() {
+        if (done) {
+          return false;
+        }
+        done = true;
+        timer.unsubscribe();
+        return true;
+      }
+    }
+  }
+
+  static class BufferSignal<T> extends Signal<List<T>> {
+
+    BufferSignal(@NonNull Signal<T> source, int count, long timeMs,
+        @Nullable Scheduler scheduler) {
+      super(new BatchSubscriptionFactory<>(source, count, timeMs, scheduler,
+          signal -> new BatchObserver<T, List<T>>(count, timeMs, scheduler, signal) {
+            @Override
+            List<T> open() {
+              return new ArrayList<>();
             }
-            s.unsubscribe();
-          }
-        };
+
+            @Override
+            void add(List<T> batch, T t) {
+              batch.add(t);
+            }
+
+            @Override
+            void close(List<T> batch) {
+              signal.next(batch);
+            }
+
+            @Override
+            void error(List<T> batch, Throwable t) {
+            }
+          }));
+    }
+  }
+
+  static class WindowSignal<T> extends Signal<Signal<T>> {
+
+    WindowSignal(@NonNull Signal<T> source, int count, long timeMs,
+        @Nullable Scheduler scheduler) {
+      super(new BatchSubscriptionFactory<>(source, count, timeMs, scheduler,
+          signal -> new BatchObserver<T, Signal<T>>(count, timeMs, scheduler, signal) {
+            @Override
+            Signal<T> open() {
+              Signal<T> window = Signal.create();
+              signal.next(window);
+              return window;
+            }
+
+            @Override
+            void add(Signal<T> window, T t) {
+              window.next(t);
+            }
+
+            @Override
+            void close(Signal<T> window) {
+              window.complete();
+            }
+
+            @Override
+            void error(Signal<T> window, Throwable t) {
+              window.error(t);
+            }
+          }));
+    }
+  }
+
+  private static class BatchSubscriptionFactory<T, R> implements SubscriptionFactory<R> {
+
+    private final Signal<T> source;
+    private final Fn<Signal<R>, BatchObserver<T, ?>> observerFactory;
+
+    BatchSubscriptionFactory(Signal<T> source, int count, long timeMs,
+        @Nullable Scheduler scheduler, Fn<Signal<R>, BatchObserver<T, ?>> observerFactory) {
+      if (count <= 0) {
+        throw new IllegalArgumentException("count must be positive: " + count);
+      }
+      if (timeMs < 0 || (timeMs > 0 && scheduler == null)) {
+        throw new IllegalArgumentException("invalid time limit: " + timeMs);
       }
+      this.source = source;
+      this.observerFactory = observerFactory;
+    }
+
+    @NonNull
+    @Override
+    public Subscription onSubscribe(final @NonNull Signal<R> signal) {
+      final BatchObserver<T, ?> observer = observerFactory.apply(signal);
+      final Subscription s = source.observe(observer);
+      return new Subscription() {
+        @Override
+        protected void onUnsubscribe() {
+          observer.cancel();
+          s.unsubscribe();
+        }
+      };
     }
   }
 
-  static class DelaySignal<T> extends Signal<T> {
+  /**
+   * Groups values into batches closed by size or by a timer started on the first value of each
+   * batch. Events are handled under the observer's lock so a timer flush never reorders batches.
+   *
+   * @param <B> the batch type
+   */
+  private abstract static class BatchObserver<T, B> implements Observer<T> {
+
+    private final int count;
+    private final long timeMs;
+    @Nullable
+    private final Scheduler scheduler;
+    private final Signal<?> signal;
+    private B batch;
+    private int size;
+    private Subscription timer;
+    private boolean done;
 
-    DelaySignal(@NonNull Signal<T> source, long timeo) {
-      super(new DelaySubscriptionFactory<>(source, timeo));
+    BatchObserver(int count, long timeMs, @Nullable Scheduler scheduler, Signal<?> signal) {
+      this.count = count;
+      this.timeMs = timeMs;
+      this.scheduler = scheduler;
+      this.signal = signal;
     }
 
-    static class DelaySubscriptionFactory<T> implements SubscriptionFactory<T> {
+    /** Starts a new batch. */
+    abstract B open();
+
+    abstract void add(B batch, T t);
+
+    /** Emits a full or timed out batch. */
+    abstract void close(B batch);
+
+    /** Called for the open batch when the source errors. */
+    abstract void error(B batch, Throwable t);
+
+    @Override
+    public synchronized void onNext(@NonNull T t) {
+      if (done) {
+        return;
+      }
+      if (batch == null) {
+        final B opened = open();
+        batch = opened;
+        size = 0;
+        if (timeMs > 0) {
+          timer = scheduler.schedule(() -> onTimer(opened), timeMs);
+        }
+      }
+      add(batch, t);
+      if (++size >= count) {
+        flush();
+      }
+    }
+
+    @Override
+    public synchronized void onError(@NonNull Throwable t) {
+      if (done) {
+        return;
+      }
+      done = true;
+      B open = batch;
+      reset();
+      if (open != null) {
+        error(open, t);
+      }
+      signal.error(t);
+    }
+
+    @Override
+    public synchronized void onComplete() {
+      if (done) {
+        return;
+      }
+      done = true;
+      if (batch != null) {
+        flush();
+      }
+      signal.complete();
+    }
+
+    synchronized void cancel() {
+      done = true;
+      reset();
+    }
+
+    private synchronized void onTimer(B expected) {
+      if (!done && batch == expected) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      B full = batch;
+      reset();
+      close(full);
+    }
+
+    /** Drops the open batch and its timer. */
+    private void reset() {
+      batch = null;
+      if (timer != null) {
+        timer.unsubscribe();
+        timer = null;
+      }
+    }
+  }
+
+  static class RateLimitSignal<T> extends Signal<T> {
+
+    static final int THROTTLE_FIRST = 0;
+    static final int THROTTLE_LATEST = 1;
+    static final int DEBOUNCE = 2;
+    static final int SAMPLE = 3;
+
+    RateLimitSignal(@NonNull Signal<T> source, int mode, long timeMs,
+        @NonNull Scheduler scheduler) {
+      super(new RateLimitSubscriptionFactory<>(source, mode, timeMs, scheduler));
+    }
+
+    private static class RateLimitSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
       private final Signal<T> source;
-      private final long delay;
+      private final int mode;
+      private final long timeMs;
+      private final Scheduler scheduler;
 
-      DelaySubscriptionFactory(Signal<T> source, long delay) {
+      RateLimitSubscriptionFactory(Signal<T> source, int mode, long timeMs, Scheduler scheduler) {
+        if (timeMs <= 0) {
+          throw new IllegalArgumentException("time must be positive: " + timeMs);
+        }
         this.source = source;
-        this.delay = delay;
+        this.mode = mode;
+        this.timeMs = timeMs;
+        this.scheduler = scheduler;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
-        final Handler h = new Handler(Looper.getMainLooper());
-        final Subscription s =
-            source.observe(
-                new Observer<T>() {
-                  @Override
-                  public void onNext(@NonNull T t) {
-                    h.postDelayed(() -> signal.next(t), delay);
-                  }
-
-                  @Override
-                  public void onError(@NonNull Throwable t) {
-                    h.postDelayed(() -> signal.error(t), delay);
-                  }
-
-                  @Override
-                  public void onComplete() {
-                    h.postDelayed(signal::complete, delay);
-                  }
-                });
+        final RateLimitObserver<T> observer =
+            new RateLimitObserver<>(signal, mode, timeMs, scheduler);
+        final Subscription s = source.observe(observer);
         return new Subscription() {
           @Override
           protected void onUnsubscribe() {
-            super.onUnsubscribe();
-            h.removeCallbacksAndMessages(null);
+            observer.cancel();
             s.unsubscribe();
           }
         };
       }
     }
+
+    /**
+     * Holds at most one pending value and one timer. Values are emitted under the observer's lock
+     * so a timer emission never races one from upstream.
+     */
+    private static final class RateLimitObserver<T> implements Observer<T>, Runnable {
+
+      private final Signal<T> signal;
+      private final int mode;
+      private final long timeMs;
+      private final Scheduler scheduler;
+      private T pending;
+      private Subscription timer;
+      /** End of the current window for throttleFirst, or of the quiet period for debounce. */
+      private long deadline;
+      private boolean emitted;
+      private boolean done;
+
+      RateLimitObserver(Signal<T> signal, int mode, long timeMs, Scheduler scheduler) {
+        this.signal = signal;
+        this.mode = mode;
+        this.timeMs = timeMs;
+        this.scheduler = scheduler;
+      }
+
+      @Override
+      public synchronized void onNext(@NonNull T t) {
+        if (done) {
+          return;
+        }
+        switch (mode) {
+          case THROTTLE_FIRST:
+            long now = scheduler.now();
+            if (!emitted || now >= deadline) {
+              emitted = true;
+              deadline = now + timeMs;
+              signal.next(t);
+            }
+            break;
+          case THROTTLE_LATEST:
+            if (timer == null) {
+              timer = scheduler.schedule(this, timeMs);
+              signal.next(t);
+            } else {
+              pending = t;
+            }
+            break;
+          case DEBOUNCE:
+            // Moves the deadline instead of rescheduling, the timer re-arms itself if it fires
+            // early.
+            pending = t;
+            deadline = scheduler.now() + timeMs;
+            if (timer == null) {
+              timer = scheduler.schedule(this, timeMs);
+            }
+            break;
+          default:
+            pending = t;
+            if (timer == null) {
+              timer = scheduler.schedule(this, timeMs);
+            }
+            break;
+        }
+      }
+
+      @Override
+      public synchronized void run() {
+        if (done || timer == null) {
+          return;
+        }
+        timer = null;
+        if (mode == DEBOUNCE) {
+          long remaining = deadline - scheduler.now();
+          if (remaining > 0) {
+            timer = scheduler.schedule(this, remaining);
+            return;
+          }
+        }
+        if (pending == null) {
+          return;
+        }
+        T next = pending;
+        pending = null;
+        if (mode == THROTTLE_LATEST) {
+          timer = scheduler.schedule(this, timeMs);
+        }
+        signal.next(next);
+      }
+
+      @Override
+      public synchronized void onError(@NonNull Throwable t) {
+        if (done) {
+          return;
+        }
+        cancel();
+        signal.error(t);
+      }
+
+      @Override
+      public synchronized void onComplete() {
+        if (done) {
+          return;
+        }
+        T last = pending;
+        cancel();
+        if (last != null) {
+          signal.next(last);
+        }
+        signal.complete();
+      }
+
+      synchronized void cancel() {
+        done = true;
+        pending = null;
+        if (timer != null) {
+          timer.unsubscribe();
+          timer = null;
+        }
+      }
+    }
   }
 
-  static class CountDownTimerSignal<T> extends Signal<T> {
+  static class RecoverWithSignal<T> extends Signal<T> {
 
-    CountDownTimerSignal(@NonNull Signal<T> source, long millisInFuture, long countDownInterval) {
-      super(new CountDownTimerSubscriptionFactory<>(source, millisInFuture, countDownInterval));
+    RecoverWithSignal(@NonNull Signal<T> source, @NonNull Fn<Throwable, Signal<T>> recoveryF) {
+      super(new RecoverWithSubscriptionFactory<>(source, recoveryF));
     }
 
-    static class CountDownTimerSubscriptionFactory<T> implements SubscriptionFactory<T> {
+    static class RecoverWithSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
       private final Signal<T> source;
-      private final long millisInFuture;
-      private final long countDownInterval;
+      private final Fn<Throwable, Signal<T>> recoveryF;
 
-      CountDownTimerSubscriptionFactory(
-          Signal<T> source, long millisInFuture, long countDownInterval) {
+      RecoverWithSubscriptionFactory(Signal<T> source, Fn<Throwable, Signal<T>> recoveryF) {
         this.source = source;
-        this.millisInFuture = millisInFuture;
-        this.countDownInterval = countDownInterval;
+        this.recoveryF = recoveryF;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
-        final CountDownTimer[] timer = new CountDownTimer[1];
+        final AtomicReference<Subscription> subscription = new AtomicReference<>();
         final Subscription s =
             source.observe(
                 new Observer<T>() {
                   @Override
                   public void onNext(@NonNull T t) {
-                    timer[0] =
-                        new CountDownTimer(millisInFuture, countDownInterval) {
-                          @Override
-                          public void onTick(long millisUntilFinished) {
-                            @SuppressWarnings("unchecked") final T castT = (T) Long
-                                .valueOf(millisUntilFinished);
-                            signal.next(castT);
-                          }
-
-                          @Override
-                          public void onFinish() {
-                            signal.complete();
-                          }
-                        };
-                    timer[0].start();
+                    signal.next(t);
                   }
 
                   @Override
                   public void onError(@NonNull Throwable t) {
-                    signal.error(t);
+                    subscription.set(recoveryF.apply(t).forward(signal));
                   }
 
                   @Override
                   public void onComplete() {
+                    signal.complete();
                   }
                 });
         return new Subscription() {
           @Override
           protected void onUnsubscribe() {
             super.onUnsubscribe();
-            CountDownTimer countDownTimer = timer[0];
-            if (countDownTimer != null) {
-              countDownTimer.cancel();
+            Subscription sub = subscription.get();
+            if (sub != null) {
+              sub.unsubscribe();
             }
             s.unsubscribe();
           }
@@ -1404,47 +2473,71 @@ public class Signal<T> {
     }
   }
 
-  static class TapSignal<T> extends Signal<T> {
+  static class DelaySignal<T> extends Signal<T> {
 
-    TapSignal(@NonNull Signal<T> source, Consumer<T> consumer) {
-      super(new TapSubscriptionFactory<>(source, consumer));
+    DelaySignal(@NonNull Signal<T> source, long timeo, @NonNull Scheduler scheduler) {
+      super(new DelaySubscriptionFactory<>(source, timeo, scheduler));
     }
 
-    static class TapSubscriptionFactory<T> implements SubscriptionFactory<T> {
+    static class DelaySubscriptionFactory<T> implements SubscriptionFactory<T> {
 
       private final Signal<T> source;
-      private final Consumer<T> consumer;
+      private final long delay;
+      private final Scheduler scheduler;
 
-      TapSubscriptionFactory(Signal<T> source, Consumer<T> consumer) {
+      DelaySubscriptionFactory(Signal<T> source, long delay, Scheduler scheduler) {
         this.source = source;
-        this.consumer = consumer;
+        this.delay = delay;
+        this.scheduler = scheduler;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
+        final Set<Subscription> pending = new HashSet<>();
         final Subscription s =
             source.observe(
                 new Observer<T>() {
                   @Override
                   public void onNext(@NonNull T t) {
-                    consumer.apply(t);
-                    signal.next(t);
+                    post(() -> signal.next(t));
                   }
 
                   @Override
                   public void onError(@NonNull Throwable t) {
-                    signal.error(t);
+                    post(() -> signal.error(t));
                   }
 
                   @Override
                   public void onComplete() {
-                    signal.complete();
+                    post(signal::complete);
+                  }
+
+                  private void post(Runnable emission) {
+                    final Subscription[] task = new Subscription[1];
+                    synchronized (pending) {
+                      task[0] = scheduler.schedule(() -> {
+                        synchronized (pending) {
+                          if (!pending.remove(task[0])) {
+                            return;
+                          }
+                        }
+                        emission.run();
+                      }, delay);
+                      pending.add(task[0]);
+                    }
                   }
                 });
         return new Subscription() {
           @Override
           protected void onUnsubscribe() {
+            super.onUnsubscribe();
+            synchronized (pending) {
+              for (Subscription task : pending) {
+                task.unsubscribe();
+              }
+              pending.clear();
+            }
             s.unsubscribe();
           }
         };
@@ -1452,31 +2545,45 @@ public class Signal<T> {
     }
   }
 
-  static class TapCompleteSignal<T> extends Signal<T> {
+  static class CountDownTimerSignal<T> extends Signal<T> {
 
-    TapCompleteSignal(@NonNull Signal<T> source, Runnable consumer) {
-      super(new TapCompleteSubscriptionFactory<>(source, consumer));
+    CountDownTimerSignal(@NonNull Signal<T> source, long millisInFuture, long countDownInterval,
+        @NonNull Scheduler scheduler) {
+      super(new CountDownTimerSubscriptionFactory<>(source, millisInFuture, countDownInterval,
+          scheduler));
     }
 
-    static class TapCompleteSubscriptionFactory<T> implements SubscriptionFactory<T> {
+    static class CountDownTimerSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
       private final Signal<T> source;
-      private final Runnable consumer;
+      private final long millisInFuture;
+      private final long countDownInterval;
+      private final Scheduler scheduler;
 
-      TapCompleteSubscriptionFactory(Signal<T> source, Runnable consumer) {
+      CountDownTimerSubscriptionFactory(
+          Signal<T> source, long millisInFuture, long countDownInterval, Scheduler scheduler) {
         this.source = source;
-        this.consumer = consumer;
+        this.millisInFuture = millisInFuture;
+        this.countDownInterval = countDownInterval;
+        this.scheduler = scheduler;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
+        final AtomicReference<CountDown<T>> timer = new AtomicReference<>();
         final Subscription s =
             source.observe(
                 new Observer<T>() {
                   @Override
                   public void onNext(@NonNull T t) {
-                    signal.next(t);
+                    CountDown<T> countDown =
+                        new CountDown<>(signal, scheduler, millisInFuture, countDownInterval);
+                    CountDown<T> previous = timer.getAndSet(countDown);
+                    if (previous != null) {
+                      previous.cancel();
+                    }
+                    countDown.start();
                   }
 
                   @Override
@@ -1486,32 +2593,87 @@ public class Signal<T> {
 
                   @Override
                   public void onComplete() {
-                    consumer.run();
-                    signal.complete();
                   }
                 });
         return new Subscription() {
           @Override
           protected void onUnsubscribe() {
+            super.onUnsubscribe();
+            CountDown<T> countDown = timer.get();
+            if (countDown != null) {
+              countDown.cancel();
+            }
             s.unsubscribe();
           }
         };
       }
     }
+
+    /** Mirrors {@link android.os.CountDownTimer} on top of a {@link Scheduler}. */
+    private static final class CountDown<T> implements Runnable {
+
+      private final Signal<T> signal;
+      private final Scheduler scheduler;
+      private final long millisInFuture;
+      private final long countDownInterval;
+      private long stopTime;
+      private Subscription tick;
+      private boolean cancelled;
+
+      CountDown(Signal<T> signal, Scheduler scheduler, long millisInFuture,
+          long countDownInterval) {
+        this.signal = signal;
+        this.scheduler = scheduler;
+        this.millisInFuture = millisInFuture;
+        this.countDownInterval = countDownInterval;
+      }
+
+      synchronized void start() {
+        stopTime = scheduler.now() + millisInFuture;
+        tick = scheduler.schedule(this, 0);
+      }
+
+      synchronized void cancel() {
+        cancelled = true;
+        if (tick != null) {
+          tick.unsubscribe();
+        }
+      }
+
+      @Override
+      public void run() {
+        long millisLeft;
+        synchronized (this) {
+          if (cancelled) {
+            return;
+          }
+          millisLeft = stopTime - scheduler.now();
+          if (millisLeft > 0) {
+            tick = scheduler.schedule(this, Math.min(millisLeft, countDownInterval));
+          }
+        }
+        if (millisLeft <= 0) {
+          signal.complete();
+          return;
+        }
+        @SuppressWarnings("unchecked") final T castT = (T) Long.valueOf(millisLeft);
+        signal.next(castT);
+      }
+    }
   }
 
-  static class TapErrorSignal<T> extends Signal<T> {
+  static class TapCompleteSignal<T> extends Signal<T> {
 
-    TapErrorSignal(@NonNull Signal<T> source, Consumer<Throwable> consumer) {
-      super(new TapErrorSubscriptionFactory<>(source, consumer));
+    TapCompleteSignal(@NonNull Signal<T> source, Runnable consumer) {
+      super(new TapCompleteSubscriptionFactory<>(source, consumer));
     }
 
-    static class TapErrorSubscriptionFactory<T> implements SubscriptionFactory<T> {
+    static class TapCompleteSubscriptionFactory<T> implements SubscriptionFactory<T> {
 
       private final Signal<T> source;
-      private final Consumer<Throwable> consumer;
+      private final Runnable consumer;
 
-      TapErrorSubscriptionFactory(Signal<T> source, Consumer<Throwable> consumer) {
+      TapCompleteSubscriptionFactory(Signal<T> source, Runnable consumer) {
         this.source = source;
         this.consumer = consumer;
       }
@@ -1529,12 +2691,12 @@ public class Signal<T> {
 
                   @Override
                   public void onError(@NonNull Throwable t) {
-                    consumer.apply(t);
                     signal.error(t);
                   }
 
                   @Override
                   public void onComplete() {
+                    consumer.run();
                     signal.complete();
                   }
                 });
@@ -1744,44 +2906,273 @@ public class Signal<T> {
   static class ObserveOnSignal<T> extends Signal<T> {
 
     ObserveOnSignal(final @NonNull Signal<T> sig, final @NonNull Executor executor) {
-      super(new ObserveOnSignalSubscriptionFactory<>(sig, executor));
+      super(new ObserveOnSignalSubscriptionFactory<>(sig, executor, Integer.MAX_VALUE,
+          OverflowPolicy.ERROR, null));
+    }
+  }
+
+  /** What a bounded {@link #onBackpressureBuffer} does with an item that does not fit. */
+  public enum OverflowPolicy {
+    /** Drop the oldest buffered item to make room for the new one. */
+    DROP_OLDEST,
+    /** Drop the new item. */
+    DROP_LATEST,
+    /** Discard the buffer and error the signal with an {@link IllegalStateException}. */
+    ERROR
+  }
+
+  /**
+   * Signal returned by the {@code onBackpressure} operators. Counts the items dropped across all
+   * of its subscriptions.
+   */
+  public static final class BackpressureSignal<T> extends Signal<T> {
+
+    private final AtomicLong dropped;
+
+    BackpressureSignal(@NonNull Signal<T> sig, @NonNull Executor executor, int capacity,
+        @NonNull OverflowPolicy policy) {
+      this(sig, executor, capacity, policy, new AtomicLong());
     }
 
-    private static class ObserveOnSignalSubscriptionFactory<T> implements SubscriptionFactory<T> {
+    private BackpressureSignal(Signal<T> sig, Executor executor, int capacity,
+        OverflowPolicy policy, AtomicLong dropped) {
+      super(new ObserveOnSignalSubscriptionFactory<>(sig, executor, capacity, policy, dropped));
+      this.dropped = dropped;
+    }
 
-      private final Signal<T> sig;
+    /** Returns the number of items dropped so far. */
+    public long getDroppedCount() {
+      return dropped.get();
+    }
+  }
+
+  private static class ObserveOnSignalSubscriptionFactory<T> implements SubscriptionFactory<T> {
+
+    private final Signal<T> sig;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    @Nullable
+    private final AtomicLong dropped;
+
+    ObserveOnSignalSubscriptionFactory(@NonNull Signal<T> sig, @NonNull Executor executor,
+        int capacity, @NonNull OverflowPolicy policy, @Nullable AtomicLong dropped) {
+      this.sig = sig;
+      this.executor = executor;
+      this.capacity = capacity;
+      this.policy = policy;
+      this.dropped = dropped;
+    }
+
+    @NonNull
+    @Override
+    public Subscription onSubscribe(final @NonNull Signal<T> signal) {
+      ObserveOnObserver<T> observer =
+          new ObserveOnObserver<>(signal, executor, capacity, policy, dropped);
+      final Subscription outer = sig.observe(observer);
+      observer.setUpstream(outer);
+      return new Subscription() {
+        @Override
+        public void onUnsubscribe() {
+          outer.unsubscribe();
+        }
+      };
+    }
+  }
+
+  /**
+   * Queues events and drains them with a single task on the executor, so only one runnable is in
+   * flight per subscription and events are never reordered. At most {@code capacity} items are
+   * queued, terminal events are always kept.
+   */
+  private static final class ObserveOnObserver<T> implements Observer<T>, Runnable {
+
+    private static final Object COMPLETE = new Object();
+
+    private final Signal<T> signal;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    @Nullable
+    private final AtomicLong dropped;
+    private final ArrayDeque<T> queue = new ArrayDeque<>();
+    private Subscription upstream;
+    /** COMPLETE or an ErrorEvent, delivered once the queue is drained. */
+    private Object terminal;
+    private boolean scheduled;
+
+    ObserveOnObserver(Signal<T> signal, Executor executor, int capacity, OverflowPolicy policy,
+        @Nullable AtomicLong dropped) {
+      this.signal = signal;
+      this.executor = executor;
+      this.capacity = capacity;
+      this.policy = policy;
+      this.dropped = dropped;
+    }
+
+    void setUpstream(Subscription upstream) {
+      boolean overflowed;
+      synchronized (this) {
+        this.upstream = upstream;
+        overflowed = terminal instanceof ErrorEvent && ((ErrorEvent) terminal).overflow;
+      }
+      if (overflowed) {
+        upstream.unsubscribe();
+      }
+    }
+
+    @Override
+    public void onNext(@NonNull T t) {
+      Subscription overflowed = null;
+      synchronized (this) {
+        if (terminal != null) {
+          return;
+        }
+        if (queue.size() >= capacity) {
+          switch (policy) {
+            case DROP_LATEST:
+              countDropped();
+              return;
+            case DROP_OLDEST:
+              queue.poll();
+              countDropped();
+              break;
+            case ERROR:
+              queue.clear();
+              terminal = new ErrorEvent(new IllegalStateException(
+                  "Backpressure buffer overflowed, capacity " + capacity), true);
+              overflowed = upstream;
+              break;
+          }
+        }
+        if (terminal == null) {
+          queue.add(t);
+        }
+      }
+      if (overflowed != null) {
+        overflowed.unsubscribe();
+      }
+      schedule();
+    }
+
+    @Override
+    public void onError(@NonNull Throwable t) {
+      synchronized (this) {
+        if (terminal != null) {
+          return;
+        }
+        terminal = new ErrorEvent(t, false);
+      }
+      schedule();
+    }
+
+    @Override
+    public void onComplete() {
+      synchronized (this) {
+        if (terminal != null) {
+          return;
+        }
+        terminal = COMPLETE;
+      }
+      schedule();
+    }
+
+    private void countDropped() {
+      if (dropped != null) {
+        dropped.incrementAndGet();
+      }
+    }
+
+    private void schedule() {
+      synchronized (this) {
+        if (scheduled) {
+          return;
+        }
+        scheduled = true;
+      }
+      executor.execute(this);
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        T next;
+        Object end = null;
+        synchronized (this) {
+          next = queue.poll();
+          if (next == null) {
+            end = terminal;
+            if (end == null) {
+              scheduled = false;
+              return;
+            }
+          }
+        }
+        if (next != null) {
+          signal.next(next);
+        } else if (end == COMPLETE) {
+          signal.complete();
+          return;
+        } else {
+          signal.error(((ErrorEvent) end).error);
+          return;
+        }
+      }
+    }
+  }
+
+  private static final class ErrorEvent {
+
+    final Throwable error;
+    final boolean overflow;
+
+    ErrorEvent(Throwable error, boolean overflow) {
+      this.error = error;
+      this.overflow = overflow;
+    }
+  }
+
+  static class SubscribeOnSignal<T> extends Signal<T> {
+
+    SubscribeOnSignal(final @NonNull Signal<T> source, final @NonNull Executor executor) {
+      super(new SubscribeOnSubscriptionFactory<>(source, executor));
+    }
+
+    private static class SubscribeOnSubscriptionFactory<T> implements SubscriptionFactory<T> {
+
+      private final Signal<T> source;
       private final Executor executor;
 
-      ObserveOnSignalSubscriptionFactory(@NonNull Signal<T> sig, @NonNull Executor executor) {
-        this.sig = sig;
+      SubscribeOnSubscriptionFactory(@NonNull Signal<T> source, @NonNull Executor executor) {
+        this.source = source;
         this.executor = executor;
       }
 
       @NonNull
       @Override
       public Subscription onSubscribe(final @NonNull Signal<T> signal) {
-        final Subscription outer =
-            sig.observe(
-                new SubscribeObserver<T>() {
-                  @Override
-                  public void onNext(@NonNull T t) {
-                    executor.execute(() -> signal.next(t));
-                  }
-
-                  @Override
-                  public void onError(@NonNull Throwable t) {
-                    executor.execute(() -> signal.error(t));
-                  }
-
-                  @Override
-                  public void onComplete() {
-                    executor.execute(signal::complete);
-                  }
-                });
+        final AtomicBoolean unsubscribed = new AtomicBoolean();
+        final AtomicReference<Subscription> upstream = new AtomicReference<>();
+        executor.execute(() -> {
+          if (unsubscribed.get()) {
+            return;
+          }
+          upstream.set(source.forward(signal));
+          if (unsubscribed.get()) {
+            Subscription s = upstream.getAndSet(null);
+            if (s != null) {
+              s.unsubscribe();
+            }
+          }
+        });
         return new Subscription() {
           @Override
-          public void onUnsubscribe() {
-            outer.unsubscribe();
+          protected void onUnsubscribe() {
+            unsubscribed.set(true);
+            Subscription s = upstream.getAndSet(null);
+            if (s != null) {
+              s.unsubscribe();
+            }
           }
         };
       }
@@ -1790,7 +3181,8 @@ public class Signal<T> {
 
   public static class Subscription {
 
-    private boolean unsubscribed = false;
+    /** Read by {@link #isUnsubscribed()} from other threads than the one that unsubscribes. */
+    private volatile boolean unsubscribed = false;
 
     /**
      * Subclasses should override for custom behavior
@@ -1804,6 +3196,11 @@ public class Signal<T> {
         unsubscribed = true;
       }
     }
+
+    /** Returns true once {@link #unsubscribe()} has been called. */
+    public final boolean isUnsubscribed() {
+      return unsubscribed;
+    }
   }
 
   abstract static class SubscribeObserver<T> implements Observer<T>, OnSubscribe {
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in debugging aid that keeps track of every live {@link Subscription}, grouped by the type of
+ * the observed signal and the first caller outside of the rx classes.
+ *
+ * <p>Tracking is off by default. While it is off {@link Signal#observe} only reads one flag and
+ * emissions are not affected at all. While it is on every subscribe captures a stack trace, so
+ * only enable it in debug builds or tests.
+ */
+public final class SubscriptionTracker {
+
+  /** Classes whose frames are skipped when looking for the subscribe site. */
+  private static final String[] INTERNAL_CLASSES = {
+      Signal.class.getName(),
+      SubscriptionTracker.class.getName(),
+      ReactiveStreams.class.getName(),
+      Executors.class.getName(),
+      Schedulers.class.getName(),
+      HashedWheelScheduler.class.getName(),
+      VirtualTimeScheduler.class.getName()
+  };
+  private static final Set<Tracked> live =
+      Collections.newSetFromMap(new ConcurrentHashMap<Tracked, Boolean>());
+  static volatile boolean enabled;
+
+  private SubscriptionTracker() {
+    // Utility class.
+  }
+
+  /**
+   * Starts or stops tracking new subscriptions. Subscriptions made while tracking was on stay
+   * tracked until they are unsubscribed or {@link #reset()} is called.
+   */
+  public static void setEnabled(boolean enabled) {
+    SubscriptionTracker.enabled = enabled;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Forgets all tracked subscriptions. */
+  public static void reset() {
+    live.clear();
+  }
+
+  /**
+   * Returns the live subscriptions grouped by signal type and subscribe site, largest groups first.
+   */
+  @NonNull
+  public static List<Entry> snapshot() {
+    Map<String, Entry> entries = new LinkedHashMap<>();
+    for (Tracked tracked : live) {
+      String key = tracked.operator + '@' + tracked.site;
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry(tracked.operator, tracked.site);
+        entries.put(key, entry);
+      }
+      entry.live++;
+      if (tracked.signal.isComplete() || tracked.signal.hasError()) {
+        entry.outlivedSource++;
+      }
+    }
+    List<Entry> result = new ArrayList<>(entries.values());
+    Collections.sort(result, (a, b) -> Integer.compare(b.live, a.live));
+    return result;
+  }
+
+  /** Returns a subscription that stops tracking when <code>subscription</code> is unsubscribed. */
+  static Subscription track(@NonNull Signal<?> signal, @NonNull Subscription subscription) {
+    Tracked tracked = new Tracked(signal, signal.getClass().getSimpleName(), callerSite());
+    live.add(tracked);
+    return new Subscription() {
+      @Override
+      protected void onUnsubscribe() {
+        live.remove(tracked);
+        subscription.unsubscribe();
+      }
+    };
+  }
+
+  private static String callerSite() {
+    for (StackTraceElement element : new Throwable().getStackTrace()) {
+      if (!isInternal(element.getClassName())) {
+        return element.toString();
+      }
+    }
+    return "unknown";
+  }
+
+  private static boolean isInternal(String className) {
+    for (String internal : INTERNAL_CLASSES) {
+      if (className.startsWith(internal)
+          && (className.length() == internal.length()
+          || className.charAt(internal.length()) == '$')) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Live subscriptions for one signal type and subscribe site. */
+  public static final class Entry {
+
+    private final String operator;
+    private final String site;
+    private int live;
+    private int outlivedSource;
+
+    Entry(String operator, String site) {
+      this.operator = operator;
+      this.site = site;
+    }
+
+    /** Simple class name of the observed signal, e.g. {@code FusedSignal}. */
+    @NonNull
+    public String getOperator() {
+      return operator;
+    }
+
+    /** First stack frame outside of the rx classes when the subscription was made. */
+    @NonNull
+    public String getSite() {
+      return site;
+    }
+
+    /** Number of subscriptions that have not been unsubscribed. */
+    public int getLive() {
+      return live;
+    }
+
+    /**
+     * Number of live subscriptions whose signal already completed or errored. They no longer
+     * receive values but still hold on to everything their observer references.
+     */
+    public int getOutlivedSource() {
+      return outlivedSource;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      return operator + " at " + site + ": live=" + live + ", outlivedSource=" + outlivedSource;
+    }
+  }
+
+  private static final class Tracked {
+
+    final Signal<?> signal;
+    final String operator;
+    final String site;
+
+    Tracked(Signal<?> signal, String operator, String site) {
+      this.signal = signal;
+      this.operator = operator;
+      this.site = site;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import androidx.annotation.NonNull;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link Scheduler} driven by a virtual clock, for tests. Time only moves when
+ * {@link #advanceBy(long)} or {@link #advanceTo(long)} is called, and due tasks run on the calling
+ * thread in deadline order.
+ */
+public final class VirtualTimeScheduler implements Scheduler {
+
+  private final PriorityQueue<ScheduledTask> tasks = new PriorityQueue<>();
+  private long now;
+  private long sequence;
+
+  @NonNull
+  @Override
+  public synchronized Subscription schedule(@NonNull Runnable task, long delayMs) {
+    ScheduledTask scheduled = new ScheduledTask(task, now + Math.max(0, delayMs), sequence++);
+    tasks.add(scheduled);
+    return scheduled;
+  }
+
+  @Override
+  public synchronized long now() {
+    return now;
+  }
+
+  /** Moves the clock forward by <code>delayMs</code>, running every task that becomes due. */
+  public void advanceBy(long delayMs) {
+    advanceTo(now() + delayMs);
+  }
+
+  /** Moves the clock to <code>timeMs</code>, running every task that becomes due. */
+  public void advanceTo(long timeMs) {
+    while (true) {
+      ScheduledTask next;
+      synchronized (this) {
+        next = tasks.peek();
+        if (next == null || next.deadline > timeMs) {
+          now = Math.max(now, timeMs);
+          return;
+        }
+        tasks.poll();
+        now = Math.max(now, next.deadline);
+      }
+      next.task.run();
+    }
+  }
+
+  /** Runs the tasks that are due at the current time. */
+  public void triggerActions() {
+    advanceTo(now());
+  }
+
+  /** Returns the number of tasks waiting to run. */
+  public synchronized int getPendingTaskCount() {
+    return tasks.size();
+  }
+
+  private synchronized void cancel(ScheduledTask task) {
+    tasks.remove(task);
+  }
+
+  private final class ScheduledTask extends Subscription implements Comparable<ScheduledTask> {
+
+    private final Runnable task;
+    private final long deadline;
+    private final long sequence;
+
+    ScheduledTask(Runnable task, long deadline, long sequence) {
+      this.task = task;
+      this.deadline = deadline;
+      this.sequence = sequence;
+    }
+
+    @Override
+    protected void onUnsubscribe() {
+      cancel(this);
+    }
+
+    @Override
+    public int compareTo(ScheduledTask other) {
+      if (deadline != other.deadline) {
+        return deadline < other.deadline ? -1 : 1;
+      }
+      return Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import com.google.android.jacquard.sdk.JacquardManager;
 import com.google.android.jacquard.sdk.command.NotificationSubscription;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
 import com.google.android.jacquard.sdk.dfu.DfuManager;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.android.jacquard.sdk.model.GearState;
 import com.google.android.jacquard.sdk.model.Module;
@@ -74,10 +75,24 @@ public interface ConnectedJacquardTag extends JacquardTag {
    */
   <Res> Signal<Res> subscribe(NotificationSubscription<Res> notificationSubscription);
 
+  /** Returns reassembled data packets received over the raw characteristic. */
   Signal<Pair<Integer, byte[]>> getDataTransport();
 
+  /**
+   * Same as {@link #getDataTransport()} but emitted on the connection's I/O thread, for modules
+   * that process the packets before handing results to the main thread.
+   */
+  Signal<Pair<Integer, byte[]>> getDataTransportOnIoThread();
+
+  /** Returns data received over the raw characteristic. */
   Signal<byte[]> getRawData();
 
+  /**
+   * Same as {@link #getRawData()} but emitted on the connection's I/O thread, for modules that
+   * parse the data before handing results to the main thread.
+   */
+  Signal<byte[]> getRawDataOnIoThread();
+
   Signal<List<Module>> getRemoteModules();
 
   /**
@@ -91,7 +106,8 @@ public interface ConnectedJacquardTag extends JacquardTag {
   void requestConnectionPriority(int priority);
 
   /**
-   * Sends a request to the tag.
+   * Sends a request to the tag. Identical reads enqueued with the same retries and timeout while
+   * one of them is in flight share its round trip and response.
    * @param request the request to execute
    * @param <Res> type of the result emitted
    * @param <Request> type of the request
@@ -120,6 +136,30 @@ public interface ConnectedJacquardTag extends JacquardTag {
    */
   <Res, Request extends ProtoCommandRequest<Res>> Signal<Res> enqueue(Request request);
 
+  /**
+   * Serves repeated read-only requests, such as {@link
+   * com.google.android.jacquard.sdk.command.ListModulesCommand}, from memory for
+   * <code>ttlMs</code> milliseconds. Any other request clears the cached responses. Defaults to 0,
+   * identical reads still share a round trip while one of them is waiting for the tag.
+   *
+   * @param ttlMs how long a response may be reused, 0 disables caching
+   */
+  void setReadCacheTtl(long ttlMs);
+
+  /**
+   * Writes data sent with {@link #sendData(byte[])} and acks for received data without waiting
+   * for a response from the tag, falling back to write with response while the bluetooth stack
+   * is congested. Off by default.
+   */
+  void setRawWriteWithoutResponse(boolean enabled);
+
+  /**
+   * Returns the transport metrics of this connection, e.g. round trip times per opcode, retries
+   * and bytes per characteristic. Use {@link TransportMetrics#logPeriodically(long)} to dump them
+   * to the log.
+   */
+  TransportMetrics getTransportMetrics();
+
   /** Send non-fragmented data to the ujt over data/raw characteristics. */
   Signal<Boolean> sendData(byte[] packet);
 
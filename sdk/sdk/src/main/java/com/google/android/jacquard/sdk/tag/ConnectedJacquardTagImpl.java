@@ -35,19 +35,24 @@ import com.google.android.jacquard.sdk.datastore.DataProvider;
 import com.google.android.jacquard.sdk.dfu.DfuManager;
 import com.google.android.jacquard.sdk.dfu.DfuManagerImpl;
 import com.google.android.jacquard.sdk.initialization.Transport;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.Component;
 import com.google.android.jacquard.sdk.model.GearState;
 import com.google.android.jacquard.sdk.model.Module;
 import com.google.android.jacquard.sdk.model.Peripheral.WriteType;
 import com.google.android.jacquard.sdk.model.TouchMode;
+import com.google.android.jacquard.sdk.rx.Executors;
 import com.google.android.jacquard.sdk.rx.Fn;
+import com.google.android.jacquard.sdk.rx.Schedulers;
 import com.google.android.jacquard.sdk.rx.Signal;
 import com.google.android.jacquard.sdk.rx.Signal.Subscription;
 import com.google.android.jacquard.sdk.util.Objects;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
 import com.google.atap.jacquard.protocol.JacquardProtocol.BleConfiguration;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Notification;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
+import com.google.protobuf.GeneratedMessageLite.GeneratedExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -60,6 +65,8 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
   private final Signal<GearState> componentSignal;
   /** Provides access to executing command and receiving notification from the tag. */
   private final Transport transport;
+  /** Shares identical read requests and caches their responses. */
+  private final RequestCoalescer coalescer = new RequestCoalescer(Schedulers.timer());
   /** Provides access to executing firmware update. */
   DfuManager dfuManager;
   /** Tag component with deviceInfo. */
@@ -162,11 +169,13 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
 
   @Override
   public <Res, Request extends ProtoCommandRequest<Res>> Signal<Res> enqueue(Request request, int retries, long timeout) {
-    return Signal.create(signal -> {
+    // The transport only matches the response, it is decoded once here on the connection's I/O
+    // thread and only the result hops to the main thread.
+    Signal<Res> roundTrip = Signal.create(signal -> {
       transport.enqueue(request, WriteType.WITH_RESPONSE, retries, timeout)
           .tapError(signal::error).onNext(response -> {
         Result<Res> parseResult = request.responseErrorCheck(response);
-        PrintLogger.d(TAG, "Command Response Received # " + parseResult);
+        PrintLogger.d(TAG, "Command Response Received # %s", parseResult);
         switch (parseResult.getType()) {
           case SUCCESS:
             signal.next(parseResult.success());
@@ -179,6 +188,23 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
       });
       return new Subscription();
     });
+    return coalescer.coalesce(request, retries, timeout, roundTrip)
+        .observeOn(Executors.mainThreadImmediateExecutor());
+  }
+
+  @Override
+  public void setRawWriteWithoutResponse(boolean enabled) {
+    transport.setRawWriteWithoutResponse(enabled);
+  }
+
+  @Override
+  public TransportMetrics getTransportMetrics() {
+    return transport.getMetrics();
+  }
+
+  @Override
+  public void setReadCacheTtl(long ttlMs) {
+    coalescer.setTtl(ttlMs);
   }
 
   @Override
@@ -193,15 +219,26 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
 
   @Override
   public <Res> Signal<Res> subscribe(NotificationSubscription<Res> subscription) {
-    return transport
-        .getNotificationSignal()
+    GeneratedExtension<Notification, ?> extension = subscription.extensionType();
+    Signal<Notification> notifications = extension == null
+        ? transport.getNotificationSignal()
+        : transport.getNotificationSignal(extension);
+    return notifications
         .map(subscription::extract)
         .filter(Objects::nonNull)
+        .observeOn(Executors.mainThreadImmediateExecutor())
         .shared();
   }
 
   @Override
   public Signal<Pair<Integer, byte[]>> getDataTransport() {
+    return getDataTransportOnIoThread()
+        .observeOn(Executors.mainThreadImmediateExecutor())
+        .shared();
+  }
+
+  @Override
+  public Signal<Pair<Integer, byte[]>> getDataTransportOnIoThread() {
     return transport.getDataTransport()
         .filter(Objects::nonNull)
         .filter(data -> data.second != null && data.second.length > 0)
@@ -210,6 +247,13 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
 
   @Override
   public Signal<byte[]> getRawData() {
+    return getRawDataOnIoThread()
+        .observeOn(Executors.mainThreadImmediateExecutor())
+        .shared();
+  }
+
+  @Override
+  public Signal<byte[]> getRawDataOnIoThread() {
     return transport.getRawData()
         .filter(Objects::nonNull)
         .shared();
@@ -232,7 +276,7 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
 
   @Override
   public Signal<Integer> rssiSignal() {
-    return transport.fetchRSSIValue();
+    return transport.fetchRSSIValue().observeOn(Executors.mainThreadImmediateExecutor());
   }
 
   @Override
@@ -248,7 +292,7 @@ public class ConnectedJacquardTagImpl implements ConnectedJacquardTag {
 
   @Override
   public Signal<Byte> getAckSignal() {
-    return transport.getAckSignal();
+    return transport.getAckSignal().observeOn(Executors.mainThreadImmediateExecutor());
   }
 
   public void destroy() {
@@ -31,6 +31,8 @@ public interface JacquardTag extends Serializable {
   /**
    * Returns the rssi signal strength for the tag.<br/>During ble scanning as and when available
    * will be notified. When tag get connected, rssi value will be notified every second.
+   * Scan results can arrive much faster than a UI needs, use {@link Signal#throttleLatest(long)}
+   * or {@link Signal#sample(long)} to limit them.
    */
   @Nullable
   Signal<Integer> rssiSignal();
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.tag;
+
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
+import com.google.android.jacquard.sdk.log.PrintLogger;
+import com.google.android.jacquard.sdk.rx.Scheduler;
+import com.google.android.jacquard.sdk.rx.Signal;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lets identical read-only requests share one round trip to the tag.
+ *
+ * <p>Requests with the same {@link ProtoCommandRequest#coalesceKey()}, retries and timeout that are
+ * enqueued while one of them is waiting for the tag all receive that response. When a ttl is set
+ * the last response of each key is also kept for that long. Any request without a key is treated
+ * as a write and drops all cached responses.
+ *
+ * <p>Callers share the response instance, list responses are handed out unmodifiable.
+ */
+final class RequestCoalescer {
+
+  private static final String TAG = RequestCoalescer.class.getSimpleName();
+
+  private final Scheduler clock;
+  /** Keyed by coalesce key, retries and timeout. Guarded by {@code this}. */
+  private final Map<String, Pending<?>> pending = new HashMap<>();
+  /** Keyed by coalesce key. Guarded by {@code this}. */
+  private final Map<String, Cached> cache = new HashMap<>();
+  /** Bumped by every write so that reads started before it are not cached. */
+  private long generation;
+  private volatile long ttlMs;
+
+  RequestCoalescer(Scheduler clock) {
+    this.clock = clock;
+  }
+
+  /** Sets for how long read responses are served from memory, 0 disables caching. */
+  void setTtl(long ttlMs) {
+    if (ttlMs < 0) {
+      throw new IllegalArgumentException("ttlMs must not be negative: " + ttlMs);
+    }
+    this.ttlMs = ttlMs;
+    if (ttlMs == 0) {
+      synchronized (this) {
+        cache.clear();
+      }
+    }
+  }
+
+  /**
+   * Returns a signal for the response of <code>request</code>. <code>response</code> is the
+   * signal that sends it to the tag with <code>retries</code> and <code>timeout</code>, it is only
+   * observed when the response is not already cached or on its way for the same retries and
+   * timeout.
+   */
+  <Res> Signal<Res> coalesce(ProtoCommandRequest<Res> request, int retries, long timeout,
+      Signal<Res> response) {
+    String key = request.coalesceKey();
+    if (key == null) {
+      return Signal.create(signal -> {
+        invalidate();
+        return response.forward(signal);
+      });
+    }
+    // Callers joining a request in flight get its retries and timeout, so only identical ones join.
+    String pendingKey = key + "/" + retries + "/" + timeout;
+    return Signal.create(signal -> {
+      Pending<Res> entry;
+      boolean first = false;
+      Object cachedValue = null;
+      synchronized (this) {
+        Cached cached = cache.get(key);
+        if (cached != null && clock.now() - cached.time < ttlMs) {
+          cachedValue = cached.value;
+          entry = null;
+        } else {
+          @SuppressWarnings("unchecked")
+          Pending<Res> existing = (Pending<Res>) pending.get(pendingKey);
+          if (existing == null) {
+            existing = new Pending<>(key, pendingKey, generation);
+            pending.put(pendingKey, existing);
+            first = true;
+          } else {
+            PrintLogger.d(TAG, "Joining request in flight for " + key);
+          }
+          entry = existing;
+          entry.waiters.add(signal);
+        }
+      }
+      if (entry == null) {
+        PrintLogger.d(TAG, "Serving cached response for " + key);
+        @SuppressWarnings("unchecked")
+        Res value = (Res) cachedValue;
+        signal.next(value);
+        signal.complete();
+        return new Subscription();
+      }
+      if (first) {
+        response.map(RequestCoalescer::unmodifiable).observe(entry);
+      }
+      return new Subscription() {
+        @Override
+        protected void onUnsubscribe() {
+          synchronized (RequestCoalescer.this) {
+            entry.waiters.remove(signal);
+          }
+        }
+      };
+    });
+  }
+
+  /** Wraps list responses, the one response instance is handed to every caller. */
+  @SuppressWarnings("unchecked")
+  private static <Res> Res unmodifiable(Res value) {
+    if (value instanceof List) {
+      return (Res) Collections.unmodifiableList((List<?>) value);
+    }
+    return value;
+  }
+
+  private synchronized void invalidate() {
+    generation++;
+    cache.clear();
+    // Reads that are still waiting keep their response, new reads go to the tag again.
+    pending.clear();
+  }
+
+  /** Forwards the single response of one request to every caller that joined it. */
+  private final class Pending<Res> implements Signal.Observer<Res> {
+
+    final String key;
+    final String pendingKey;
+    final long generation;
+    final List<Signal<Res>> waiters = new ArrayList<>();
+
+    Pending(String key, String pendingKey, long generation) {
+      this.key = key;
+      this.pendingKey = pendingKey;
+      this.generation = generation;
+    }
+
+    @Override
+    public void onNext(Res value) {
+      for (Signal<Res> waiter : detach(value)) {
+        waiter.next(value);
+        waiter.complete();
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      for (Signal<Res> waiter : detach(null)) {
+        waiter.error(t);
+      }
+    }
+
+    @Override
+    public void onComplete() {
+      // Waiters were already released by onNext unless the response completed empty.
+      for (Signal<Res> waiter : detach(null)) {
+        waiter.complete();
+      }
+    }
+
+    private List<Signal<Res>> detach(Res value) {
+      synchronized (RequestCoalescer.this) {
+        if (pending.get(pendingKey) == this) {
+          pending.remove(pendingKey);
+        }
+        if (value != null && ttlMs > 0 && generation == RequestCoalescer.this.generation) {
+          cache.put(key, new Cached(value, clock.now()));
+        }
+        List<Signal<Res>> result = new ArrayList<>(waiters);
+        waiters.clear();
+        return result;
+      }
+    }
+  }
+
+  private static final class Cached {
+
+    final Object value;
+    final long time;
+
+    Cached(Object value, long time) {
+      this.value = value;
+      this.time = time;
+    }
+  }
+}
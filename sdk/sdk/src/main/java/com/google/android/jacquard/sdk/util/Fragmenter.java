@@ -16,27 +16,41 @@
 package com.google.android.jacquard.sdk.util;
 
 import com.google.android.jacquard.sdk.log.PrintLogger;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
-/** Class for decomposing and decoding byte data received from the jacquard tag. */
+/**
+ * Class for decomposing and decoding byte data received from the jacquard tag.
+ *
+ * <p>Encoding and decoding work on array ranges and {@link ByteBuffer}s directly, so apart from the
+ * fragments handed to the gatt and the reassembled message nothing is allocated per fragment.
+ */
 public class Fragmenter {
 
   private final String tag;
-  private int mtuSize;
+  private volatile int mtuSize;
+  private final AtomicLong reassemblyFailures = new AtomicLong();
 
   public Fragmenter(String name, int mtuSize) {
     this.mtuSize = mtuSize; // maximum transmission unit size.
     tag = Fragmenter.class.getSimpleName() + "-" + name;
   }
 
-  void setMtu(int mtu) {
+  /**
+   * Updates the ATT MTU used to size the fragments produced by {@link #fragmentData} and
+   * {@link #encodeFragment}. Fragments that are being reassembled are not affected.
+   */
+  public void setMtu(int mtu) {
     this.mtuSize = mtu;
   }
 
+  /** Number of messages dropped by {@link #decodeFragment} because their fragments did not match. */
+  public long getReassemblyFailures() {
+    return reassemblyFailures.get();
+  }
+
   /**
    * Maximum message size.
    */
@@ -52,6 +66,16 @@ public class Fragmenter {
    */
   static final int LAST_FRAGMENT_FLAG = 0x40;
 
+  /**
+   * Size of the fragment header, excluding the encoded message length of the first fragment.
+   */
+  private static final int FRAGMENT_HEADER_LENGTH = 1;
+
+  /**
+   * Maximum size of the encoded message length in the first fragment.
+   */
+  private static final int MAX_VARINT_LENGTH = 4;
+
   /**
    * Holds the next expected fragment counter.
    */
@@ -63,9 +87,21 @@ public class Fragmenter {
   private int currentMessageLength = 0;
 
   /**
-   * The message buffer.
+   * The message buffer, only grows if the tag sends a message larger than
+   * {@link #MAX_MESSAGE_LENGTH}.
+   */
+  private byte[] messageBuffer = new byte[MAX_MESSAGE_LENGTH];
+
+  /**
+   * Number of bytes of the current message in {@link #messageBuffer}.
+   */
+  private int messageBufferSize = 0;
+
+  /**
+   * Read-only view of {@link #messageBuffer} handed out by
+   * {@link #decodeFragment(byte[], int, int)}.
    */
-  private final ByteArrayOutputStream messageBuffer = new ByteArrayOutputStream(MAX_MESSAGE_LENGTH);
+  private ByteBuffer messageView = ByteBuffer.wrap(messageBuffer).asReadOnlyBuffer();
 
   /**
    * Class for parsing/generating protocol buffer compatible VarInts.
@@ -86,6 +122,38 @@ public class Fragmenter {
       encode();
     }
 
+    /** Returns the number of bytes needed to encode <code>value</code>. */
+    static int encodedLength(int value) {
+      int length = 1;
+      while ((value & ~0x7F) != 0) {
+        value >>>= 7;
+        length++;
+      }
+      return length;
+    }
+
+    /** Encodes <code>value</code> at <code>offset</code>, returns the number of bytes written. */
+    static int write(int value, byte[] dst, int offset) {
+      int i = offset;
+      while ((value & ~0x7F) != 0) {
+        // Write out the next 7 bits with MSB set to indicate more to come.
+        dst[i++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      // Last group, write the bits and stop.
+      dst[i++] = (byte) value;
+      return i - offset;
+    }
+
+    /** Encodes <code>value</code> at the position of <code>dst</code>. */
+    static void write(int value, ByteBuffer dst) {
+      while ((value & ~0x7F) != 0) {
+        dst.put((byte) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      dst.put((byte) value);
+    }
+
     private void decode() {
       value = 0;
       int shift = 0;
@@ -109,22 +177,8 @@ public class Fragmenter {
     }
 
     private void encode() {
-      ByteArrayOutputStream buf = new ByteArrayOutputStream(4);
-
-      while (true) {
-        if ((value & ~0x7F) == 0) {
-          // Last group, write the bits and stop.
-          buf.write(value & 0xFF);
-          break;
-        } else {
-          // Write out the next 7 bits with MSB set to indicate more to come.
-          buf.write((value & 0x7F) | 0x80);
-          value = value >>> 7;
-        }
-      }
-
-      data = buf.toByteArray();
-      length = data.length;
+      data = new byte[encodedLength(value)];
+      length = write(value, data, 0);
     }
   }
 
@@ -135,9 +189,6 @@ public class Fragmenter {
    * @return An {@link ArrayList} of fragments.
    */
   public List<byte[]> fragmentData(byte[] message) {
-    int maxFragmentPayloadLength = mtuSize - 3; // 1 byte opcode, 2 bytes att handle
-    ArrayList<byte[]> fragments = new ArrayList<>();
-
     if (message.length > MAX_MESSAGE_LENGTH) {
       PrintLogger.e(
           Fragmenter.class.getSimpleName(),
@@ -145,47 +196,122 @@ public class Fragmenter {
       return null;
     }
 
-    VarInt encodedLength = new VarInt(message.length);
-
-    ByteArrayInputStream input = new ByteArrayInputStream(message);
-    ByteArrayOutputStream output = new ByteArrayOutputStream(maxFragmentPayloadLength);
-
-    byte counter = 0;
-    int nextDataLen = 0;
-    byte[] nextData = new byte[maxFragmentPayloadLength];
+    // The mtu may change while fragmenting, read it once so that all fragments agree.
+    int maxLength = maxFragmentLength();
+    int count = fragmentCount(message.length, maxLength);
+    ArrayList<byte[]> fragments = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      // Each fragment is queued for the gatt until it is written, so it needs its own array.
+      byte[] fragment = new byte[fragmentLength(message.length, index, maxLength)];
+      encodeFragment(message, 0, message.length, index, maxLength, fragment, 0);
+      fragments.add(fragment);
+    }
+    return fragments;
+  }
 
-    while (input.available() > 0) {
-      byte flow = counter;
-      int payloadLength = maxFragmentPayloadLength;
+  /**
+   * Returns the number of fragments {@link #fragmentData(byte[])} produces for a message of
+   * <code>length</code> bytes.
+   */
+  public int fragmentCount(int length) {
+    return fragmentCount(length, maxFragmentLength());
+  }
 
-      // Compose and write the segment header.
-      if (counter == 0) {
-        flow = (byte) (flow | FIRST_FRAGMENT_FLAG);
-        payloadLength -= encodedLength.length;
-      }
-      payloadLength -= 1;  // 1 byte fragment header
-      if (input.available() <= payloadLength) {
-        flow = (byte) (flow | LAST_FRAGMENT_FLAG);
+  /**
+   * Writes fragment <code>index</code> of <code>message[offset, offset + length)</code> into
+   * <code>out</code>, which can be reused for every fragment.
+   *
+   * @return the number of bytes written, at most <code>mtu - 3</code>
+   */
+  public int encodeFragment(byte[] message, int offset, int length, int index, ByteBuffer out) {
+    int maxLength = maxFragmentLength();
+    int fragmentLength = fragmentLength(length, index, maxLength);
+    if (out.remaining() < fragmentLength) {
+      throw new IllegalArgumentException(
+          "Fragment needs " + fragmentLength + " bytes, only " + out.remaining() + " remaining");
+    }
+    if (out.hasArray()) {
+      int position = out.position();
+      encodeFragment(message, offset, length, index, maxLength, out.array(),
+          out.arrayOffset() + position);
+      out.position(position + fragmentLength);
+    } else {
+      out.put(fragmentHeader(length, index, maxLength));
+      int header = FRAGMENT_HEADER_LENGTH;
+      if (index == 0) {
+        VarInt.write(length, out);
+        header = headerLength(length);
       }
-      output.write(flow);
+      out.put(message, offset + payloadOffset(length, index, maxLength), fragmentLength - header);
+    }
+    return fragmentLength;
+  }
 
-      if (counter == 0) {
-        // Write the encoded length as the first part of the first fragment.
-        output.write(encodedLength.data, 0, encodedLength.length);
-      }
+  private void encodeFragment(byte[] message, int offset, int length, int index, int maxLength,
+      byte[] dst, int dstOffset) {
+    int i = dstOffset;
+    dst[i++] = fragmentHeader(length, index, maxLength);
+    int header = FRAGMENT_HEADER_LENGTH;
+    if (index == 0) {
+      // Write the encoded length as the first part of the first fragment.
+      i += VarInt.write(length, dst, i);
+      header = headerLength(length);
+    }
+    // Write the maximum available bytes for the payload up to the end of the message.
+    int payloadLength = fragmentLength(length, index, maxLength) - header;
+    System.arraycopy(message, offset + payloadOffset(length, index, maxLength), dst, i,
+        payloadLength);
+  }
 
-      // Retrieve and write the maximum available bytes for the payload up to the end of the
-      // message.
-      nextDataLen = input.read(nextData, 0, payloadLength);
-      output.write(nextData, 0, nextDataLen);
+  private static int fragmentCount(int length, int maxLength) {
+    if (length == 0) {
+      return 0;
+    }
+    int firstPayload = firstPayloadLength(length, maxLength);
+    if (length <= firstPayload) {
+      return 1;
+    }
+    int nextPayload = maxLength - FRAGMENT_HEADER_LENGTH;
+    return 1 + (length - firstPayload + nextPayload - 1) / nextPayload;
+  }
+
+  private static byte fragmentHeader(int length, int index, int maxLength) {
+    byte flow = (byte) index;
+    if (index == 0) {
+      flow = (byte) (flow | FIRST_FRAGMENT_FLAG);
+    }
+    if (index == fragmentCount(length, maxLength) - 1) {
+      flow = (byte) (flow | LAST_FRAGMENT_FLAG);
+    }
+    return flow;
+  }
 
-      fragments.add(output.toByteArray());
-      output.reset();
+  private static int fragmentLength(int length, int index, int maxLength) {
+    int header = index == 0 ? headerLength(length) : FRAGMENT_HEADER_LENGTH;
+    int payload = maxLength - header;
+    return header + Math.min(payload, length - payloadOffset(length, index, maxLength));
+  }
 
-      ++counter;
+  /** Offset in the message of the first payload byte of fragment <code>index</code>. */
+  private static int payloadOffset(int length, int index, int maxLength) {
+    if (index == 0) {
+      return 0;
     }
+    return firstPayloadLength(length, maxLength)
+        + (index - 1) * (maxLength - FRAGMENT_HEADER_LENGTH);
+  }
 
-    return fragments;
+  private static int firstPayloadLength(int length, int maxLength) {
+    return maxLength - headerLength(length);
+  }
+
+  private static int headerLength(int length) {
+    return FRAGMENT_HEADER_LENGTH + VarInt.encodedLength(length);
+  }
+
+  /** Fragment length for the current mtu, callers read it once per message. */
+  private int maxFragmentLength() {
+    return mtuSize - 3; // 1 byte opcode, 2 bytes att handle
   }
 
   /**
@@ -199,15 +325,47 @@ public class Fragmenter {
    * otherwise.
    */
   public byte[] decodeFragment(byte[] fragment) {
-    byte[] result = null;
-    int payloadOffset = 1;
+    ByteBuffer message = decodeFragment(fragment, 0, fragment.length);
+    if (message == null) {
+      return null;
+    }
+    byte[] result = new byte[message.remaining()];
+    message.get(result);
+    return result;
+  }
 
-    int fragmentCounter = fragment[0] & 0xF;
-    if ((fragment[0] & FIRST_FRAGMENT_FLAG) != 0) {
-      VarInt encoded = new VarInt(Arrays.copyOfRange(fragment, 1, 5));
-      currentMessageLength = encoded.value;
+  /**
+   * Decodes the message fragment in <code>fragment[offset, offset + length)</code> without copying
+   * it.
+   *
+   * @return A read-only view of the complete message if the given fragment is valid and the last
+   * in the sequence, null otherwise. The view is only valid until the next call to this fragmenter.
+   */
+  public ByteBuffer decodeFragment(byte[] fragment, int offset, int length) {
+    ByteBuffer result = null;
+    int header = fragment[offset];
+    int payloadOffset = FRAGMENT_HEADER_LENGTH;
+
+    int fragmentCounter = header & 0xF;
+    if ((header & FIRST_FRAGMENT_FLAG) != 0) {
+      // Decode the length in place, it takes at most four bytes.
+      int end = offset + Math.min(length, FRAGMENT_HEADER_LENGTH + MAX_VARINT_LENGTH);
+      int i = offset + FRAGMENT_HEADER_LENGTH;
+      int value = 0;
+      int shift = 0;
+      while (i < end) {
+        int tmp = fragment[i++] & 0xFF;
+        value |= (tmp & 0x7F) << shift;
+        shift += 7;
+        if ((tmp & 0x80) == 0) {
+          break;
+        }
+      }
+      currentMessageLength = value;
       currentFragmentCounter = (fragmentCounter + 1) & 0xF;
-      payloadOffset += encoded.length;
+      payloadOffset = i - offset;
+      // A first fragment starts a new message, drop whatever was left of the previous one.
+      messageBufferSize = 0;
     } else {
       if (fragmentCounter != currentFragmentCounter) {
         PrintLogger.e(
@@ -215,23 +373,31 @@ public class Fragmenter {
             String.format(
                 "Fragment counter does not match expected (%d != %d)",
                 fragmentCounter, currentFragmentCounter));
+        reassemblyFailures.incrementAndGet();
         reset();
         return null;
       }
       currentFragmentCounter = (currentFragmentCounter + 1) & 0xF;
     }
 
-    messageBuffer.write(fragment, payloadOffset, fragment.length - payloadOffset);
+    int payloadLength = length - payloadOffset;
+    ensureCapacity(messageBufferSize + payloadLength);
+    System.arraycopy(fragment, offset + payloadOffset, messageBuffer, messageBufferSize,
+        payloadLength);
+    messageBufferSize += payloadLength;
 
-    if ((fragment[0] & LAST_FRAGMENT_FLAG) != 0) {
-      if (messageBuffer.size() != currentMessageLength) {
+    if ((header & LAST_FRAGMENT_FLAG) != 0) {
+      if (messageBufferSize != currentMessageLength) {
         PrintLogger.e(
             tag,
             String.format(
                 "Invalid message size! Expected %d bytes but received %d bytes",
-                currentMessageLength, messageBuffer.size()));
+                currentMessageLength, messageBufferSize));
+        reassemblyFailures.incrementAndGet();
       } else {
-        result = messageBuffer.toByteArray();
+        messageView.clear();
+        messageView.limit(messageBufferSize);
+        result = messageView;
       }
       reset();
     }
@@ -239,12 +405,22 @@ public class Fragmenter {
     return result;
   }
 
+  private void ensureCapacity(int capacity) {
+    if (capacity <= messageBuffer.length) {
+      return;
+    }
+    byte[] grown = new byte[Math.max(capacity, messageBuffer.length * 2)];
+    System.arraycopy(messageBuffer, 0, grown, 0, messageBufferSize);
+    messageBuffer = grown;
+    messageView = ByteBuffer.wrap(messageBuffer).asReadOnlyBuffer();
+  }
+
   /**
    * Resets the message state.
    */
   public void reset() {
     currentFragmentCounter = 0;
     currentMessageLength = 0;
-    messageBuffer.reset();
+    messageBufferSize = 0;
   }
-}
\ No newline at end of file
+}
@@ -49,13 +49,9 @@ public class JQUtils {
   public static Notification getNotification(byte[] packet) {
     try {
       Notification notification = Notification.parseFrom(packet, JqExtensionRegistry.instance);
-      PrintLogger.d(
-          TAG,
-          "Notification Received # Domain # "
-              + notification.getDomain()
-              + " # OpCode # "
-              + notification.getOpcode());
-      PrintLogger.d(TAG, "Notification Received # " + notification);
+      PrintLogger.d(TAG, "Notification Received # Domain # %s # OpCode # %s",
+          notification.getDomain(), notification.getOpcode());
+      PrintLogger.d(TAG, "Notification Received # %s", notification);
       return notification;
     } catch (Exception e) {
       PrintLogger.e(TAG, "Failed to deserialize notification", e);
@@ -22,6 +22,7 @@ import static android.bluetooth.BluetoothProfile.STATE_DISCONNECTED;
 import static com.google.android.jacquard.sdk.ConnectState.Type.CHARACTERISTIC_UPDATED;
 import static com.google.android.jacquard.sdk.ConnectState.Type.CONNECTED;
 import static com.google.android.jacquard.sdk.ConnectState.Type.DISCONNECTED;
+import static com.google.android.jacquard.sdk.ConnectState.Type.MTU_CHANGED;
 import static com.google.android.jacquard.sdk.ConnectState.Type.SERVICES_DISCOVERED;
 import static com.google.android.jacquard.sdk.ConnectState.Type.VALUE_WRITTEN;
 import static com.google.android.jacquard.sdk.util.BluetoothSig.RESPONSE_UUID;
@@ -206,4 +207,21 @@ public final class BleGattCallbackTest {
     // Assert
     assertThat(connectState.getType()).isEqualTo(DISCONNECTED);
   }
+
+  @Test
+  public void onMtuChanged_statusGattSuccess_emitsMtuChanged() {
+    // Act
+    bleGattCallback.onMtuChanged(/* gatt= */ null, /* mtu= */ 185, GATT_SUCCESS);
+    // Assert
+    assertThat(connectState.getType()).isEqualTo(MTU_CHANGED);
+    assertThat(connectState.mtuChanged().mtu()).isEqualTo(185);
+  }
+
+  @Test
+  public void onMtuChanged_statusNotGattSuccess_emitsNothing() {
+    // Act
+    bleGattCallback.onMtuChanged(/* gatt= */ null, /* mtu= */ 185, GATT_FAILURE);
+    // Assert
+    assertThat(connectState).isNull();
+  }
 }
@@ -18,12 +18,16 @@
 package com.google.android.jacquard.sdk;
 
 import static com.google.android.jacquard.sdk.BleQueue.Command.Type.READ_CHARACTERISTIC;
+import static com.google.android.jacquard.sdk.BleQueue.Command.Type.READ_RSSI;
 import static com.google.android.jacquard.sdk.BleQueue.Command.Type.WRITE_CHARACTERISTIC;
 import static com.google.common.truth.Truth.assertThat;
 
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.BleQueue.Command;
 import com.google.android.jacquard.sdk.log.PrintLogger;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -73,4 +77,60 @@ public final class BleQueueTest {
     // Assert
     assertThat(result).isTrue();
   }
+
+  @Test
+  public void enqueueBackground_runsAfterWaitingCommands() {
+    // Arrange
+    List<String> runs = new ArrayList<>();
+    bleQueue.enqueue(createCommand(WRITE_CHARACTERISTIC, "write1", runs));
+    bleQueue.enqueueBackground(createCommand(READ_RSSI, "rssi", runs));
+    bleQueue.enqueue(createCommand(WRITE_CHARACTERISTIC, "write2", runs));
+    // Act
+    bleQueue.completedCommand(WRITE_CHARACTERISTIC);
+    bleQueue.completedCommand(WRITE_CHARACTERISTIC);
+    // Assert
+    assertThat(runs).containsExactly("write1", "write2", "rssi").inOrder();
+  }
+
+  @Test
+  public void enqueueBackground_sameTypeWaiting_dropsCommand() {
+    // Arrange
+    List<String> runs = new ArrayList<>();
+    bleQueue.enqueue(createCommand(WRITE_CHARACTERISTIC, "write", runs));
+    // Act
+    boolean first = bleQueue.enqueueBackground(createCommand(READ_RSSI, "rssi1", runs));
+    boolean second = bleQueue.enqueueBackground(createCommand(READ_RSSI, "rssi2", runs));
+    bleQueue.completedCommand(WRITE_CHARACTERISTIC);
+    bleQueue.completedCommand(READ_RSSI);
+    // Assert
+    assertThat(first).isTrue();
+    assertThat(second).isTrue();
+    assertThat(runs).containsExactly("write", "rssi1").inOrder();
+  }
+
+  @Test
+  public void removeWaiting_keepsRunningCommand() {
+    // Arrange
+    List<String> runs = new ArrayList<>();
+    Command running = createCommand(WRITE_CHARACTERISTIC, "write1", runs);
+    Command waiting = createCommand(WRITE_CHARACTERISTIC, "write2", runs);
+    bleQueue.enqueue(running);
+    bleQueue.enqueue(waiting);
+    bleQueue.enqueue(createCommand(READ_CHARACTERISTIC, "read", runs));
+    // Act
+    List<Command> removed = bleQueue.removeWaiting(command -> command.type == WRITE_CHARACTERISTIC);
+    bleQueue.completedCommand(WRITE_CHARACTERISTIC);
+    // Assert
+    assertThat(removed).containsExactly(waiting);
+    assertThat(runs).containsExactly("write1", "read").inOrder();
+  }
+
+  private static Command createCommand(Command.Type type, String name, List<String> runs) {
+    return new Command(type) {
+      @Override
+      public void run() {
+        runs.add(name);
+      }
+    };
+  }
 }
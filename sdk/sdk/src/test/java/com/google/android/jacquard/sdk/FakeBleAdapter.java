@@ -23,6 +23,7 @@ import android.content.Context;
 import android.content.IntentSender;
 import com.google.android.jacquard.sdk.rx.Fn;
 import com.google.android.jacquard.sdk.rx.Signal;
+import java.util.concurrent.Executor;
 
 /**
  * Fake implementation of {@link BleAdapter}.
@@ -42,7 +43,7 @@ public class FakeBleAdapter extends BleAdapter {
 
   @Override
   public Signal<ConnectState> connect(Context activityContext, BluetoothDevice bluetoothDevice,
-      Fn<IntentSender, Signal<Boolean>> senderHandler) {
+      Fn<IntentSender, Signal<Boolean>> senderHandler, Executor connectionExecutor) {
     return stateSignal;
   }
 }
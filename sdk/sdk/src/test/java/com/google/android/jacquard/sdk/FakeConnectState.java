@@ -21,6 +21,7 @@ import android.bluetooth.BluetoothGattService;
 import com.google.android.jacquard.sdk.model.CharacteristicUpdate;
 import com.google.android.jacquard.sdk.model.FailedToConnect;
 import com.google.android.jacquard.sdk.model.JacquardError;
+import com.google.android.jacquard.sdk.model.MtuUpdate;
 import com.google.android.jacquard.sdk.model.Peripheral;
 import com.google.android.jacquard.sdk.model.RssiUpdate;
 import com.google.android.jacquard.sdk.model.ServicesDiscovered;
@@ -78,6 +79,11 @@ public class FakeConnectState extends ConnectState {
     return RssiUpdate.of(peripheral, 0);
   }
 
+  @Override
+  public MtuUpdate mtuChanged() {
+    return MtuUpdate.of(peripheral, 0);
+  }
+
   /**
    * Returns disconnected state {@link Type#DISCONNECTED}.
    */
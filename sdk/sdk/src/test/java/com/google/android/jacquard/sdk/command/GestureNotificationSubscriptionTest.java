@@ -79,4 +79,29 @@ public final class GestureNotificationSubscriptionTest {
         // Assert
         assertThat(value.gestureType()).isEqualTo(Gesture.GestureType.BRUSH_OUT);
     }
+
+    @Test
+    public void extensionType_returnsDataChannelExtension() {
+        // Act & Assert
+        assertThat(notificationSubscription.extensionType())
+                .isEqualTo(JacquardProtocol.DataChannelNotification.data);
+    }
+
+    @Test
+    public void extract_decodedNotification_returnsValidNotification() {
+        // Arrange
+        JacquardProtocol.InferenceData touchData = JacquardProtocol.InferenceData.newBuilder()
+                .setEvent(3)
+                .build();
+        JacquardProtocol.DataChannelNotification channelNotification
+                = JacquardProtocol.DataChannelNotification.newBuilder().setInferenceData(touchData).build();
+        // Act
+        Gesture value = notificationSubscription.extract(JacquardProtocol.Notification.newBuilder()
+                .setDomain(JacquardProtocol.Domain.GEAR)
+                .setOpcode(JacquardProtocol.Opcode.GESTURE)
+                .setExtension(JacquardProtocol.DataChannelNotification.data, channelNotification)
+                .build());
+        // Assert
+        assertThat(value.gestureType()).isEqualTo(Gesture.GestureType.BRUSH_OUT);
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.command;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.connection.Result;
+import com.google.android.jacquard.sdk.model.Component;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Domain;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Status;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/**
+ * Unit tests for {@link ProtoCommandRequest} class.
+ */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public final class ProtoCommandRequestTest {
+
+  private static final Response RESPONSE = Response.newBuilder().setComponentId(Component.TAG_ID)
+      .setId(7).setStatus(Status.STATUS_OK).build();
+
+  @Test
+  public void responseErrorCheck_bytesOverride_receivesEncodedResponse() {
+    // Arrange
+    ProtoCommandRequest<Integer> command = new BytesCommand();
+    // Act
+    Result<Integer> result = command.responseErrorCheck(RESPONSE);
+    // Assert
+    assertThat(result.success()).isEqualTo(7);
+    assertThat(command.responseId()).isEqualTo(7);
+  }
+
+  @Test
+  public void parseResponse_bytes_parsesForResponseOverride() {
+    // Arrange
+    ProtoCommandRequest<Integer> command = new ResponseCommand();
+    // Act
+    Result<Integer> result = command.parseResponse(RESPONSE.toByteArray());
+    // Assert
+    assertThat(result.success()).isEqualTo(7);
+  }
+
+  @Test
+  public void parseResponse_invalidBytes_returnsFailure() {
+    // Arrange
+    ProtoCommandRequest<Integer> command = new ResponseCommand();
+    // Act
+    Result<Integer> result = command.parseResponse(new byte[]{-1, -1, -1});
+    // Assert
+    assertThat(result.failure()).isInstanceOf(InvalidProtocolBufferException.class);
+  }
+
+  private static Request createRequest(int id) {
+    return Request.newBuilder().setComponentId(Component.TAG_ID).setId(id)
+        .setDomain(Domain.BASE).setOpcode(Opcode.CONFIG_READ).build();
+  }
+
+  /** Implementation written against the deprecated raw overload. */
+  private static final class BytesCommand extends ProtoCommandRequest<Integer> {
+
+    @Override
+    public Result<Integer> parseResponse(byte[] response) {
+      try {
+        return Result.ofSuccess(Response.parseFrom(response).getId());
+      } catch (InvalidProtocolBufferException e) {
+        return Result.ofFailure(e);
+      }
+    }
+
+    @Override
+    public Request getRequest() {
+      return createRequest(getId());
+    }
+  }
+
+  /** Implementation that reads the parsed response. */
+  private static final class ResponseCommand extends ProtoCommandRequest<Integer> {
+
+    @Override
+    public Result<Integer> parseResponse(Response response) {
+      return Result.ofSuccess(response.getId());
+    }
+
+    @Override
+    public Request getRequest() {
+      return createRequest(getId());
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package com.google.android.jacquard.sdk.initialization;
 
 import com.google.android.jacquard.sdk.model.FakePeripheral;
+import com.google.android.jacquard.sdk.rx.Executors;
 
 /**
  * Fake implementation of {@link ProtocolInitializationStateMachine}.
@@ -30,7 +31,8 @@ public class FakeProtocolInitializationStateMachine extends ProtocolInitializati
   public FakeProtocolInitializationStateMachine() {
     super(
         /* peripheral= */ new FakePeripheral(/* bleQueue= */ null),
-        /* requiredCharacteristics= */ null);
+        /* requiredCharacteristics= */ null,
+        /* connectionExecutor= */ Executors.directExecutor());
   }
 
   @Override
@@ -92,11 +92,14 @@ public class FakeTransportImpl extends TransportImpl {
   private int batteryLevel = 10;
   private boolean isModulePresent, isModuleActive;
   private DataCollectionStatus dcStatus = DataCollectionStatus.DATA_COLLECTION_IDLE;
+  /** Encoded notifications, delivered as if they arrived on the notify characteristic. */
+  private final Signal<byte[]> notifySignal = Signal.create();
 
   public FakeTransportImpl(Peripheral peripheral,
       RequiredCharacteristics characteristics,
       TransportState transportState) {
     super(peripheral, characteristics, transportState);
+    notifySignal.onNext(this::deliverNotification);
     setDFUStatusResponse(
         DFUStatusResponse.newBuilder().setFinalSize(0).setFinalCrc(0).setCurrentSize(0)
             .setComponent(Component.TAG_ID).setCurrentCrc(0).build());
@@ -238,7 +241,7 @@ public class FakeTransportImpl extends TransportImpl {
   }
 
   public Signal<byte[]> getNotifySignal() {
-    return notificationSignal;
+    return notifySignal;
   }
 
   public void assertCommandFailure(boolean assertFailure) {
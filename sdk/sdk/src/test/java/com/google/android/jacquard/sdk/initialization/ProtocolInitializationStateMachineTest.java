@@ -42,6 +42,7 @@ import com.google.android.jacquard.sdk.model.Vendor;
 import com.google.android.jacquard.sdk.pairing.RequiredCharacteristics;
 import com.google.android.jacquard.sdk.remote.FakeLocalRemoteFunction;
 import com.google.android.jacquard.sdk.remote.RemoteFunctionInitialization;
+import com.google.android.jacquard.sdk.rx.Executors;
 import com.google.android.jacquard.sdk.util.Fragmenter;
 import com.google.atap.jacquard.protocol.JacquardProtocol.BeginResponse;
 import com.google.atap.jacquard.protocol.JacquardProtocol.DeviceInfoResponse;
@@ -77,7 +78,7 @@ public final class ProtocolInitializationStateMachineTest {
     peripheral = new FakePeripheral(/* bleQueue= */null);
     RequiredCharacteristics requiredCharacteristics = new RequiredCharacteristics();
     protocolInitializationStateMachine = new ProtocolInitializationStateMachine(peripheral,
-        requiredCharacteristics);
+        requiredCharacteristics, Executors.directExecutor());
   }
 
   @Test
@@ -157,6 +158,34 @@ public final class ProtocolInitializationStateMachineTest {
         .isTrue();
   }
 
+  @Test
+  public void startNegotiation_handledOnConnectionExecutor() {
+    // Arrange
+    List<Runnable> tasks = new ArrayList<>();
+    ProtocolInitializationStateMachine stateMachine = new ProtocolInitializationStateMachine(
+        peripheral, new RequiredCharacteristics(), tasks::add);
+    AtomicReference<InitializationState> initializationState = new AtomicReference<>();
+    stateMachine.getState().onNext(initializationState::set);
+    // Act
+    stateMachine.startNegotiation();
+    // Assert
+    assertThat(tasks).hasSize(1);
+    // Act
+    runTasks(tasks);
+    shadowOf(getMainLooper()).idleFor(Duration.ofSeconds(2));
+    // Assert
+    assertThat(tasks).hasSize(1);
+    assertThat(initializationState.get()).isNull();
+  }
+
+  private static void runTasks(List<Runnable> tasks) {
+    List<Runnable> pending = new ArrayList<>(tasks);
+    tasks.clear();
+    for (Runnable task : pending) {
+      task.run();
+    }
+  }
+
   private static List<byte[]> getResponseByteArray(Response response) {
     List<byte[]> fragments = new Fragmenter("commandFragmenter",
         ProtocolSpec.VERSION_2.getMtuSize()).fragmentData(response.toByteArray());
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
+import com.google.android.jacquard.sdk.connection.Result;
+import com.google.android.jacquard.sdk.model.Peripheral.WriteType;
+import com.google.android.jacquard.sdk.rx.Signal;
+import com.google.android.jacquard.sdk.rx.VirtualTimeScheduler;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/** Unit tests for {@link RequestLanes}. */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public final class RequestLanesTest {
+
+  private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+  private final RequestLanes lanes = new RequestLanes(scheduler);
+
+  @Test
+  public void poll_takesHigherPriorityFirst() {
+    // Assign
+    PendingRequest<?, ?> bulk = createPendingRequest(Priority.BULK);
+    PendingRequest<?, ?> normal = createPendingRequest(Priority.NORMAL);
+    PendingRequest<?, ?> interactive = createPendingRequest(Priority.INTERACTIVE);
+    lanes.add(bulk);
+    lanes.add(normal);
+    lanes.add(interactive);
+    // Act & Assert
+    assertThat(lanes.peek()).isSameInstanceAs(interactive);
+    assertThat(lanes.poll()).isSameInstanceAs(interactive);
+    assertThat(lanes.poll()).isSameInstanceAs(normal);
+    assertThat(lanes.poll()).isSameInstanceAs(bulk);
+    assertThat(lanes.poll()).isNull();
+  }
+
+  @Test
+  public void poll_sameLane_isFifo() {
+    // Assign
+    PendingRequest<?, ?> first = createPendingRequest(Priority.NORMAL);
+    PendingRequest<?, ?> second = createPendingRequest(Priority.NORMAL);
+    lanes.add(first);
+    lanes.add(second);
+    // Act & Assert
+    assertThat(lanes.poll()).isSameInstanceAs(first);
+    assertThat(lanes.poll()).isSameInstanceAs(second);
+  }
+
+  @Test
+  public void poll_agedBulkRequest_overtakesNewInteractiveRequest() {
+    // Assign
+    PendingRequest<?, ?> bulk = createPendingRequest(Priority.BULK);
+    PendingRequest<?, ?> interactive = createPendingRequest(Priority.INTERACTIVE);
+    lanes.add(bulk);
+    scheduler.advanceBy(3 * RequestLanes.AGING_MS);
+    lanes.add(interactive);
+    // Act & Assert
+    assertThat(lanes.poll()).isSameInstanceAs(bulk);
+    assertThat(lanes.poll()).isSameInstanceAs(interactive);
+  }
+
+  @Test
+  public void poll_equallyAged_prefersHigherPriority() {
+    // Assign
+    PendingRequest<?, ?> bulk = createPendingRequest(Priority.BULK);
+    PendingRequest<?, ?> interactive = createPendingRequest(Priority.INTERACTIVE);
+    lanes.add(bulk);
+    scheduler.advanceBy(2 * RequestLanes.AGING_MS);
+    lanes.add(interactive);
+    // Act & Assert
+    assertThat(lanes.poll()).isSameInstanceAs(interactive);
+  }
+
+  @Test
+  public void pollIf_agingBoundaryPassesDuringCheck_removesCheckedRequest() {
+    // Assign
+    PendingRequest<?, ?> bulk = createPendingRequest(Priority.BULK);
+    PendingRequest<?, ?> normal = createPendingRequest(Priority.NORMAL);
+    lanes.add(bulk);
+    scheduler.advanceBy(2 * RequestLanes.AGING_MS - 1);
+    lanes.add(normal);
+    AtomicReference<PendingRequest<?, ?>> checked = new AtomicReference<>();
+    // Act
+    PendingRequest<?, ?> polled = lanes.pollIf(request -> {
+      checked.set(request);
+      // The bulk request gains a level and would be taken next.
+      scheduler.advanceBy(1);
+      return true;
+    });
+    // Assert
+    assertThat(checked.get()).isSameInstanceAs(normal);
+    assertThat(polled).isSameInstanceAs(normal);
+    assertThat(lanes.depth(Priority.BULK)).isEqualTo(1);
+    assertThat(lanes.depth(Priority.NORMAL)).isEqualTo(0);
+  }
+
+  @Test
+  public void pollIf_rejected_keepsRequest() {
+    // Assign
+    PendingRequest<?, ?> normal = createPendingRequest(Priority.NORMAL);
+    lanes.add(normal);
+    // Act
+    PendingRequest<?, ?> polled = lanes.pollIf(request -> false);
+    // Assert
+    assertThat(polled).isNull();
+    assertThat(lanes.peek()).isSameInstanceAs(normal);
+    assertThat(lanes.dequeued(Priority.NORMAL)).isEqualTo(0);
+  }
+
+  @Test
+  public void depth_tracksEachLane() {
+    // Assign
+    lanes.add(createPendingRequest(Priority.BULK));
+    lanes.add(createPendingRequest(Priority.BULK));
+    lanes.add(createPendingRequest(Priority.INTERACTIVE));
+    // Act
+    lanes.poll();
+    // Assert
+    assertThat(lanes.depth(Priority.INTERACTIVE)).isEqualTo(0);
+    assertThat(lanes.depth(Priority.BULK)).isEqualTo(2);
+    assertThat(lanes.maxDepth(Priority.INTERACTIVE)).isEqualTo(1);
+    assertThat(lanes.maxDepth(Priority.BULK)).isEqualTo(2);
+    assertThat(lanes.dequeued(Priority.INTERACTIVE)).isEqualTo(1);
+    assertThat(lanes.size()).isEqualTo(2);
+  }
+
+  private static PendingRequest<?, ?> createPendingRequest(Priority priority) {
+    ProtoCommandRequest<Void> request = new ProtoCommandRequest<Void>() {
+      @Override
+      public Result<Void> parseResponse(Response response) {
+        return null;
+      }
+
+      @Override
+      public Request getRequest() {
+        return null;
+      }
+
+      @Override
+      public Priority priority() {
+        return priority;
+      }
+    };
+    return new PendingRequest<>(request, WriteType.WITH_RESPONSE, /* retries= */ 0,
+        Signal.create(), /* timeout= */ 0);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.atap.jacquard.protocol.JacquardProtocol.BatteryStatusResponse;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Status;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/** Unit tests for {@link ResponseHeader}. */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public final class ResponseHeaderTest {
+
+  @Test
+  public void peek_readsIdAndStatus() {
+    // Assign
+    byte[] packet = Response.newBuilder().setId(200).setStatus(Status.ERROR_BUSY)
+        .setComponentId(0).build().toByteArray();
+    // Act
+    ResponseHeader header = ResponseHeader.peek(packet);
+    // Assert
+    assertThat(header.id).isEqualTo(200);
+    assertThat(header.status).isEqualTo(Status.ERROR_BUSY);
+  }
+
+  @Test
+  public void peek_skipsFieldsBeforeTheHeader() {
+    // Assign
+    byte[] extension = Response.newBuilder()
+        .setExtension(BatteryStatusResponse.batteryStatusResponse,
+            BatteryStatusResponse.newBuilder().setBatteryLevel(80).build())
+        .buildPartial().toByteArray();
+    byte[] header = Response.newBuilder().setId(7).setStatus(Status.STATUS_OK).setComponentId(1)
+        .build().toByteArray();
+    // Later occurrences of a field win, so the extension is followed by the header.
+    byte[] packet = Arrays.copyOf(extension, extension.length + header.length);
+    System.arraycopy(header, 0, packet, extension.length, header.length);
+    // Act
+    ResponseHeader responseHeader = ResponseHeader.peek(packet);
+    // Assert
+    assertThat(responseHeader.id).isEqualTo(7);
+    assertThat(responseHeader.status).isEqualTo(Status.STATUS_OK);
+  }
+
+  @Test
+  public void peek_missingId_returnsNull() {
+    // Assign
+    byte[] packet = Response.newBuilder().setId(3).setStatus(Status.STATUS_OK).setComponentId(0)
+        .build().toByteArray();
+    // Drop the id, which is the first field.
+    packet = Arrays.copyOfRange(packet, 2, packet.length);
+    // Act & Assert
+    assertThat(ResponseHeader.peek(packet)).isNull();
+  }
+
+  @Test
+  public void peek_missingStatus_returnsNull() {
+    // Assign
+    byte[] packet = Response.newBuilder().setId(3).setComponentId(0).buildPartial().toByteArray();
+    // Act & Assert
+    assertThat(ResponseHeader.peek(packet)).isNull();
+  }
+
+  @Test
+  public void peek_truncatedPacket_returnsNull() {
+    // Assign
+    byte[] packet = new byte[]{(byte) 0x08, (byte) 0x96};
+    // Act & Assert
+    assertThat(ResponseHeader.peek(packet)).isNull();
+  }
+
+  @Test
+  public void peek_lengthPastEnd_returnsNull() {
+    // Assign
+    byte[] packet = new byte[]{(byte) 0x22, (byte) 0x10, (byte) 0x01, (byte) 0x08, (byte) 0x01};
+    // Act & Assert
+    assertThat(ResponseHeader.peek(packet)).isNull();
+  }
+}
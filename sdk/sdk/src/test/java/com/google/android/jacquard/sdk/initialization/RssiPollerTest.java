@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.rx.VirtualTimeScheduler;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/** Unit tests for {@link RssiPoller}. */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public final class RssiPollerTest {
+
+  private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+  private final AtomicInteger reads = new AtomicInteger();
+  private final RssiPoller poller = new RssiPoller(scheduler, reads::incrementAndGet);
+
+  @Test
+  public void start_readsEveryMinInterval() {
+    // Act
+    poller.start();
+    poller.start();
+    scheduler.advanceBy(3 * RssiPoller.MIN_INTERVAL_MS);
+    // Assert
+    assertThat(reads.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void onRssi_stableReadings_backsOffToMaxInterval() {
+    // Assign
+    poller.start();
+    // Act
+    for (int i = 0; i < 6; i++) {
+      poller.onRssi(-60 + (i % 2) * RssiPoller.STABLE_DBM);
+    }
+    // Assert
+    assertThat(poller.getIntervalMs()).isEqualTo(RssiPoller.MAX_INTERVAL_MS);
+  }
+
+  @Test
+  public void onRssi_changingReadings_tightensInterval() {
+    // Assign
+    poller.start();
+    poller.onRssi(-60);
+    poller.onRssi(-60);
+    poller.onRssi(-60);
+    // Act
+    poller.onRssi(-75);
+    // Assert
+    assertThat(poller.getIntervalMs()).isEqualTo(2 * RssiPoller.MIN_INTERVAL_MS);
+  }
+
+  @Test
+  public void onRssi_backedOff_readsLessOften() {
+    // Assign
+    poller.start();
+    poller.onRssi(-60);
+    poller.onRssi(-60);
+    poller.onRssi(-60);
+    // Act
+    scheduler.advanceBy(RssiPoller.MIN_INTERVAL_MS);
+    scheduler.advanceBy(4 * RssiPoller.MIN_INTERVAL_MS);
+    // Assert
+    assertThat(reads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void stop_stopsReading() {
+    // Assign
+    poller.start();
+    scheduler.advanceBy(RssiPoller.MIN_INTERVAL_MS);
+    // Act
+    poller.stop();
+    scheduler.advanceBy(10 * RssiPoller.MIN_INTERVAL_MS);
+    // Assert
+    assertThat(reads.get()).isEqualTo(1);
+    assertThat(poller.isPolling()).isFalse();
+  }
+
+  @Test
+  public void start_afterStop_resetsInterval() {
+    // Assign
+    poller.start();
+    poller.onRssi(-60);
+    poller.onRssi(-60);
+    poller.stop();
+    // Act
+    poller.start();
+    // Assert
+    assertThat(poller.getIntervalMs()).isEqualTo(RssiPoller.MIN_INTERVAL_MS);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.initialization;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics.Channel;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics.HistogramSnapshot;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics.Snapshot;
+import com.google.android.jacquard.sdk.log.Logger;
+import com.google.android.jacquard.sdk.log.PrintLogger;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import com.google.android.jacquard.sdk.rx.VirtualTimeScheduler;
+import com.google.android.jacquard.sdk.util.Fragmenter;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/** Unit tests for {@link TransportMetrics}. */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public final class TransportMetricsTest {
+
+  private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+  private final Fragmenter fragmenter = new Fragmenter("test", /* mtuSize= */ 64);
+  private final TransportMetrics metrics = new TransportMetrics(scheduler, fragmenter);
+
+  @Before
+  public void setUp() {
+    PrintLogger.initialize(ApplicationProvider.getApplicationContext());
+  }
+
+  @Test
+  public void recordRoundTrip_histogramPerOpcode() {
+    // Act
+    metrics.recordRoundTrip(Opcode.LED_PATTERN, 3);
+    metrics.recordRoundTrip(Opcode.LED_PATTERN, 30);
+    metrics.recordRoundTrip(Opcode.LED_PATTERN, 300);
+    metrics.recordRoundTrip(Opcode.BATTERY_STATUS, 10);
+    // Assert
+    HistogramSnapshot histogram = metrics.snapshot().getRoundTrips().get(Opcode.LED_PATTERN);
+    assertThat(histogram.getCount()).isEqualTo(3);
+    assertThat(histogram.getSumMs()).isEqualTo(333);
+    assertThat(histogram.getMaxMs()).isEqualTo(300);
+    assertThat(histogram.getPercentileMs(0.5)).isEqualTo(32);
+    assertThat(histogram.getPercentileMs(1)).isEqualTo(300);
+    assertThat(metrics.snapshot().getRoundTrips()).hasSize(2);
+  }
+
+  @Test
+  public void snapshot_isNotUpdatedByLaterRecords() {
+    // Arrange
+    metrics.recordOut(Channel.RAW, 20);
+    Snapshot snapshot = metrics.snapshot();
+    // Act
+    metrics.recordOut(Channel.RAW, 20);
+    metrics.recordQueueWait(Priority.BULK, 5);
+    // Assert
+    assertThat(snapshot.getFragmentsOut(Channel.RAW)).isEqualTo(1);
+    assertThat(snapshot.getBytesOut(Channel.RAW)).isEqualTo(20);
+    assertThat(snapshot.getQueueWaits().get(Priority.BULK).getCount()).isEqualTo(0);
+    assertThat(metrics.snapshot().getBytesOut(Channel.RAW)).isEqualTo(40);
+  }
+
+  @Test
+  public void getNotificationRate_countsPerSecond() {
+    // Arrange
+    for (int i = 0; i < 10; i++) {
+      metrics.recordNotification(Opcode.GEAR_DATA);
+    }
+    // Act
+    scheduler.advanceBy(2000);
+    // Assert
+    Snapshot snapshot = metrics.snapshot();
+    assertThat(snapshot.getNotifications().get(Opcode.GEAR_DATA)).isEqualTo(10);
+    assertThat(snapshot.getNotificationRate(Opcode.GEAR_DATA)).isEqualTo(5.0);
+    assertThat(snapshot.getNotificationRate(Opcode.BATTERY_STATUS)).isEqualTo(0.0);
+  }
+
+  @Test
+  public void getReassemblyFailures_countsFragmenterFailures() {
+    // Act
+    // Second fragment of a message that was never started.
+    fragmenter.decodeFragment(new byte[]{0x01, 0x00});
+    // Assert
+    assertThat(metrics.snapshot().getReassemblyFailures()).isEqualTo(1);
+  }
+
+  @Test
+  public void logPeriodically_logsUntilUnsubscribed() {
+    // Arrange
+    Logger logger = mock(Logger.class);
+    PrintLogger.setGlobalJacquardSDKLogger(logger);
+    Subscription subscription = metrics.logPeriodically(1000);
+    // Act
+    scheduler.advanceBy(2000);
+    subscription.unsubscribe();
+    scheduler.advanceBy(2000);
+    // Assert
+    verify(logger, times(2)).i(eq("TransportMetrics"), anyString());
+  }
+}
@@ -25,10 +25,16 @@ import android.Manifest.permission;
 import android.bluetooth.BluetoothGattCharacteristic;
 import android.os.Build.VERSION_CODES;
 import androidx.test.core.app.ApplicationProvider;
+import androidx.core.util.Pair;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.BleQueue;
+import com.google.android.jacquard.sdk.FakeBluetoothGattCharacteristic;
 import com.google.android.jacquard.sdk.JqExtensionRegistry;
 import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest.Priority;
 import com.google.android.jacquard.sdk.connection.Result;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics.Channel;
+import com.google.android.jacquard.sdk.initialization.TransportMetrics.HistogramSnapshot;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.CharacteristicUpdate;
 import com.google.android.jacquard.sdk.model.Component;
@@ -37,9 +43,13 @@ import com.google.android.jacquard.sdk.model.Peripheral;
 import com.google.android.jacquard.sdk.model.ProtocolSpec;
 import com.google.android.jacquard.sdk.pairing.RequiredCharacteristics;
 import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import com.google.android.jacquard.sdk.rx.VirtualTimeScheduler;
+import com.google.android.jacquard.sdk.util.BluetoothSig;
 import com.google.android.jacquard.sdk.util.FakeFragmenter;
-import com.google.android.jacquard.sdk.util.JQUtils;
 import com.google.atap.jacquard.protocol.JacquardProtocol;
+import com.google.atap.jacquard.protocol.JacquardProtocol.AttachedNotification;
+import com.google.atap.jacquard.protocol.JacquardProtocol.BatteryStatusResponse;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Opcode;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
 import com.google.atap.jacquard.protocol.JacquardProtocol.Status;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -78,6 +88,7 @@ public final class TransportTest {
 
   private final FakePeripheral peripheral = new FakePeripheral(null);
   private final RequiredCharacteristics requiredCharacteristics = new RequiredCharacteristics();
+  private final VirtualTimeScheduler timeoutScheduler = new VirtualTimeScheduler();
 
   private JacquardProtocol.Notification notification;
   private CharacteristicUpdate characteristic;
@@ -86,8 +97,9 @@ public final class TransportTest {
   @Before
   public void setUp() {
     PrintLogger.initialize(ApplicationProvider.getApplicationContext());
-    transport = new TransportImpl(peripheral, requiredCharacteristics, transportState);
-    transport.getNotificationSignal().onNext(n -> notification = JQUtils.getNotification(n));
+    transport = new TransportImpl(peripheral, requiredCharacteristics, transportState,
+        timeoutScheduler);
+    transport.getNotificationSignal().onNext(n -> notification = n);
   }
 
   @Test
@@ -128,6 +140,28 @@ public final class TransportTest {
     transportState.commandFragmenter.setThrowsException(/* throwsException= */false);
   }
 
+  @Test
+  public void onMtuChanged_largerMtu_sendsFewerFragments() {
+    // Arrange
+    byte[] message = new byte[150];
+    int defaultFragments = commandFragmenter.fragmentData(message).size();
+    // Act
+    transport.onMtuChanged(/* mtu= */ 185);
+    // Assert
+    assertThat(defaultFragments).isEqualTo(3);
+    assertThat(commandFragmenter.fragmentData(message)).hasSize(1);
+    assertThat(notificationFragmenter.fragmentData(message)).hasSize(1);
+    assertThat(dataFragmenter.fragmentData(message)).hasSize(1);
+  }
+
+  @Test
+  public void onMtuChanged_smallerMtu_keepsDefaultFragmentSize() {
+    // Act
+    transport.onMtuChanged(/* mtu= */ 23);
+    // Assert
+    assertThat(commandFragmenter.fragmentData(new byte[150])).hasSize(3);
+  }
+
   @Test
   public void characteristicUpdated_responseUuid_returnsSuccessResponseResult() {
     // Arrange
@@ -170,7 +204,7 @@ public final class TransportTest {
         .onError(responseAtomicReference::set);
     // Act
     transport.characteristicUpdated(characteristicUpdate);
-    shadowOf(getMainLooper()).idleFor(Duration.ofSeconds(10));
+    timeoutScheduler.advanceBy(Duration.ofSeconds(10).toMillis());
     // Assert
     assertThat(responseAtomicReference.get()).isInstanceOf(TimeoutException.class);
   }
@@ -189,7 +223,7 @@ public final class TransportTest {
         .onError(responseAtomicReference::set);
     // Act
     transport.characteristicUpdated(characteristicUpdate);
-    shadowOf(getMainLooper()).idleFor(Duration.ofSeconds(20));
+    timeoutScheduler.advanceBy(Duration.ofSeconds(20).toMillis());
     // Assert
     assertThat(responseAtomicReference.get()).isInstanceOf(TimeoutException.class);
   }
@@ -209,11 +243,313 @@ public final class TransportTest {
         .onError(responseAtomicReference::set);
     // Act
     transport.characteristicUpdated(characteristicUpdate);
-    shadowOf(getMainLooper()).idleFor(Duration.ofSeconds(10));
+    timeoutScheduler.advanceBy(Duration.ofSeconds(10).toMillis());
     // Assert
     assertThat(responseAtomicReference.get()).isInstanceOf(TimeoutException.class);
   }
 
+  @Test
+  public void enqueue_defaultWindow_dropsResponseForQueuedRequest() {
+    // Arrange
+    ProtoCommandRequest<Response> first = createRequest();
+    ProtoCommandRequest<Response> second = createRequest();
+    List<byte[]> responses = new ArrayList<>();
+    transport.enqueue(first, Peripheral.WriteType.WITH_RESPONSE, RETRIES).consume();
+    transport.enqueue(second, Peripheral.WriteType.WITH_RESPONSE, RETRIES).onNext(responses::add);
+    // Act
+    transport.characteristicUpdated(
+        getCharacteristicUpdate(getResponseByteData(/* requestId= */ second.getId())));
+    // Assert
+    assertThat(responses).isEmpty();
+    assertThat(transport.getPendingRequestSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void enqueue_windowOfTwo_matchesResponsesOutOfOrder() {
+    // Arrange
+    transport.setWindowSize(2);
+    ProtoCommandRequest<Response> first = createRequest();
+    ProtoCommandRequest<Response> second = createRequest();
+    List<String> responses = new ArrayList<>();
+    transport.enqueue(first, Peripheral.WriteType.WITH_RESPONSE, RETRIES)
+        .onNext(ignore -> responses.add("first"));
+    transport.enqueue(second, Peripheral.WriteType.WITH_RESPONSE, RETRIES)
+        .onNext(ignore -> responses.add("second"));
+    // Act
+    transport.characteristicUpdated(
+        getCharacteristicUpdate(getResponseByteData(/* requestId= */ second.getId())));
+    transport.characteristicUpdated(
+        getCharacteristicUpdate(getResponseByteData(/* requestId= */ first.getId())));
+    // Assert
+    assertThat(responses).containsExactly("second", "first").inOrder();
+    assertThat(transport.getPendingRequestSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void characteristicUpdated_responseWithExtension_emitsEncodedResponse()
+      throws InvalidProtocolBufferException {
+    // Arrange
+    ProtoCommandRequest<Response> request = createRequest();
+    AtomicReference<byte[]> packetAtomicReference = new AtomicReference<>();
+    transport.enqueue(request, Peripheral.WriteType.WITH_RESPONSE, RETRIES)
+        .onNext(packetAtomicReference::set);
+    Response response = Response.newBuilder().setComponentId(Component.TAG_ID)
+        .setId(request.getId()).setStatus(Status.STATUS_OK)
+        .setExtension(BatteryStatusResponse.batteryStatusResponse,
+            BatteryStatusResponse.newBuilder().setBatteryLevel(42).build())
+        .build();
+    // Act
+    transport.characteristicUpdated(getCharacteristicUpdate(
+        commandFragmenter.fragmentData(response.toByteArray()).get(0)));
+    // Assert
+    assertThat(Response.parseFrom(packetAtomicReference.get(), JqExtensionRegistry.instance))
+        .isEqualTo(response);
+    assertThat(transport.getPendingRequestSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void characteristicUpdated_failureStatus_emitsStatusError() {
+    // Arrange
+    ProtoCommandRequest<Response> request = createRequest();
+    AtomicReference<Throwable> errorAtomicReference = new AtomicReference<>();
+    transport.enqueue(request, Peripheral.WriteType.WITH_RESPONSE, RETRIES)
+        .onError(errorAtomicReference::set);
+    Response response = Response.newBuilder().setComponentId(Component.TAG_ID)
+        .setId(request.getId()).setStatus(Status.ERROR_BADPARAM).build();
+    // Act
+    transport.characteristicUpdated(getCharacteristicUpdate(
+        commandFragmenter.fragmentData(response.toByteArray()).get(0)));
+    // Assert
+    assertThat(errorAtomicReference.get()).hasMessageThat()
+        .isEqualTo("Command Failure: ERROR_BADPARAM");
+    assertThat(transport.getPendingRequestSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void enqueue_windowOfTwo_timesOutEachRequestOnItsOwn() {
+    // Arrange
+    transport.setWindowSize(2);
+    AtomicReference<Throwable> firstError = new AtomicReference<>();
+    AtomicReference<Throwable> secondError = new AtomicReference<>();
+    transport.enqueue(createRequest(), Peripheral.WriteType.WITH_RESPONSE, /* retries= */ 0,
+        /* timeout= */ 1000).onError(firstError::set);
+    transport.enqueue(createRequest(), Peripheral.WriteType.WITH_RESPONSE, /* retries= */ 0,
+        /* timeout= */ 5000).onError(secondError::set);
+    // Act
+    timeoutScheduler.advanceBy(2000);
+    // Assert
+    assertThat(firstError.get()).isInstanceOf(TimeoutException.class);
+    assertThat(secondError.get()).isNull();
+    assertThat(transport.getPendingRequestSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void enqueue_whileRequestInFlight_reportsQueueDepthPerLane() {
+    // Arrange
+    transport.enqueue(createRequest(), Peripheral.WriteType.WITH_RESPONSE, RETRIES).consume();
+    // Act
+    transport.enqueue(createRequest(), Peripheral.WriteType.WITH_RESPONSE, RETRIES).consume();
+    transport.enqueue(createRequest(Priority.INTERACTIVE), Peripheral.WriteType.WITH_RESPONSE,
+        RETRIES).consume();
+    // Assert
+    assertThat(transport.getQueueDepth(Priority.NORMAL)).isEqualTo(1);
+    assertThat(transport.getQueueDepth(Priority.INTERACTIVE)).isEqualTo(1);
+    assertThat(transport.getQueueDepth(Priority.BULK)).isEqualTo(0);
+  }
+
+  @Test
+  public void sendData_default_writesWithResponse() {
+    // Act
+    transport.sendData(new byte[200]).consume();
+    // Assert
+    assertThat(peripheral.getWriteTypes()).isNotEmpty();
+    assertThat(peripheral.getWriteTypes()).doesNotContain(Peripheral.WriteType.WITHOUT_RESPONSE);
+  }
+
+  @Test
+  public void sendData_withoutResponse_stopsWhenCreditsRunOut() {
+    // Arrange
+    transport.setRawWriteWithoutResponse(true);
+    byte[] data = new byte[1000];
+    int fragments = dataFragmenter.fragmentData(data).size();
+    // Act
+    transport.sendData(data).consume();
+    int writtenBeforeConfirm = peripheral.getWriteTypes().size();
+    transport.valueWritten(getRawCharacteristicUpdate());
+    // Assert
+    assertThat(fragments).isGreaterThan(writtenBeforeConfirm);
+    assertThat(peripheral.getWriteTypes()).hasSize(writtenBeforeConfirm + 1);
+    assertThat(peripheral.getWriteTypes())
+        .doesNotContain(Peripheral.WriteType.WITH_RESPONSE);
+  }
+
+  @Test
+  public void sendData_withoutResponseRejected_fallsBackToWithResponse() {
+    // Arrange
+    transport.setRawWriteWithoutResponse(true);
+    transport.sendData(new byte[10]).consume();
+    // Act
+    peripheral.getRejectedWrites()
+        .next(Pair.create(BluetoothSig.RAW_UUID, peripheral.getSentPayloads().get(0)));
+    transport.sendData(new byte[10]).consume();
+    timeoutScheduler.advanceBy(Duration.ofSeconds(2).toMillis());
+    transport.sendData(new byte[10]).consume();
+    // Assert
+    assertThat(peripheral.getWriteTypes()).containsExactly(Peripheral.WriteType.WITHOUT_RESPONSE,
+        Peripheral.WriteType.WITH_RESPONSE, Peripheral.WriteType.WITH_RESPONSE,
+        Peripheral.WriteType.WITHOUT_RESPONSE).inOrder();
+  }
+
+  @Test
+  public void sendData_withoutResponseRejected_keepsFragmentOrder() {
+    // Arrange
+    FakePeripheral queuedPeripheral = new FakePeripheral(new BleQueue());
+    requiredCharacteristics.rawCharacteristic = new FakeBluetoothGattCharacteristic(
+        BluetoothSig.RAW_UUID, /* properties= */ 0, /* permissions= */ 0);
+    Transport queuedTransport = new TransportImpl(queuedPeripheral, requiredCharacteristics,
+        transportState, timeoutScheduler);
+    queuedTransport.setRawWriteWithoutResponse(true);
+    byte[] data = new byte[300];
+    int fragments = dataFragmenter.fragmentData(data).size();
+    queuedTransport.sendData(data).consume();
+    List<byte[]> written = new ArrayList<>(queuedPeripheral.getPayloads());
+    // Act
+    queuedPeripheral.rejectNextWrite();
+    for (int i = 0; i < fragments; i++) {
+      queuedPeripheral.completeWrite();
+    }
+    // Assert
+    assertThat(fragments).isGreaterThan(2);
+    assertThat(written).hasSize(fragments);
+    assertThat(queuedPeripheral.getSentPayloads()).containsExactlyElementsIn(written).inOrder();
+  }
+
+  @Test
+  public void valueWritten_withResponseWrite_returnsNoCredit() {
+    // Arrange
+    transport.setRawWriteWithoutResponse(true);
+    byte[] data = new byte[1000];
+    transport.sendData(data).consume();
+    peripheral.getRejectedWrites()
+        .next(Pair.create(BluetoothSig.RAW_UUID, peripheral.getSentPayloads().get(0)));
+    timeoutScheduler.advanceBy(Duration.ofSeconds(2).toMillis());
+    // Act
+    transport.valueWritten(getRawCharacteristicUpdate());
+    int writtenBeforeSend = peripheral.getWriteTypes().size();
+    transport.sendData(data).consume();
+    // Assert
+    assertThat(peripheral.getWriteTypes().subList(writtenBeforeSend,
+        peripheral.getWriteTypes().size())).containsExactly(Peripheral.WriteType.WITHOUT_RESPONSE);
+  }
+
+  @Test
+  public void enqueue_responseDuringWrite_deliversResponse() {
+    // Arrange
+    ProtoCommandRequest<Response> request = createRequest();
+    peripheral.setOnWrite(() -> transport
+        .characteristicUpdated(getCharacteristicUpdate(getResponseByteData(request.getId()))));
+    List<byte[]> responses = new ArrayList<>();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    // Act
+    transport.enqueue(request, Peripheral.WriteType.WITH_RESPONSE, RETRIES)
+        .tapError(error::set)
+        .onNext(responses::add);
+    timeoutScheduler.advanceBy(Duration.ofSeconds(20).toMillis());
+    // Assert
+    assertThat(responses).hasSize(1);
+    assertThat(error.get()).isNull();
+    assertThat(peripheral.getPayloads()).hasSize(1);
+    assertThat(transport.getPendingRequestSize()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setWindowSize_zero_throws() {
+    // Act
+    transport.setWindowSize(0);
+  }
+
+  @Test
+  public void getMetrics_response_recordsRoundTripAndBytes() {
+    // Arrange
+    ProtoCommandRequest<Response> request = createRequest();
+    transport.enqueue(request, Peripheral.WriteType.WITH_RESPONSE, RETRIES).consume();
+    byte[] data = getResponseByteData(request.getId());
+    timeoutScheduler.advanceBy(40);
+    // Act
+    transport.characteristicUpdated(getCharacteristicUpdate(data));
+    // Assert
+    TransportMetrics.Snapshot snapshot = transport.getMetrics().snapshot();
+    HistogramSnapshot roundTrip = snapshot.getRoundTrips().get(Opcode.LED_PATTERN);
+    assertThat(roundTrip.getCount()).isEqualTo(1);
+    assertThat(roundTrip.getMaxMs()).isEqualTo(40);
+    assertThat(snapshot.getFragmentsOut(Channel.COMMAND)).isEqualTo(1);
+    assertThat(snapshot.getFragmentsIn(Channel.RESPONSE)).isEqualTo(1);
+    assertThat(snapshot.getBytesIn(Channel.RESPONSE)).isEqualTo(data.length);
+    assertThat(snapshot.getQueueWaits().get(Priority.NORMAL).getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void getMetrics_timeout_recordsTimeoutsAndRetries() {
+    // Arrange
+    transport.enqueue(createRequest(), Peripheral.WriteType.WITH_RESPONSE, /* retries= */ 1)
+        .consume();
+    // Act
+    timeoutScheduler.advanceBy(Duration.ofSeconds(20).toMillis());
+    // Assert
+    TransportMetrics.Snapshot snapshot = transport.getMetrics().snapshot();
+    assertThat(snapshot.getTimeouts()).isEqualTo(2);
+    assertThat(snapshot.getRetries()).isEqualTo(1);
+    assertThat(snapshot.getFragmentsOut(Channel.COMMAND)).isEqualTo(2);
+  }
+
+  @Test
+  public void getNotificationSignal_extension_emitsOnlyNotificationsWithExtension() {
+    // Arrange
+    List<JacquardProtocol.Notification> attached = new ArrayList<>();
+    transport.getNotificationSignal(AttachedNotification.attached).onNext(attached::add);
+    // Act
+    transport.characteristicUpdated(getNotifyCharacteristicUpdate(createAttachedNotification()));
+    transport.characteristicUpdated(getNotifyCharacteristicUpdate(
+        JacquardProtocol.Notification.newBuilder().setDomain(JacquardProtocol.Domain.BASE)
+            .setOpcode(Opcode.BATTERY_STATUS).build()));
+    // Assert
+    assertThat(attached).hasSize(1);
+    assertThat(attached.get(0).hasExtension(AttachedNotification.attached)).isTrue();
+    assertThat(transport.getMetrics().snapshot().getNotifications()).hasSize(2);
+  }
+
+  @Test
+  public void getNotificationSignal_attachedExtension_emitsCachedAttachNotification() {
+    // Arrange
+    transport.characteristicUpdated(getNotifyCharacteristicUpdate(createAttachedNotification()));
+    List<JacquardProtocol.Notification> attached = new ArrayList<>();
+    // Act
+    transport.getNotificationSignal(AttachedNotification.attached).onNext(attached::add);
+    // Assert
+    assertThat(attached).hasSize(1);
+  }
+
+  private CharacteristicUpdate getNotifyCharacteristicUpdate(
+      JacquardProtocol.Notification notification) {
+    FakeBluetoothGattCharacteristic bluetoothGattCharacteristic = new FakeBluetoothGattCharacteristic(
+        NOTIFY_UUID, /* properties= */ 0, /* permissions= */ 0);
+    bluetoothGattCharacteristic.setValue(
+        notificationFragmenter.fragmentData(notification.toByteArray()).get(0));
+    return CharacteristicUpdate.of(peripheral, bluetoothGattCharacteristic);
+  }
+
+  private static JacquardProtocol.Notification createAttachedNotification() {
+    return JacquardProtocol.Notification.newBuilder().setDomain(JacquardProtocol.Domain.GEAR)
+        .setOpcode(Opcode.ATTACHED)
+        .setExtension(AttachedNotification.attached, AttachedNotification.getDefaultInstance())
+        .build();
+  }
+
+  private CharacteristicUpdate getRawCharacteristicUpdate() {
+    return CharacteristicUpdate.of(peripheral, new FakeBluetoothGattCharacteristic(
+        BluetoothSig.RAW_UUID, /* properties= */ 0, /* permissions= */ 0));
+  }
+
   private CharacteristicUpdate getCharacteristicUpdate(byte[] commandResponse) {
     FakeBluetoothGattCharacteristic bluetoothGattCharacteristic = new FakeBluetoothGattCharacteristic(
         RESPONSE_UUID, /* properties= */ 0, /* permissions= */ 0);
@@ -364,18 +700,22 @@ public final class TransportTest {
   }
 
   private static ProtoCommandRequest<Response> createRequest() {
+    return createRequest(Priority.NORMAL);
+  }
+
+  private static ProtoCommandRequest<Response> createRequest(Priority priority) {
     return new ProtoCommandRequest<Response>() {
       private int id;
 
       @Override
-      public Result<Response> parseResponse(byte[] response) {
-        try {
-          Response resp = Response.parseFrom(response);
-          id = resp.getId();
-          return Result.ofSuccess(resp);
-        } catch (InvalidProtocolBufferException e) {
-          return Result.ofFailure(e);
-        }
+      public Priority priority() {
+        return priority;
+      }
+
+      @Override
+      public Result<Response> parseResponse(Response response) {
+        id = response.getId();
+        return Result.ofSuccess(response);
       }
 
       @Override
@@ -21,6 +21,7 @@ import static com.google.android.jacquard.sdk.log.LogLevel.ASSERT;
 import static com.google.android.jacquard.sdk.log.LogLevel.ERROR;
 import static com.google.android.jacquard.sdk.log.LogLevel.INFO;
 import static com.google.android.jacquard.sdk.log.LogLevel.WARNING;
+import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -171,4 +172,12 @@ public class LoggerImplTest {
     // Assert
     verify(loggerSpy).getLogFile(any());
   }
+
+  @Test
+  public void isLoggable_followsLogLevels() {
+    // Act & Assert
+    assertThat(logger.isLoggable(INFO, TAG)).isTrue();
+    assertThat(logger.isLoggable(LogLevel.DEBUG, TAG)).isFalse();
+    assertThat(logger.isLoggable(LogLevel.VERBOSE, TAG)).isFalse();
+  }
 }
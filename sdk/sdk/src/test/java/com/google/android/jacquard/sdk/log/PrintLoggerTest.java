@@ -17,8 +17,11 @@
 
 package com.google.android.jacquard.sdk.log;
 
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.os.Build.VERSION_CODES;
 import androidx.test.core.app.ApplicationProvider;
@@ -200,4 +203,46 @@ public class PrintLoggerTest {
     // Assert
     verify(logger).getLogFile(ApplicationProvider.getApplicationContext());
   }
+
+  @Test
+  public void logDebugWithFormat_loggable_formatsMessage() {
+    // Arrange
+    PrintLogger.initialize(ApplicationProvider.getApplicationContext());
+    PrintLogger.setGlobalJacquardSDKLogger(logger);
+    when(logger.isLoggable(LogLevel.DEBUG, TAG)).thenReturn(true);
+    // Act
+    PrintLogger.d(TAG, "%s # %d", MESSAGE, 7);
+    // Assert
+    verify(logger).d(TAG, MESSAGE + " # 7");
+  }
+
+  @Test
+  public void logDebugWithFormat_notLoggable_doesNotFormat() {
+    // Arrange
+    PrintLogger.initialize(ApplicationProvider.getApplicationContext());
+    PrintLogger.setGlobalJacquardSDKLogger(logger);
+    when(logger.isLoggable(LogLevel.DEBUG, TAG)).thenReturn(false);
+    Object arg = new Object() {
+      @Override
+      public String toString() {
+        throw new AssertionError("Formatted a message that is not logged");
+      }
+    };
+    // Act
+    PrintLogger.d(TAG, "%s", arg);
+    // Assert
+    verify(logger, never()).d(anyString(), anyString());
+  }
+
+  @Test
+  public void logVerboseWithFormat_loggable_formatsMessage() {
+    // Arrange
+    PrintLogger.initialize(ApplicationProvider.getApplicationContext());
+    PrintLogger.setGlobalJacquardSDKLogger(logger);
+    when(logger.isLoggable(LogLevel.VERBOSE, TAG)).thenReturn(true);
+    // Act
+    PrintLogger.v(TAG, "%s", MESSAGE);
+    // Assert
+    verify(logger).v(TAG, MESSAGE);
+  }
 }
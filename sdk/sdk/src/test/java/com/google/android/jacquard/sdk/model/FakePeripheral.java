@@ -17,19 +17,31 @@ package com.google.android.jacquard.sdk.model;
 
 import android.bluetooth.BluetoothGattCharacteristic;
 import android.bluetooth.BluetoothGattService;
+import androidx.core.util.Pair;
 import com.google.android.jacquard.sdk.BleQueue;
+import com.google.android.jacquard.sdk.BleQueue.Command;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
- * Fake implementation of {@link Peripheral}.
+ * Fake implementation of {@link Peripheral}. Given a {@link BleQueue}, characteristic writes run on
+ * it one at a time and wait for {@link #completeWrite()}.
  */
 public final class FakePeripheral extends Peripheral {
 
   private static final String IDENTIFIER = "C2:04:1C:6F:02:BA";
+  private final BleQueue bleQueue;
+  private final List<WriteType> writeTypes = new ArrayList<>();
+  private final List<byte[]> payloads = new ArrayList<>();
+  private final List<byte[]> sentPayloads = new ArrayList<>();
+  private boolean rejectNextWrite;
+  private Runnable onWrite;
   private UUID bluetoothSigUuid;
 
   public FakePeripheral(BleQueue bleQueue) {
     super(/* bluetoothGatt= */ null, bleQueue);
+    this.bleQueue = bleQueue;
   }
 
   @Override
@@ -40,7 +52,60 @@ public final class FakePeripheral extends Peripheral {
   @Override
   public boolean writeCharacteristic(BluetoothGattCharacteristic characteristic,
       WriteType writeType, byte[] payload) {
-    return true;
+    writeTypes.add(writeType);
+    payloads.add(payload);
+    if (bleQueue == null) {
+      sentPayloads.add(payload);
+      if (onWrite != null) {
+        onWrite.run();
+      }
+      return true;
+    }
+    return bleQueue.enqueue(new WriteCommand(characteristic.getUuid(), writeType, payload));
+  }
+
+  @Override
+  public List<byte[]> cancelWrites(UUID characteristicUuid) {
+    List<byte[]> payloads = new ArrayList<>();
+    if (bleQueue == null) {
+      return payloads;
+    }
+    for (Command command : bleQueue.removeWaiting(
+        command -> command instanceof WriteCommand
+            && ((WriteCommand) command).uuid.equals(characteristicUuid))) {
+      payloads.add(((WriteCommand) command).payload);
+    }
+    return payloads;
+  }
+
+  /** Returns the write type of every characteristic write, in order. */
+  public List<WriteType> getWriteTypes() {
+    return writeTypes;
+  }
+
+  /** Returns the payload of every characteristic write, in the order requested. */
+  public List<byte[]> getPayloads() {
+    return payloads;
+  }
+
+  /** Returns the payload of every characteristic write that reached the tag, in order. */
+  public List<byte[]> getSentPayloads() {
+    return sentPayloads;
+  }
+
+  /** Makes the stack reject the next write without response that runs on the queue. */
+  public void rejectNextWrite() {
+    rejectNextWrite = true;
+  }
+
+  /** Runs <code>onWrite</code> after each write when there is no {@link BleQueue}. */
+  public void setOnWrite(Runnable onWrite) {
+    this.onWrite = onWrite;
+  }
+
+  /** Completes the running characteristic write. */
+  public void completeWrite() {
+    bleQueue.completedCommand(Command.Type.WRITE_CHARACTERISTIC);
   }
 
   @Override
@@ -76,8 +141,38 @@ public final class FakePeripheral extends Peripheral {
   public void requestConnectionPriority(int priority) {
   }
 
+  @Override
+  public boolean requestMtu(int mtu) {
+    return true;
+  }
+
   @Override
   public boolean requestRssi() {
     return true;
   }
+
+  private final class WriteCommand extends Command {
+
+    private final UUID uuid;
+    private final WriteType writeType;
+    private final byte[] payload;
+
+    WriteCommand(UUID uuid, WriteType writeType, byte[] payload) {
+      super(Type.WRITE_CHARACTERISTIC);
+      this.uuid = uuid;
+      this.writeType = writeType;
+      this.payload = payload;
+    }
+
+    @Override
+    public void run() {
+      if (rejectNextWrite && writeType == WriteType.WITHOUT_RESPONSE) {
+        rejectNextWrite = false;
+        getRejectedWrites().next(Pair.create(uuid, payload));
+        bleQueue.completedCommand(type);
+        return;
+      }
+      sentPayloads.add(payload);
+    }
+  }
 }
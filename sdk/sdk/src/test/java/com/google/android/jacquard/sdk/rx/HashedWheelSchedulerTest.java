@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/**
+ * Unit tests for {@link HashedWheelScheduler}.
+ */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public class HashedWheelSchedulerTest {
+
+  private final HashedWheelScheduler scheduler =
+      new HashedWheelScheduler("TestTimer", /* tickMs= */ 1, /* ticksPerWheel= */ 8);
+
+  @Test
+  public void schedule_runsTaskAfterDelay() throws InterruptedException {
+    // Arrange
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+    // Act
+    scheduler.schedule(latch::countDown, /* delayMs= */ 20);
+    // Assert
+    assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(20);
+  }
+
+  @Test
+  public void schedule_delayLongerThanWheel_runsTask() throws InterruptedException {
+    // Arrange
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+    // Act
+    scheduler.schedule(latch::countDown, /* delayMs= */ 50);
+    // Assert
+    assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(50);
+  }
+
+  @Test
+  public void unsubscribe_cancelsTask() throws InterruptedException {
+    // Arrange
+    AtomicBoolean ran = new AtomicBoolean();
+    CountDownLatch latch = new CountDownLatch(1);
+    // Act
+    scheduler.schedule(() -> ran.set(true), /* delayMs= */ 10).unsubscribe();
+    scheduler.schedule(latch::countDown, /* delayMs= */ 30);
+    // Assert
+    assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(ran.get()).isFalse();
+  }
+
+  @Test
+  public void schedule_runsTasksInDeadlineOrder() throws InterruptedException {
+    // Arrange
+    List<Integer> order = new CopyOnWriteArrayList<>();
+    CountDownLatch latch = new CountDownLatch(3);
+    // Act
+    scheduler.schedule(() -> {
+      order.add(3);
+      latch.countDown();
+    }, /* delayMs= */ 40);
+    scheduler.schedule(() -> {
+      order.add(1);
+      latch.countDown();
+    }, /* delayMs= */ 5);
+    scheduler.schedule(() -> {
+      order.add(2);
+      latch.countDown();
+    }, /* delayMs= */ 20);
+    // Assert
+    assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(order).containsExactly(1, 2, 3).inOrder();
+  }
+
+  @Test
+  public void schedule_afterIdle_runsTask() throws InterruptedException {
+    // Arrange
+    CountDownLatch first = new CountDownLatch(1);
+    scheduler.schedule(first::countDown, /* delayMs= */ 1);
+    first.await(1, TimeUnit.SECONDS);
+    Thread.sleep(20);
+    CountDownLatch second = new CountDownLatch(1);
+    // Act
+    scheduler.schedule(second::countDown, /* delayMs= */ 5);
+    // Assert
+    assertThat(second.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+}
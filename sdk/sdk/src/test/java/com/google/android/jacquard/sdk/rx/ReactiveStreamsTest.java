@@ -0,0 +1,281 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.rx.Signal.OverflowPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.robolectric.annotation.Config;
+
+/**
+ * Unit tests for {@link ReactiveStreams}, following the rules of the Reactive Streams
+ * specification that the TCK verifies.
+ */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public class ReactiveStreamsTest {
+
+  @Test
+  public void rule1_01_emitsNoMoreThanRequested() {
+    // Assign
+    Publisher<Integer> publisher = ReactiveStreams.toPublisher(Signal.from(Arrays.asList(1, 2, 3)));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(0);
+    publisher.subscribe(subscriber);
+    // Act
+    subscriber.subscription.request(2);
+    // Assert
+    assertThat(subscriber.values).containsExactly(1, 2).inOrder();
+    assertThat(subscriber.completed).isFalse();
+  }
+
+  @Test
+  public void rule1_02_completesAfterBufferedValuesAreRequested() {
+    // Assign
+    Publisher<Integer> publisher = ReactiveStreams.toPublisher(Signal.from(Arrays.asList(1, 2, 3)));
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(2);
+    publisher.subscribe(subscriber);
+    // Act
+    subscriber.subscription.request(1);
+    // Assert
+    assertThat(subscriber.values).containsExactly(1, 2, 3).inOrder();
+    assertThat(subscriber.completed).isTrue();
+  }
+
+  @Test
+  public void rule1_04_errorIsDeliveredWithoutDemand() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(0);
+    ReactiveStreams.toPublisher(signal).subscribe(subscriber);
+    signal.next(1);
+    IllegalStateException error = new IllegalStateException();
+    // Act
+    signal.error(error);
+    // Assert
+    assertThat(subscriber.values).isEmpty();
+    assertThat(subscriber.error).isSameInstanceAs(error);
+  }
+
+  @Test
+  public void rule1_09_nullSubscriber_throws() {
+    Publisher<Integer> publisher = ReactiveStreams.toPublisher(Signal.create());
+    assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+  }
+
+  @Test
+  public void rule1_11_eachSubscriberHasItsOwnDemand() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    Publisher<Integer> publisher = ReactiveStreams.toPublisher(signal);
+    RecordingSubscriber<Integer> first = new RecordingSubscriber<>(Long.MAX_VALUE);
+    RecordingSubscriber<Integer> second = new RecordingSubscriber<>(1);
+    publisher.subscribe(first);
+    publisher.subscribe(second);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    // Assert
+    assertThat(first.values).containsExactly(1, 2).inOrder();
+    assertThat(second.values).containsExactly(1);
+  }
+
+  @Test
+  public void rule3_03_requestFromOnNext_doesNotRecurse() {
+    // Assign
+    List<Integer> items = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      items.add(i);
+    }
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>(1) {
+      @Override
+      public void onNext(Integer value) {
+        super.onNext(value);
+        subscription.request(1);
+      }
+    };
+    // Act
+    ReactiveStreams.toPublisher(Signal.from(items), items.size(), OverflowPolicy.ERROR)
+        .subscribe(subscriber);
+    // Assert
+    assertThat(subscriber.values).hasSize(items.size());
+    assertThat(subscriber.completed).isTrue();
+  }
+
+  @Test
+  public void rule3_06_cancel_unsubscribesSignalAndStopsDelivery() {
+    // Assign
+    AtomicBoolean unsubscribed = new AtomicBoolean();
+    Signal<Integer> upstream = Signal.create();
+    Signal<Integer> signal = Signal.create(s -> {
+      Signal.Subscription sub = upstream.forward(s);
+      return new Signal.Subscription() {
+        @Override
+        protected void onUnsubscribe() {
+          unsubscribed.set(true);
+          sub.unsubscribe();
+        }
+      };
+    });
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+    ReactiveStreams.toPublisher(signal).subscribe(subscriber);
+    upstream.next(1);
+    // Act
+    subscriber.subscription.cancel();
+    subscriber.subscription.cancel();
+    upstream.next(2);
+    upstream.complete();
+    // Assert
+    assertThat(unsubscribed.get()).isTrue();
+    assertThat(subscriber.values).containsExactly(1);
+    assertThat(subscriber.completed).isFalse();
+  }
+
+  @Test
+  public void rule3_09_nonPositiveRequest_errors() {
+    // Assign
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(0);
+    ReactiveStreams.toPublisher(Signal.<Integer>create()).subscribe(subscriber);
+    // Act
+    subscriber.subscription.request(0);
+    // Assert
+    assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void rule3_17_requestSaturatesAtLongMaxValue() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(Long.MAX_VALUE);
+    ReactiveStreams.toPublisher(signal).subscribe(subscriber);
+    // Act
+    subscriber.subscription.request(Long.MAX_VALUE);
+    for (int i = 0; i < 1000; i++) {
+      signal.next(i);
+    }
+    // Assert
+    assertThat(subscriber.values).hasSize(1000);
+    assertThat(subscriber.error).isNull();
+  }
+
+  @Test
+  public void overflow_dropOldest_keepsLatestValues() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(0);
+    ReactiveStreams.toPublisher(signal, 2, OverflowPolicy.DROP_OLDEST).subscribe(subscriber);
+    for (int i = 1; i <= 5; i++) {
+      signal.next(i);
+    }
+    // Act
+    subscriber.subscription.request(10);
+    // Assert
+    assertThat(subscriber.values).containsExactly(4, 5).inOrder();
+  }
+
+  @Test
+  public void overflow_error_errorsAndUnsubscribes() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(1);
+    ReactiveStreams.toPublisher(signal, 1, OverflowPolicy.ERROR).subscribe(subscriber);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    // Assert
+    assertThat(subscriber.values).containsExactly(1);
+    assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+    assertThat(signal.hasObservers()).isFalse();
+  }
+
+  @Test
+  public void fromPublisher_roundTrip_emitsAllValues() {
+    // Assign
+    Publisher<Integer> publisher = ReactiveStreams.toPublisher(Signal.from(Arrays.asList(1, 2, 3)));
+    List<Integer> values = new ArrayList<>();
+    AtomicBoolean completed = new AtomicBoolean();
+    // Act
+    ReactiveStreams.fromPublisher(publisher).observe(values::add, error -> completed.set(true));
+    // Assert
+    assertThat(values).containsExactly(1, 2, 3).inOrder();
+    assertThat(completed.get()).isTrue();
+  }
+
+  @Test
+  public void fromPublisher_unsubscribe_cancelsSubscription() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    List<Integer> values = new ArrayList<>();
+    Signal.Subscription subscription = ReactiveStreams
+        .fromPublisher(ReactiveStreams.toPublisher(signal)).onNext(values::add);
+    signal.next(1);
+    // Act
+    subscription.unsubscribe();
+    signal.next(2);
+    // Assert
+    assertThat(values).isEqualTo(Collections.singletonList(1));
+    assertThat(signal.hasObservers()).isFalse();
+  }
+
+  private static class RecordingSubscriber<T> implements Subscriber<T> {
+
+    final List<T> values = new ArrayList<>();
+    private final long initialRequest;
+    Subscription subscription;
+    boolean completed;
+    Throwable error;
+
+    RecordingSubscriber(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0) {
+        subscription.request(initialRequest);
+      }
+    }
+
+    @Override
+    public void onNext(T value) {
+      values.add(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = t;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+}
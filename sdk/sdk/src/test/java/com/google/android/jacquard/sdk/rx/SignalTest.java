@@ -20,6 +20,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
@@ -34,7 +35,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.Robolectric;
@@ -127,7 +130,7 @@ public class SignalTest {
   @Test
   public void testTimeout() {
     // Assign
-    Signal<?> s = Signal.create().timeout(5000);
+    Signal<?> s = Signal.create().timeout(5000, Schedulers.mainThread());
     s.observe(new CollectAll<Object>());
     // Act
     Robolectric.getForegroundThreadScheduler().advanceBy(4999, MILLISECONDS);
@@ -418,6 +421,49 @@ public class SignalTest {
     assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 1, 2), c.xs);
   }
 
+  @Test
+  public void mergeMultiple_completesAfterLastSource() {
+    // Assign
+    Signal<Integer> s1 = Signal.create();
+    Signal<Integer> s2 = Signal.create();
+    Signal<Integer> s3 = Signal.create();
+    CollectAll<Integer> c = new CollectAll<>();
+    Signal.merge(Arrays.asList(s1, s2, s3)).observe(c);
+    // Act
+    s3.next(3);
+    s1.next(1);
+    s1.complete();
+    s2.complete();
+    // Assert
+    assertFalse(c.completed);
+    s3.complete();
+    assertTrue(c.completed);
+    assertEquals(Arrays.asList(3, 1), c.xs);
+  }
+
+  @Test
+  public void mergeEmpty_completes() {
+    // Assign
+    CollectAll<Integer> c = new CollectAll<>();
+    // Act
+    Signal.merge(Collections.<Signal<Integer>>emptyList()).observe(c);
+    // Assert
+    assertTrue(c.completed);
+  }
+
+  @Test
+  public void mergeMultiple_unsubscribe_unsubscribesAllSources() {
+    // Assign
+    Signal<Integer> s1 = Signal.create();
+    Signal<Integer> s2 = Signal.create();
+    Subscription subscription = Signal.merge(Arrays.asList(s1, s2)).observe(new CollectAll<>());
+    // Act
+    subscription.unsubscribe();
+    // Assert
+    assertFalse(s1.hasObservers());
+    assertFalse(s2.hasObservers());
+  }
+
   @Test
   public void testDistinct() {
     // Assign
@@ -496,6 +542,81 @@ public class SignalTest {
     assertEquals(Arrays.asList(1, 2), ob2.xs);
   }
 
+  @Test
+  public void timeout_virtualTime_errorsAfterTimeout() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    Signal.create().timeout(5000, scheduler).onError(error::set);
+    // Act
+    scheduler.advanceBy(4999);
+    Throwable beforeTimeout = error.get();
+    scheduler.advanceBy(1);
+    // Assert
+    assertNull(beforeTimeout);
+    assertTrue(error.get() instanceof TimeoutException);
+  }
+
+  @Test
+  public void timeout_virtualTime_nextRestartsTimer() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> source = Signal.create();
+    CollectAll<Integer> ob = new CollectAll<>();
+    source.timeout(5000, scheduler).observe(ob);
+    // Act
+    scheduler.advanceBy(4000);
+    source.next(1);
+    scheduler.advanceBy(4000);
+    source.next(2);
+    source.complete();
+    scheduler.advanceBy(10000);
+    // Assert
+    assertEquals(Arrays.asList(1, 2), ob.xs);
+    assertTrue(ob.completed);
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void timeout_unsubscribe_cancelsTimer() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Subscription subscription = Signal.create().timeout(5000, scheduler).observe(new Noop<>());
+    // Act
+    subscription.unsubscribe();
+    // Assert
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void delay_virtualTime_emitsAfterDelay() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    CollectAll<Integer> ob = new CollectAll<>();
+    Signal.from(Arrays.asList(1, 2)).delay(1000, scheduler).observe(ob);
+    // Act
+    scheduler.advanceBy(999);
+    int beforeDelay = ob.xs.size();
+    scheduler.advanceBy(1);
+    // Assert
+    assertEquals(0, beforeDelay);
+    assertEquals(Arrays.asList(1, 2), ob.xs);
+    assertTrue(ob.completed);
+  }
+
+  @Test
+  public void countDownTimer_virtualTime_ticksAndCompletes() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    CollectAll<Long> ob = new CollectAll<>();
+    Signal.<Long>just(0L).countDownTimer(3000, 1000, scheduler).observe(ob);
+    // Act
+    scheduler.advanceBy(3000);
+    // Assert
+    assertEquals(Arrays.asList(3000L, 2000L, 1000L), ob.xs);
+    assertTrue(ob.completed);
+  }
+
   @Test
   public void delayWithNoCompletion() {
     // Assign
@@ -711,6 +832,769 @@ public class SignalTest {
     assertEquals(expected, ob.xs);
   }
 
+  @Test
+  public void unsubscribeMiddleObserver_othersStillReceive() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> first = new CollectAll<>();
+    CollectAll<Integer> second = new CollectAll<>();
+    CollectAll<Integer> third = new CollectAll<>();
+    signal.observe(first);
+    Subscription subscription = signal.observe(second);
+    signal.observe(third);
+    // Act
+    signal.next(1);
+    subscription.unsubscribe();
+    signal.next(2);
+    // Assert
+    assertEquals(Arrays.asList(1, 2), first.xs);
+    assertEquals(Collections.singletonList(1), second.xs);
+    assertEquals(Arrays.asList(1, 2), third.xs);
+    assertTrue(signal.hasObservers());
+  }
+
+  @Test
+  public void unsubscribeDuringNext_currentEmissionCompletes() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> other = new CollectAll<>();
+    List<Integer> received = new ArrayList<>();
+    Subscription[] self = new Subscription[1];
+    self[0] = signal.onNext(i -> {
+      received.add(i);
+      self[0].unsubscribe();
+    });
+    signal.observe(other);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    // Assert
+    assertEquals(Collections.singletonList(1), received);
+    assertEquals(Arrays.asList(1, 2), other.xs);
+  }
+
+  @Test
+  public void lastObserverUnsubscribed_hasNoObservers() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    Subscription subscription = signal.observe(new CollectAll<>());
+    // Act
+    subscription.unsubscribe();
+    // Assert
+    assertFalse(signal.hasObservers());
+  }
+
+  @Test
+  public void subscribeOn_subscribesOnExecutor() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    AtomicInteger subscribed = new AtomicInteger();
+    CollectAll<Integer> observer = new CollectAll<>();
+    // Act
+    Signal.<Integer>create(signal -> {
+      subscribed.incrementAndGet();
+      signal.next(1);
+      return new Subscription();
+    }).subscribeOn(tasks::add).observe(observer);
+    // Assert
+    assertEquals(0, subscribed.get());
+    assertEquals(1, tasks.size());
+    tasks.get(0).run();
+    assertEquals(1, subscribed.get());
+    assertEquals(Collections.singletonList(1), observer.xs);
+  }
+
+  @Test
+  public void subscribeOn_unsubscribeBeforeRun_doesNotSubscribe() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    AtomicInteger subscribed = new AtomicInteger();
+    Subscription subscription = Signal.<Integer>create(signal -> {
+      subscribed.incrementAndGet();
+      return new Subscription();
+    }).subscribeOn(tasks::add).observe(new CollectAll<>());
+    // Act
+    subscription.unsubscribe();
+    tasks.get(0).run();
+    // Assert
+    assertEquals(0, subscribed.get());
+  }
+
+  @Test
+  public void observeOn_drainsInOrderWithSingleTask() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.observeOn(tasks::add).observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    // Assert
+    assertEquals(1, tasks.size());
+    assertTrue(observer.xs.isEmpty());
+    tasks.get(0).run();
+    assertEquals(Arrays.asList(1, 2, 3), observer.xs);
+  }
+
+  @Test
+  public void observeOnMainThread_onMainThread_posts() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.observeOn(Executors.mainThreadExecutor()).observe(observer);
+    // Act
+    signal.next(1);
+    // Assert
+    assertTrue(observer.xs.isEmpty());
+    shadowOf(getMainLooper()).idle();
+    assertEquals(Collections.singletonList(1), observer.xs);
+  }
+
+  @Test
+  public void observeOnMainThreadImmediate_onMainThread_deliversInline() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.observeOn(Executors.mainThreadImmediateExecutor()).observe(observer);
+    // Act
+    signal.next(1);
+    // Assert
+    assertEquals(Collections.singletonList(1), observer.xs);
+  }
+
+  @Test
+  public void onBackpressureDrop_dropsWhileItemPending() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    Signal.BackpressureSignal<Integer> dropped = signal.onBackpressureDrop(tasks::add);
+    dropped.observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    tasks.get(0).run();
+    // Assert
+    assertEquals(Collections.singletonList(1), observer.xs);
+    assertEquals(2, dropped.getDroppedCount());
+  }
+
+  @Test
+  public void onBackpressureLatest_keepsMostRecent() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    Signal.BackpressureSignal<Integer> latest = signal.onBackpressureLatest(tasks::add);
+    latest.observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    signal.complete();
+    tasks.get(0).run();
+    // Assert
+    assertEquals(Collections.singletonList(3), observer.xs);
+    assertTrue(observer.completed);
+    assertEquals(2, latest.getDroppedCount());
+  }
+
+  @Test
+  public void onBackpressureBuffer_dropOldest_keepsLastItems() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    Signal.BackpressureSignal<Integer> buffered =
+        signal.onBackpressureBuffer(2, Signal.OverflowPolicy.DROP_OLDEST, tasks::add);
+    buffered.observe(observer);
+    // Act
+    for (int i = 1; i <= 5; i++) {
+      signal.next(i);
+    }
+    tasks.get(0).run();
+    // Assert
+    assertEquals(Arrays.asList(4, 5), observer.xs);
+    assertEquals(3, buffered.getDroppedCount());
+  }
+
+  @Test
+  public void onBackpressureBuffer_dropLatest_keepsFirstItems() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    Signal.BackpressureSignal<Integer> buffered =
+        signal.onBackpressureBuffer(2, Signal.OverflowPolicy.DROP_LATEST, tasks::add);
+    buffered.observe(observer);
+    // Act
+    for (int i = 1; i <= 5; i++) {
+      signal.next(i);
+    }
+    tasks.get(0).run();
+    // Assert
+    assertEquals(Arrays.asList(1, 2), observer.xs);
+    assertEquals(3, buffered.getDroppedCount());
+  }
+
+  @Test
+  public void onBackpressureBuffer_error_errorsAndUnsubscribes() {
+    // Assign
+    List<Runnable> tasks = new ArrayList<>();
+    Signal<Integer> signal = Signal.create();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    List<Integer> received = new ArrayList<>();
+    signal.onBackpressureBuffer(2, Signal.OverflowPolicy.ERROR, tasks::add)
+        .observe(received::add, error::set);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    tasks.get(0).run();
+    // Assert
+    assertTrue(received.isEmpty());
+    assertTrue(error.get() instanceof IllegalStateException);
+    assertFalse(signal.hasObservers());
+  }
+
+  @Test
+  public void onBackpressureBuffer_nonPositiveCapacity_throws() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> signal.onBackpressureBuffer(0, Signal.OverflowPolicy.DROP_OLDEST, tasks -> {
+        }));
+  }
+
+  @Test
+  public void bufferCount_emitsFullListsAndRemainderOnComplete() {
+    // Assign
+    CollectAll<List<Integer>> observer = new CollectAll<>();
+    // Act
+    Signal.from(Arrays.asList(1, 2, 3, 4, 5)).buffer(2).observe(observer);
+    // Assert
+    assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4),
+        Collections.singletonList(5)), observer.xs);
+    assertTrue(observer.completed);
+  }
+
+  @Test
+  public void bufferTime_emitsAfterTimeFromFirstItem() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<List<Integer>> observer = new CollectAll<>();
+    signal.buffer(Integer.MAX_VALUE, 100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    scheduler.advanceBy(50);
+    signal.next(2);
+    scheduler.advanceBy(50);
+    scheduler.advanceBy(500);
+    signal.next(3);
+    // Assert
+    assertEquals(Collections.singletonList(Arrays.asList(1, 2)), observer.xs);
+    assertEquals(1, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void bufferCountAndTime_countFlushCancelsTimer() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<List<Integer>> observer = new CollectAll<>();
+    signal.buffer(2, 100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    scheduler.advanceBy(100);
+    // Assert
+    assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), observer.xs);
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void bufferTime_unsubscribe_cancelsTimer() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    Subscription subscription = signal.buffer(10, 100, scheduler).observe(new CollectAll<>());
+    signal.next(1);
+    // Act
+    subscription.unsubscribe();
+    // Assert
+    assertEquals(0, scheduler.getPendingTaskCount());
+    assertFalse(signal.hasObservers());
+  }
+
+  @Test
+  public void windowCount_splitsIntoCompletedWindows() {
+    // Assign
+    List<List<Integer>> windows = new ArrayList<>();
+    AtomicInteger completed = new AtomicInteger();
+    // Act
+    Signal.from(Arrays.asList(1, 2, 3)).window(2).onNext(window -> {
+      List<Integer> items = new ArrayList<>();
+      windows.add(items);
+      window.observe(items::add, error -> completed.incrementAndGet());
+    });
+    // Assert
+    assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), windows);
+    assertEquals(2, completed.get());
+  }
+
+  @Test
+  public void windowTime_completesWindowAfterTime() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    List<Signal<Integer>> windows = new ArrayList<>();
+    signal.window(Integer.MAX_VALUE, 100, scheduler).onNext(windows::add);
+    // Act
+    signal.next(1);
+    scheduler.advanceBy(100);
+    signal.next(2);
+    // Assert
+    assertEquals(2, windows.size());
+    assertTrue(windows.get(0).isComplete());
+    assertFalse(windows.get(1).isComplete());
+  }
+
+  @Test
+  public void buffer_nonPositiveCount_throws() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> Signal.<Integer>create().buffer(0));
+  }
+
+  @Test
+  public void bufferByTime_nonPositiveTime_throws() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> Signal.<Integer>create().bufferByTime(0));
+  }
+
+  @Test
+  public void windowByTime_nonPositiveTime_throws() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> Signal.<Integer>create().windowByTime(0));
+  }
+
+  @Test
+  public void fusedChain_subscribesSourceOnce() {
+    // Assign
+    AtomicInteger subscriptions = new AtomicInteger();
+    Signal<Integer> source = Signal.create(signal -> {
+      subscriptions.incrementAndGet();
+      signal.next(1);
+      signal.next(2);
+      signal.next(3);
+      return new Subscription();
+    });
+    List<Integer> tapped = new ArrayList<>();
+    CollectAll<String> observer = new CollectAll<>();
+    // Act
+    source.map(i -> i * 10).filter(i -> i != 20).tap(tapped::add).map(String::valueOf)
+        .observe(observer);
+    // Assert
+    assertEquals(1, subscriptions.get());
+    assertEquals(Arrays.asList(10, 30), tapped);
+    assertEquals(Arrays.asList("10", "30"), observer.xs);
+  }
+
+  @Test
+  public void fusedChain_mapFailure_errorsThroughTapErrorBelow() {
+    // Assign
+    Signal<Integer> source = Signal.create();
+    List<Throwable> above = new ArrayList<>();
+    List<Throwable> below = new ArrayList<>();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    RuntimeException failure = new RuntimeException("boom");
+    source.tapError(above::add)
+        .map(i -> {
+          throw failure;
+        })
+        .tapError(below::add)
+        .onError(error::set);
+    // Act
+    source.next(1);
+    // Assert
+    assertTrue(above.isEmpty());
+    assertEquals(Collections.singletonList(failure), below);
+    assertSame(failure, error.get());
+  }
+
+  @Test
+  public void fusedChain_tapFailureWithoutMap_isThrown() {
+    // Assign
+    Signal<Integer> source = Signal.create();
+    source.tap(i -> {
+      throw new IllegalStateException();
+    }).consume();
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> source.next(1));
+  }
+
+  @Test
+  public void fusedChain_sharedPrefix_isIndependent() {
+    // Assign
+    Signal<Integer> source = Signal.create();
+    Signal<Integer> mapped = source.map(i -> i + 1);
+    CollectAll<Integer> doubled = new CollectAll<>();
+    CollectAll<Integer> filtered = new CollectAll<>();
+    mapped.map(i -> i * 2).observe(doubled);
+    mapped.filter(i -> i > 2).observe(filtered);
+    // Act
+    source.next(1);
+    source.next(2);
+    source.complete();
+    // Assert
+    assertEquals(Arrays.asList(4, 6), doubled.xs);
+    assertEquals(Collections.singletonList(3), filtered.xs);
+    assertTrue(doubled.completed);
+    assertFalse(source.hasObservers());
+  }
+
+  @Test
+  public void flatMapConcurrent_limitsActiveInnerSignals() {
+    // Assign
+    List<Signal<Integer>> inners = new ArrayList<>();
+    Signal<Integer> source = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    source.flatMapConcurrent(2, i -> {
+      Signal<Integer> inner = Signal.create();
+      inners.add(inner);
+      return inner;
+    }).observe(observer);
+    // Act
+    source.next(1);
+    source.next(2);
+    source.next(3);
+    // Assert
+    assertEquals(2, inners.size());
+    inners.get(1).next(20);
+    inners.get(0).next(10);
+    inners.get(1).complete();
+    assertEquals(3, inners.size());
+    assertEquals(Arrays.asList(20, 10), observer.xs);
+  }
+
+  @Test
+  public void flatMapConcurrent_completesAfterUpstreamAndInners() {
+    // Assign
+    List<Signal<Integer>> inners = new ArrayList<>();
+    Signal<Integer> source = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    source.flatMapConcurrent(2, i -> {
+      Signal<Integer> inner = Signal.create();
+      inners.add(inner);
+      return inner;
+    }).observe(observer);
+    source.next(1);
+    // Act
+    source.complete();
+    // Assert
+    assertFalse(observer.completed);
+    inners.get(0).complete();
+    assertTrue(observer.completed);
+  }
+
+  @Test
+  public void flatMapConcurrentOrdered_buffersUntilEarlierInnerCompletes() {
+    // Assign
+    List<Signal<Integer>> inners = new ArrayList<>();
+    Signal<Integer> source = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    source.flatMapConcurrentOrdered(3, i -> {
+      Signal<Integer> inner = Signal.create();
+      inners.add(inner);
+      return inner;
+    }).observe(observer);
+    source.next(1);
+    source.next(2);
+    source.next(3);
+    // Act
+    inners.get(2).next(30);
+    inners.get(2).complete();
+    inners.get(1).next(20);
+    inners.get(0).next(10);
+    // Assert
+    assertEquals(Collections.singletonList(10), observer.xs);
+    inners.get(0).complete();
+    assertEquals(Arrays.asList(10, 20), observer.xs);
+    inners.get(1).complete();
+    assertEquals(Arrays.asList(10, 20, 30), observer.xs);
+  }
+
+  @Test
+  public void flatMapConcurrentOrdered_synchronousInners_keepOrder() {
+    // Assign
+    CollectAll<Integer> observer = new CollectAll<>();
+    // Act
+    Signal.from(Arrays.asList(1, 2, 3, 4))
+        .flatMapConcurrentOrdered(2, i -> Signal.from(Arrays.asList(i, i * 10)))
+        .observe(observer);
+    // Assert
+    assertEquals(Arrays.asList(1, 10, 2, 20, 3, 30, 4, 40), observer.xs);
+    assertTrue(observer.completed);
+  }
+
+  @Test
+  public void flatMapConcurrent_innerError_unsubscribesOthers() {
+    // Assign
+    Signal<Integer> source = Signal.create();
+    Signal<Integer> first = Signal.create();
+    Signal<Integer> second = Signal.create();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    source.flatMapConcurrent(2, i -> i == 1 ? first : second).onError(error::set);
+    source.next(1);
+    source.next(2);
+    RuntimeException failure = new RuntimeException();
+    // Act
+    second.error(failure);
+    // Assert
+    assertSame(failure, error.get());
+    assertFalse(first.hasObservers());
+    assertFalse(source.hasObservers());
+  }
+
+  @Test
+  public void throttleFirst_dropsValuesWithinWindow() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.throttleFirst(100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    scheduler.advanceBy(50);
+    signal.next(2);
+    scheduler.advanceBy(50);
+    signal.next(3);
+    // Assert
+    assertEquals(Arrays.asList(1, 3), observer.xs);
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void throttleLatest_emitsFirstAndLatestPerWindow() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.throttleLatest(100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    scheduler.advanceBy(100);
+    signal.next(4);
+    scheduler.advanceBy(100);
+    scheduler.advanceBy(100);
+    // Assert
+    assertEquals(Arrays.asList(1, 3, 4), observer.xs);
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void throttleLatest_complete_emitsPendingValue() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.throttleLatest(100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    signal.complete();
+    // Assert
+    assertEquals(Arrays.asList(1, 2), observer.xs);
+    assertTrue(observer.completed);
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void debounce_emitsAfterQuietPeriod() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.debounce(100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    scheduler.advanceBy(60);
+    signal.next(2);
+    scheduler.advanceBy(60);
+    // Assert
+    assertTrue(observer.xs.isEmpty());
+    scheduler.advanceBy(40);
+    assertEquals(Collections.singletonList(2), observer.xs);
+  }
+
+  @Test
+  public void sample_emitsLatestOncePerPeriod() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    CollectAll<Integer> observer = new CollectAll<>();
+    signal.sample(100, scheduler).observe(observer);
+    // Act
+    signal.next(1);
+    signal.next(2);
+    scheduler.advanceBy(100);
+    scheduler.advanceBy(500);
+    signal.next(3);
+    scheduler.advanceBy(100);
+    // Assert
+    assertEquals(Arrays.asList(2, 3), observer.xs);
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void debounce_unsubscribe_cancelsTimer() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    Subscription subscription = signal.debounce(100, scheduler).observe(new CollectAll<>());
+    signal.next(1);
+    // Act
+    subscription.unsubscribe();
+    // Assert
+    assertEquals(0, scheduler.getPendingTaskCount());
+  }
+
+  @Test
+  public void replayCount_replaysLastValuesToNewObserverOnly() {
+    // Assign
+    Signal<Integer> signal = Signal.create();
+    Signal<Integer> replayed = signal.replay(2);
+    CollectAll<Integer> first = new CollectAll<>();
+    CollectAll<Integer> second = new CollectAll<>();
+    replayed.observe(first);
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    // Act
+    replayed.observe(second);
+    signal.next(4);
+    // Assert
+    assertEquals(Arrays.asList(1, 2, 3, 4), first.xs);
+    assertEquals(Arrays.asList(2, 3, 4), second.xs);
+  }
+
+  @Test
+  public void replayTime_evictsValuesOlderThanWindow() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    Signal<Integer> replayed = signal.replay(10, 100, scheduler);
+    replayed.observe(new CollectAll<>());
+    CollectAll<Integer> late = new CollectAll<>();
+    signal.next(1);
+    scheduler.advanceBy(60);
+    signal.next(2);
+    scheduler.advanceBy(60);
+    // Act
+    replayed.observe(late);
+    // Assert
+    assertEquals(Collections.singletonList(2), late.xs);
+  }
+
+  @Test
+  public void replay_sharesUpstreamAndKeepsValuesAcrossReconnect() {
+    // Assign
+    AtomicInteger subscribed = new AtomicInteger();
+    AtomicInteger unsubscribed = new AtomicInteger();
+    Signal<Integer> upstream = Signal.create();
+    Signal<Integer> replayed = Signal.<Integer>create(signal -> {
+      subscribed.incrementAndGet();
+      Subscription sub = upstream.forward(signal);
+      return new Subscription() {
+        @Override
+        protected void onUnsubscribe() {
+          unsubscribed.incrementAndGet();
+          sub.unsubscribe();
+        }
+      };
+    }).replay(1);
+    Subscription first = replayed.observe(new CollectAll<>());
+    Subscription second = replayed.observe(new CollectAll<>());
+    upstream.next(1);
+    // Act
+    first.unsubscribe();
+    second.unsubscribe();
+    CollectAll<Integer> late = new CollectAll<>();
+    replayed.observe(late);
+    // Assert
+    assertEquals(2, subscribed.get());
+    assertEquals(1, unsubscribed.get());
+    assertEquals(Collections.singletonList(1), late.xs);
+  }
+
+  @Test
+  public void replay_nonPositiveCount_throws() {
+    assertThrows(IllegalArgumentException.class, () -> Signal.create().replay(0));
+  }
+
+  @Test
+  public void replayTime_countReached_keepsLastValuesInWindow() {
+    // Assign
+    VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Signal<Integer> signal = Signal.create();
+    Signal<Integer> replayed = signal.replay(2, 100, scheduler);
+    replayed.observe(new CollectAll<>());
+    CollectAll<Integer> late = new CollectAll<>();
+    signal.next(1);
+    signal.next(2);
+    signal.next(3);
+    // Act
+    replayed.observe(late);
+    // Assert
+    assertEquals(Arrays.asList(2, 3), late.xs);
+  }
+
+  @Test
+  public void replayTime_nonPositiveArguments_throw() {
+    assertThrows(IllegalArgumentException.class, () -> Signal.create().replay(0, 100));
+    assertThrows(IllegalArgumentException.class, () -> Signal.create().replay(1, 0));
+  }
+
+  @Test
+  public void shared_concurrentObservers_subscribeUpstreamOnce() throws InterruptedException {
+    // Assign
+    AtomicInteger subscribed = new AtomicInteger();
+    AtomicInteger unsubscribed = new AtomicInteger();
+    Signal<Integer> shared = Signal.<Integer>create(signal -> {
+      subscribed.incrementAndGet();
+      return new Subscription() {
+        @Override
+        protected void onUnsubscribe() {
+          unsubscribed.incrementAndGet();
+        }
+      };
+    }).shared();
+    Subscription held = shared.observe(new CollectAll<>());
+    int threadCount = 4;
+    CountDownLatch done = new CountDownLatch(threadCount);
+    // Act
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(() -> {
+        for (int j = 0; j < 1000; j++) {
+          shared.observe(new CollectAll<>()).unsubscribe();
+        }
+        done.countDown();
+      }).start();
+    }
+    done.await(10_000, MILLISECONDS);
+    held.unsubscribe();
+    // Assert
+    assertEquals(1, subscribed.get());
+    assertEquals(1, unsubscribed.get());
+  }
+
   private static Signal<Integer> recurse(int count) {
     return Signal.from(count).flatMap(c -> recurse(count - 1));
   }
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.rx;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.rx.Signal.Subscription;
+import com.google.android.jacquard.sdk.rx.SubscriptionTracker.Entry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/** Unit tests for {@link SubscriptionTracker}. */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public class SubscriptionTrackerTest {
+
+  @After
+  public void tearDown() {
+    SubscriptionTracker.setEnabled(false);
+    SubscriptionTracker.reset();
+  }
+
+  @Test
+  public void disabled_tracksNothing() {
+    // Act
+    Signal.create().onNext(value -> {
+    });
+    // Assert
+    assertThat(SubscriptionTracker.snapshot()).isEmpty();
+  }
+
+  @Test
+  public void enabled_groupsLiveSubscriptionsBySignalAndSite() {
+    // Assign
+    SubscriptionTracker.setEnabled(true);
+    Signal<Integer> signal = Signal.create();
+    // Act
+    for (int i = 0; i < 3; i++) {
+      subscribe(signal.map(x -> x + 1));
+    }
+    // Assert
+    List<Entry> snapshot = SubscriptionTracker.snapshot();
+    assertThat(snapshot).hasSize(2);
+    assertThat(snapshot.get(0).getLive()).isEqualTo(3);
+    assertThat(snapshot.get(0).getSite()).contains("SubscriptionTrackerTest.subscribe");
+    List<String> operators = new ArrayList<>();
+    for (Entry entry : snapshot) {
+      operators.add(entry.getOperator());
+    }
+    assertThat(operators).containsExactly("Signal", "FusedSignal");
+  }
+
+  @Test
+  public void unsubscribe_stopsTracking() {
+    // Assign
+    SubscriptionTracker.setEnabled(true);
+    Subscription subscription = subscribe(Signal.create());
+    // Act
+    subscription.unsubscribe();
+    // Assert
+    assertThat(subscription.isUnsubscribed()).isTrue();
+    assertThat(SubscriptionTracker.snapshot()).isEmpty();
+  }
+
+  @Test
+  public void completedSignal_flagsSubscriptionThatOutlivedIt() {
+    // Assign
+    SubscriptionTracker.setEnabled(true);
+    Signal<Integer> signal = Signal.create();
+    subscribe(signal);
+    // Act
+    signal.complete();
+    // Assert
+    Entry entry = SubscriptionTracker.snapshot().get(0);
+    assertThat(entry.getLive()).isEqualTo(1);
+    assertThat(entry.getOutlivedSource()).isEqualTo(1);
+  }
+
+  private static Subscription subscribe(Signal<Integer> signal) {
+    return signal.onNext(value -> {
+    });
+  }
+}
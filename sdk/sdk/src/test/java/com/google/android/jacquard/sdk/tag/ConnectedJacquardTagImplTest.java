@@ -17,7 +17,9 @@
 package com.google.android.jacquard.sdk.tag;
 
 import static com.google.android.jacquard.sdk.command.FakeComponent.UUID;
+import static android.os.Looper.getMainLooper;
 import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.os.Build.VERSION_CODES;
 import androidx.test.core.app.ApplicationProvider;
@@ -65,6 +67,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -125,6 +128,34 @@ public class ConnectedJacquardTagImplTest {
     assertThat(rssiValueList.size()).isEqualTo(2);
   }
 
+  @Test
+  public void getRawData_emitsOnMainThread() throws InterruptedException {
+    // Assign
+    AtomicReference<Thread> receivedOn = new AtomicReference<>();
+    connectedJacquardTag.getRawData().onNext(data -> receivedOn.set(Thread.currentThread()));
+    Thread ioThread = new Thread(() -> transport.getRawData().next(new byte[]{1}));
+    // Act
+    ioThread.start();
+    ioThread.join();
+    shadowOf(getMainLooper()).idle();
+    // Assert
+    assertThat(receivedOn.get()).isSameInstanceAs(getMainLooper().getThread());
+  }
+
+  @Test
+  public void getRawDataOnIoThread_emitsOnSendingThread() throws InterruptedException {
+    // Assign
+    AtomicReference<Thread> receivedOn = new AtomicReference<>();
+    connectedJacquardTag.getRawDataOnIoThread()
+        .onNext(data -> receivedOn.set(Thread.currentThread()));
+    Thread ioThread = new Thread(() -> transport.getRawData().next(new byte[]{1}));
+    // Act
+    ioThread.start();
+    ioThread.join();
+    // Assert
+    assertThat(receivedOn.get()).isSameInstanceAs(ioThread);
+  }
+
   @Test
   public void destroy() {
     // Assign
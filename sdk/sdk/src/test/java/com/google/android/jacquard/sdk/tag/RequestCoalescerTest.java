@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.jacquard.sdk.tag;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import android.os.Build.VERSION_CODES;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.android.jacquard.sdk.command.ProtoCommandRequest;
+import com.google.android.jacquard.sdk.connection.Result;
+import com.google.android.jacquard.sdk.log.PrintLogger;
+import com.google.android.jacquard.sdk.rx.Signal;
+import com.google.android.jacquard.sdk.rx.VirtualTimeScheduler;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Request;
+import com.google.atap.jacquard.protocol.JacquardProtocol.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+/** Unit tests for {@link RequestCoalescer}. */
+@RunWith(AndroidJUnit4.class)
+@Config(sdk = {VERSION_CODES.P}, manifest = Config.NONE)
+public final class RequestCoalescerTest {
+
+  private static final String READ_KEY = "LIST_MODULES";
+  private static final int RETRIES = 2;
+  private static final long TIMEOUT = 5000;
+
+  private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+  private final RequestCoalescer coalescer = new RequestCoalescer(scheduler);
+  private final AtomicInteger roundTrips = new AtomicInteger();
+  private final List<Signal<String>> responses = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    PrintLogger.initialize(ApplicationProvider.getApplicationContext());
+  }
+
+  @Test
+  public void coalesce_identicalReadsInFlight_shareOneRoundTrip() {
+    // Assign
+    List<String> values = new ArrayList<>();
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).onNext(values::add);
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).onNext(values::add);
+    // Act
+    responses.get(0).next("modules");
+    // Assert
+    assertThat(roundTrips.get()).isEqualTo(1);
+    assertThat(values).containsExactly("modules", "modules");
+  }
+
+  @Test
+  public void coalesce_differentKeys_sendBoth() {
+    // Act
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    coalescer.coalesce(createRequest("CONFIG_READ"), RETRIES, TIMEOUT, roundTrip()).consume();
+    // Assert
+    assertThat(roundTrips.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void coalesce_ttlSet_servesRepeatsUntilExpired() {
+    // Assign
+    coalescer.setTtl(1000);
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    responses.get(0).next("modules");
+    List<String> values = new ArrayList<>();
+    // Act
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).onNext(values::add);
+    scheduler.advanceBy(1000);
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    // Assert
+    assertThat(values).containsExactly("modules");
+    assertThat(roundTrips.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void coalesce_noTtl_doesNotCache() {
+    // Assign
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    responses.get(0).next("modules");
+    // Act
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    // Assert
+    assertThat(roundTrips.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void coalesce_write_invalidatesCache() {
+    // Assign
+    coalescer.setTtl(1000);
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    responses.get(0).next("modules");
+    // Act
+    coalescer.coalesce(createRequest(/* key= */ null), RETRIES, TIMEOUT, roundTrip()).consume();
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    // Assert
+    assertThat(roundTrips.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void coalesce_error_isSharedAndNotCached() {
+    // Assign
+    coalescer.setTtl(1000);
+    List<Throwable> errors = new ArrayList<>();
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).onError(errors::add);
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).onError(errors::add);
+    // Act
+    responses.get(0).error(new IllegalStateException());
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    // Assert
+    assertThat(errors).hasSize(2);
+    assertThat(roundTrips.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void coalesce_differentRetries_sendBoth() {
+    // Act
+    coalescer.coalesce(createRequest(READ_KEY), RETRIES, TIMEOUT, roundTrip()).consume();
+    coalescer.coalesce(createRequest(READ_KEY), /* retries= */ 0, TIMEOUT, roundTrip()).consume();
+    // Assert
+    assertThat(roundTrips.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void coalesce_listResponse_isUnmodifiable() {
+    // Assign
+    ProtoCommandRequest<List<String>> request = new ProtoCommandRequest<List<String>>() {
+      @Override
+      public Result<List<String>> parseResponse(Response response) {
+        return Result.ofSuccess(new ArrayList<>());
+      }
+
+      @Override
+      public Request getRequest() {
+        return null;
+      }
+
+      @Override
+      public String coalesceKey() {
+        return READ_KEY;
+      }
+    };
+    AtomicReference<List<String>> value = new AtomicReference<>();
+    // Act
+    coalescer.coalesce(request, RETRIES, TIMEOUT, Signal.just(new ArrayList<>()))
+        .onNext(value::set);
+    // Assert
+    assertThrows(UnsupportedOperationException.class, () -> value.get().add("module"));
+  }
+
+  private Signal<String> roundTrip() {
+    return Signal.create(signal -> {
+      roundTrips.incrementAndGet();
+      responses.add(signal);
+      return new Signal.Subscription();
+    });
+  }
+
+  private static ProtoCommandRequest<String> createRequest(String key) {
+    return new ProtoCommandRequest<String>() {
+      @Override
+      public Result<String> parseResponse(Response response) {
+        return Result.ofSuccess("");
+      }
+
+      @Override
+      public Request getRequest() {
+        return null;
+      }
+
+      @Override
+      public String coalesceKey() {
+        return key;
+      }
+    };
+  }
+}
@@ -17,6 +17,7 @@
 package com.google.android.jacquard.sdk.util;
 
 import static com.google.android.jacquard.sdk.util.Fragmenter.FIRST_FRAGMENT_FLAG;
+import static com.google.android.jacquard.sdk.util.Fragmenter.LAST_FRAGMENT_FLAG;
 import static com.google.common.truth.Truth.assertThat;
 
 import android.os.Build.VERSION_CODES;
@@ -24,9 +25,12 @@ import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import com.google.android.jacquard.sdk.log.PrintLogger;
 import com.google.android.jacquard.sdk.model.ProtocolSpec;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.Before;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.annotation.Config;
@@ -123,4 +127,71 @@ public final class FragmenterTest {
     // Assert
     assertThat(new String(list, StandardCharsets.UTF_8).contains(inputMsg)).isTrue();
   }
+
+  @Test
+  public void fragmentData_splitsAtMtuWithHeaders() {
+    // Assign
+    byte[] message = new byte[100];
+    // Act
+    List<byte[]> fragments = fragmenter.fragmentData(message);
+    // Assert
+    assertThat(fragments).hasSize(2);
+    assertThat(fragments.get(0)).hasLength(ProtocolSpec.VERSION_2.getMtuSize() - 3);
+    assertThat(fragments.get(0)[0]).isEqualTo((byte) FIRST_FRAGMENT_FLAG);
+    assertThat(fragments.get(0)[1]).isEqualTo((byte) 100);
+    assertThat(fragments.get(1)).hasLength(100 - (fragments.get(0).length - 2) + 1);
+    assertThat(fragments.get(1)[0]).isEqualTo((byte) (LAST_FRAGMENT_FLAG | 1));
+  }
+
+  @Test
+  public void encodeFragment_reusedBuffer_matchesFragmentData() {
+    // Assign
+    byte[] message = new byte[500];
+    for (int i = 0; i < message.length; i++) {
+      message[i] = (byte) i;
+    }
+    List<byte[]> expected = fragmenter.fragmentData(message);
+    ByteBuffer out = ByteBuffer.allocate(ProtocolSpec.VERSION_2.getMtuSize());
+    // Act & Assert
+    assertThat(fragmenter.fragmentCount(message.length)).isEqualTo(expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      out.clear();
+      int written = fragmenter.encodeFragment(message, 0, message.length, i, out);
+      out.flip();
+      byte[] actual = new byte[written];
+      out.get(actual);
+      assertThat(actual).isEqualTo(expected.get(i));
+    }
+  }
+
+  @Test
+  public void decodeFragment_offsetView_returnsReadOnlyMessage() {
+    // Assign
+    byte[] message = "Hello World!".getBytes(StandardCharsets.UTF_8);
+    byte[] fragment = fragmenter.fragmentData(message).get(0);
+    byte[] padded = new byte[fragment.length + 4];
+    System.arraycopy(fragment, 0, padded, 2, fragment.length);
+    // Act
+    ByteBuffer decoded = fragmenter.decodeFragment(padded, 2, fragment.length);
+    // Assert
+    assertThat(decoded.isReadOnly()).isTrue();
+    byte[] actual = new byte[decoded.remaining()];
+    decoded.get(actual);
+    assertThat(actual).isEqualTo(message);
+    Assert.assertThrows(ReadOnlyBufferException.class, () -> decoded.put(0, (byte) 0));
+  }
+
+  @Test
+  public void decodeFragment_newFirstFragment_restartsMessage() {
+    // Assign
+    byte[] message = new byte[100];
+    List<byte[]> fragments = fragmenter.fragmentData(message);
+    fragmenter.decodeFragment(fragments.get(0));
+    // Act
+    byte[] first = fragmenter.decodeFragment(fragments.get(0));
+    byte[] last = fragmenter.decodeFragment(fragments.get(1));
+    // Assert
+    assertThat(first).isNull();
+    assertThat(last).isEqualTo(message);
+  }
 }